@@ -1,46 +1,244 @@
 package com.telerikacademy.testframework;
 
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.telerikacademy.testframework.utils.Utils.LOGGER;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
 public class CustomWebDriverManager {
 
+    /**
+     * A pool of browsers, each leased to one thread at a time. The first {@link #getDriver()} on a thread leases a
+     * browser that stays with that thread until {@link #releaseDriver()}, so test classes running on different
+     * threads never share one. A released browser is reset, so the next lease starts logged out on a blank page,
+     * and a browser that no longer answers is quit and replaced instead of leased again. {@link #prewarm(int)}
+     * launches browsers in the background ahead of the first lease, and every launch records how long the browser
+     * took from launch until it was ready.
+     */
     public enum CustomWebDriverManagerEnum {
         INSTANCE;
-        private WebDriver driver = setupBrowser();
 
+        private final int poolSize = Integer.parseInt(getConfigPropertyByKey("config.webdriver.poolSize"));
+        private final long leaseTimeoutSeconds =
+                Long.parseLong(getConfigPropertyByKey("config.webdriver.leaseTimeoutSeconds"));
+        private final LinkedBlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+        private final Set<WebDriver> started = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+        private final ThreadLocal<WebDriver> leased = new ThreadLocal<>();
+        private final boolean headless = Boolean.parseBoolean(getConfigPropertyByKey("config.webdriver.headless"));
+        private final String windowSize = getConfigPropertyByKey("config.webdriver.windowSize");
+        private final List<Duration> startupTimes = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger launcherNumber = new AtomicInteger();
+        private final ExecutorService launcher = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "browser-launcher-" + launcherNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Quits every browser of the pool, leased or not.
         public void quitDriver() {
-            if (driver != null) {
-                driver.quit();
-                driver = null;
+            idle.clear();
+            for (WebDriver driver : started) {
+                discard(driver);
+            }
+            logStartupTimes();
+        }
+
+        // Launches browsers in the background until the pool holds count of them, counting those already
+        // launching, and returns at once. Leases wait for the launches rather than starting browsers of their own.
+        public void prewarm(int count) {
+            int target = Math.min(count, poolSize);
+            while (true) {
+                int current = size.get();
+                if (current >= target) {
+                    return;
+                }
+                if (size.compareAndSet(current, current + 1)) {
+                    launcher.execute(() -> {
+                        try {
+                            idle.offerLast(setupBrowser());
+                        } catch (RuntimeException exception) {
+                            size.decrementAndGet();
+                            LOGGER.warn("A browser could not be launched ahead of its lease.", exception);
+                        }
+                    });
+                }
             }
         }
 
         public WebDriver getDriver() {
-            if (driver == null) {
-                setupBrowser();
+            WebDriver driver = leased.get();
+            if (driver == null || !started.contains(driver)) {
+                driver = lease();
+                leased.set(driver);
             }
             return driver;
         }
 
+        // Hands the calling thread's browser back to the pool, reset for the next lease.
+        public void releaseDriver() {
+            WebDriver driver = leased.get();
+            leased.remove();
+            if (driver == null || !started.contains(driver)) {
+                return;
+            }
+            try {
+                reset(driver);
+                idle.offerFirst(driver);
+            } catch (WebDriverException exception) {
+                LOGGER.warn("A browser could not be reset and is quit instead.", exception);
+                discard(driver);
+            }
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public List<Duration> getStartupTimes() {
+            synchronized (startupTimes) {
+                return new ArrayList<>(startupTimes);
+            }
+        }
+
+        private WebDriver lease() {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(leaseTimeoutSeconds);
+            while (true) {
+                WebDriver driver = idle.pollFirst();
+                if (driver != null) {
+                    if (isHealthy(driver)) {
+                        return driver;
+                    }
+                    LOGGER.warn("An idle browser stopped answering and is replaced.");
+                    discard(driver);
+                    continue;
+                }
+                if (size.incrementAndGet() <= poolSize) {
+                    try {
+                        return setupBrowser();
+                    } catch (RuntimeException exception) {
+                        size.decrementAndGet();
+                        throw exception;
+                    }
+                }
+                size.decrementAndGet();
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException(String.format(
+                            "No browser of the %d in the pool was released within %d seconds.",
+                            poolSize, leaseTimeoutSeconds));
+                }
+                try {
+                    driver = idle.pollFirst(Math.min(remaining, TimeUnit.SECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a browser.", exception);
+                }
+                if (driver != null) {
+                    idle.offerFirst(driver);
+                }
+            }
+        }
+
+        private boolean isHealthy(WebDriver driver) {
+            try {
+                driver.getWindowHandle();
+                return true;
+            } catch (WebDriverException exception) {
+                return false;
+            }
+        }
+
+        // Storage is cleared while still on the application's page, as about:blank has no storage of its own.
+        private void reset(WebDriver driver) {
+            Set<String> handles = driver.getWindowHandles();
+            String first = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(first)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(first);
+            driver.switchTo().defaultContent();
+            driver.manage().deleteAllCookies();
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (WebDriverException exception) {
+                // Pages without storage, like about:blank, refuse access to it.
+            }
+            driver.get("about:blank");
+        }
+
+        private void discard(WebDriver driver) {
+            if (started.remove(driver)) {
+                size.decrementAndGet();
+                try {
+                    driver.quit();
+                } catch (WebDriverException exception) {
+                    LOGGER.warn("A browser could not be quit.", exception);
+                }
+            }
+        }
+
+        private void logStartupTimes() {
+            List<Duration> times = getStartupTimes();
+            if (times.isEmpty()) {
+                return;
+            }
+            Collections.sort(times);
+            LOGGER.info(String.format("Launched %d browsers, launch to ready: min %d ms, median %d ms, max %d ms.",
+                    times.size(), times.get(0).toMillis(), times.get(times.size() / 2).toMillis(),
+                    times.get(times.size() - 1).toMillis()));
+        }
+
+        // Ready means the browser has a window of the configured size and answers commands.
         private WebDriver setupBrowser() {
             String osName = System.getProperty("os.name").toLowerCase();
             ChromeOptions options = new ChromeOptions();
             options.addArguments("--remote-allow-origins=*");
+            if (headless) {
+                // A headless window cannot be maximized, so it gets a fixed size instead.
+                options.addArguments("--headless=new", "--window-size=" + windowSize);
+            }
 
             if (osName.contains("mac")) {
                 System.setProperty("webdriver.chrome.driver", "/Applications/chromedriver-mac-arm64/chromedriver");
-                WebDriver driver = new ChromeDriver(options);
-                driver.manage().window().maximize();
-                this.driver = driver;
-                return driver;
-            } else {
-                WebDriver driver = new ChromeDriver(options);
-                driver.manage().window().maximize();
-                this.driver = driver;
-                return driver;
             }
+            long launchStart = System.nanoTime();
+            WebDriver driver = new ChromeDriver(options);
+            try {
+                if (!headless) {
+                    driver.manage().window().maximize();
+                }
+                driver.getWindowHandle();
+            } catch (WebDriverException exception) {
+                driver.quit();
+                throw exception;
+            }
+            started.add(driver);
+            Duration startupTime = Duration.ofNanos(System.nanoTime() - launchStart);
+            startupTimes.add(startupTime);
+            LOGGER.info(String.format("Browser %d of %d%s ready %d ms after launch.", started.size(), poolSize,
+                    headless ? " (headless)" : "", startupTime.toMillis()));
+            return driver;
         }
     }
 }
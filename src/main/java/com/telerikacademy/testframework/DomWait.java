@@ -0,0 +1,142 @@
+package com.telerikacademy.testframework;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.telerikacademy.testframework.utils.Utils.LOGGER;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Waits for an element inside the page instead of polling it over the wire. One async script checks the
+ * condition whenever a MutationObserver sees the DOM change, and on a short in-page timer for changes that only
+ * styles make, and answers as soon as it holds or the time is up. The script marks the window it runs in with a
+ * token of its own. When it fails and the window no longer carries the token, the page navigated away mid-wait
+ * and the script is run again on the new page; any other failure of the script hands the rest of the wait to
+ * {@link WebDriverWait}. A wait that times out is checked once more the way Selenium checks it, so the in-page
+ * test can only make a wait faster, never fail one that Selenium would pass.
+ */
+public class DomWait {
+
+    private static final long RECHECK_MILLIS = Long.parseLong(getConfigPropertyByKey("config.wait.recheckMillis"));
+    private static final String PAGE_TOKEN = "__domWaitToken";
+    private static final String SAME_PAGE_SCRIPT = "return window." + PAGE_TOKEN + " === arguments[0];";
+    private static final AtomicLong tokens = new AtomicLong();
+
+    // arguments: xpath, condition, timeout in ms, recheck interval in ms, page token, callback.
+    private static final String WAIT_SCRIPT = String.join("\n",
+            "var xpath = arguments[0], condition = arguments[1], timeout = arguments[2], recheck = arguments[3];",
+            "var done = arguments[arguments.length - 1];",
+            "window." + PAGE_TOKEN + " = arguments[4];",
+            "function find() {",
+            "  return document.evaluate(xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)",
+            "      .singleNodeValue;",
+            "}",
+            "function visible(element) {",
+            "  if (!element || !element.isConnected || element.getClientRects().length === 0) return false;",
+            "  for (var node = element; node && node.nodeType === 1; node = node.parentElement) {",
+            "    var style = window.getComputedStyle(node);",
+            "    if (style.display === 'none' || style.opacity === '0') return false;",
+            "  }",
+            "  return window.getComputedStyle(element).visibility !== 'hidden';",
+            "}",
+            "function met() {",
+            "  var element = find();",
+            "  if (condition === 'present') return !!element;",
+            "  if (condition === 'visible') return visible(element);",
+            "  return visible(element) && !element.disabled;",
+            "}",
+            "if (met()) { done(true); return; }",
+            "var finished = false, observer, timer, interval;",
+            "function finish(result) {",
+            "  if (finished) return;",
+            "  finished = true;",
+            "  observer.disconnect(); clearTimeout(timer); clearInterval(interval);",
+            "  done(result);",
+            "}",
+            "function check() { if (met()) finish(true); }",
+            "observer = new MutationObserver(check);",
+            "observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});",
+            "interval = setInterval(check, recheck);",
+            "timer = setTimeout(function () { finish(false); }, timeout);");
+
+    public enum Condition {
+        PRESENT("present", ExpectedConditions::presenceOfElementLocated),
+        VISIBLE("visible", ExpectedConditions::visibilityOfElementLocated),
+        CLICKABLE("clickable", ExpectedConditions::elementToBeClickable);
+
+        private final String name;
+        private final Function<By, ExpectedCondition<?>> expected;
+
+        Condition(String name, Function<By, ExpectedCondition<?>> expected) {
+            this.name = name;
+            this.expected = expected;
+        }
+    }
+
+    // True once the element at xpath meets the condition, false if it does not within the timeout.
+    public static boolean until(WebDriver driver, String xpath, By locator, Condition condition, Duration timeout) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return pollUntil(driver, locator, condition, timeout);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                return isMet(driver, locator, condition);
+            }
+            String token = String.valueOf(tokens.incrementAndGet());
+            try {
+                Object met = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, xpath, condition.name,
+                        remainingMillis, RECHECK_MILLIS, token);
+                return Boolean.TRUE.equals(met) || isMet(driver, locator, condition);
+            } catch (ScriptTimeoutException exception) {
+                LOGGER.debug("In-page wait for " + xpath + " ran out of script time, waiting again.", exception);
+            } catch (WebDriverException exception) {
+                if (!isNavigation(driver, token)) {
+                    LOGGER.warn("In-page wait for " + xpath + " failed, polling for it instead.", exception);
+                    Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+                    return pollUntil(driver, locator, condition, remaining);
+                }
+                // The page navigated away; wait on the page that is there now.
+                LOGGER.debug("In-page wait for " + xpath + " was interrupted by navigation, waiting again.");
+            }
+        }
+    }
+
+    // A page that navigated away took the token with it, whatever words the driver used for the failure.
+    private static boolean isNavigation(WebDriver driver, String token) {
+        try {
+            return !Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(SAME_PAGE_SCRIPT, token));
+        } catch (WebDriverException exception) {
+            return false;
+        }
+    }
+
+    private static boolean isMet(WebDriver driver, By locator, Condition condition) {
+        try {
+            return condition.expected.apply(locator).apply(driver) != null;
+        } catch (WebDriverException exception) {
+            return false;
+        }
+    }
+
+    private static boolean pollUntil(WebDriver driver, By locator, Condition condition, Duration timeout) {
+        try {
+            new WebDriverWait(driver, timeout).until(condition.expected.apply(locator));
+            return true;
+        } catch (WebDriverException exception) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.telerikacademy.testframework;
+
+import org.openqa.selenium.By;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+public class LocatorManager {
+
+    /**
+     * The locators of ui_map.properties, compiled once into templates whose XPath and placeholders are checked
+     * when the map is loaded. A key missing from the map or bound with the wrong number of arguments fails at
+     * once instead of producing a locator that matches nothing. Bound locators are kept in a bounded cache, so
+     * the same key with the same arguments yields the same {@link By}.
+     */
+    public enum LocatorManagerEnum {
+        INSTANCE;
+
+        private final Map<String, Template> templates =
+                compile(PropertiesManager.PropertiesManagerEnum.INSTANCE.getUiMappings());
+        private final int cacheSize = Integer.parseInt(getConfigPropertyByKey("config.locators.cacheSize"));
+        private final Map<List<Object>, By> bound = new LinkedHashMap<List<Object>, By>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, By> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        public By getLocator(String key, Object... arguments) {
+            Template template = getTemplate(key);
+            if (template.placeholders.isEmpty()) {
+                template.checkArguments(arguments);
+                return template.locator;
+            }
+            List<Object> cacheKey = new ArrayList<>(arguments.length + 1);
+            cacheKey.add(key);
+            Collections.addAll(cacheKey, arguments);
+            synchronized (bound) {
+                By locator = bound.get(cacheKey);
+                if (locator != null) {
+                    return locator;
+                }
+            }
+            By locator = By.xpath(template.bind(arguments));
+            synchronized (bound) {
+                bound.put(cacheKey, locator);
+            }
+            return locator;
+        }
+
+        public String getXpath(String key, Object... arguments) {
+            return getTemplate(key).bind(arguments);
+        }
+
+        // The XPath as written in the map, placeholders included.
+        public String getMapping(String key) {
+            return getTemplate(key).xpath;
+        }
+
+        public boolean contains(String key) {
+            return templates.containsKey(key);
+        }
+
+        private Template getTemplate(String key) {
+            Template template = templates.get(key);
+            if (template == null) {
+                throw new IllegalArgumentException("There is no locator " + key + " in ui_map.properties.");
+            }
+            return template;
+        }
+
+        private static Map<String, Template> compile(Properties mappings) {
+            Map<String, Template> templates = new HashMap<>();
+            List<String> invalid = new ArrayList<>();
+            for (String key : mappings.stringPropertyNames()) {
+                try {
+                    templates.put(key, new Template(key, mappings.getProperty(key).trim()));
+                } catch (IllegalArgumentException exception) {
+                    invalid.add(exception.getMessage());
+                }
+            }
+            if (!invalid.isEmpty()) {
+                throw new IllegalStateException("ui_map.properties has invalid locators: " + String.join(" ", invalid));
+            }
+            return templates;
+        }
+    }
+
+    /**
+     * One locator of the map, split into the text around its %s and %d placeholders. Binding joins the parts
+     * with the arguments, which gives what String.format gives for these two conversions.
+     */
+    static class Template {
+
+        private static final Pattern PLACEHOLDER = Pattern.compile("%(.)");
+        private static final String SAMPLE_ARGUMENT = "1";
+
+        final String key;
+        final String xpath;
+        final List<String> parts = new ArrayList<>();
+        final List<Character> placeholders = new ArrayList<>();
+        final By locator;
+
+        Template(String key, String xpath) {
+            this.key = key;
+            this.xpath = xpath;
+            if (xpath.isEmpty()) {
+                throw new IllegalArgumentException(key + " is empty.");
+            }
+            StringBuilder part = new StringBuilder();
+            Matcher matcher = PLACEHOLDER.matcher(xpath);
+            int end = 0;
+            while (matcher.find()) {
+                part.append(xpath, end, matcher.start());
+                char conversion = matcher.group(1).charAt(0);
+                if (conversion == '%') {
+                    part.append('%');
+                } else if (conversion == 's' || conversion == 'd') {
+                    parts.add(part.toString());
+                    part.setLength(0);
+                    placeholders.add(conversion);
+                } else {
+                    throw new IllegalArgumentException(key + " has a placeholder other than %s and %d.");
+                }
+                end = matcher.end();
+            }
+            if (xpath.endsWith("%") && (end < xpath.length())) {
+                throw new IllegalArgumentException(key + " ends in a lone %.");
+            }
+            part.append(xpath, end, xpath.length());
+            parts.add(part.toString());
+
+            // The sample argument fits both a quoted string and a number, so it leaves a valid template valid.
+            String sample = join(Collections.nCopies(placeholders.size(), SAMPLE_ARGUMENT).toArray());
+            try {
+                XPathFactory.newInstance().newXPath().compile(sample);
+            } catch (XPathExpressionException exception) {
+                throw new IllegalArgumentException(key + " is not a valid XPath: " + xpath);
+            }
+            locator = placeholders.isEmpty() ? By.xpath(sample) : null;
+        }
+
+        String bind(Object[] arguments) {
+            checkArguments(arguments);
+            for (int i = 0; i < arguments.length; i++) {
+                if (placeholders.get(i) == 'd' && !isInteger(arguments[i])) {
+                    throw new IllegalArgumentException(String.format("Argument %d of locator %s has to be an integer,"
+                            + " not %s.", i + 1, key, arguments[i]));
+                }
+            }
+            return join(arguments);
+        }
+
+        void checkArguments(Object[] arguments) {
+            if (arguments.length != placeholders.size()) {
+                throw new IllegalArgumentException(String.format("Locator %s takes %d arguments, not %d.", key,
+                        placeholders.size(), arguments.length));
+            }
+        }
+
+        private String join(Object[] arguments) {
+            StringBuilder xpath = new StringBuilder(parts.get(0));
+            for (int i = 0; i < arguments.length; i++) {
+                xpath.append(arguments[i]).append(parts.get(i + 1));
+            }
+            return xpath.toString();
+        }
+
+        private static boolean isInteger(Object argument) {
+            return argument instanceof Integer || argument instanceof Long || argument instanceof Short
+                    || argument instanceof Byte || argument instanceof BigInteger;
+        }
+    }
+}
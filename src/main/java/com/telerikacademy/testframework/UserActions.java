@@ -3,8 +3,6 @@ package com.telerikacademy.testframework;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Action;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import java.time.Duration;
@@ -13,64 +11,60 @@ import static java.lang.String.format;
 
 public class UserActions {
 
-    final WebDriver driver;
-
+    // Resolved on every call, so actions created on one thread drive the browser of the thread using them.
     public WebDriver getDriver() {
-        return driver;
-    }
-
-    public UserActions() {
-        this.driver = getWebDriver();
+        return getWebDriver();
     }
 
     public static void loadBrowser(String baseUrlKey) {
         getWebDriver().get(getConfigPropertyByKey(baseUrlKey));
     }
 
+    public static void prewarmBrowsers() {
+        prewarmWebDrivers();
+    }
+
+    public static void releaseDriver() {
+        releaseWebDriver();
+    }
+
     public static void quitDriver() {
         tearDownWebDriver();
     }
 
     public void clickElement(String key, Object... arguments) {
-        String locator = getLocatorValueByKey(key, arguments);
-
         LOGGER.info("Clicking on element " + key);
-        WebElement element = driver.findElement(By.xpath(locator));
+        WebElement element = getDriver().findElement(getLocatorByKey(key, arguments));
         element.click();
     }
 
     public void clickElementWithJavascript(String key, Object... arguments){
-        WebElement element = driver.findElement(By.xpath(getLocatorValueByKey(key, arguments)));
-        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+        WebElement element = getDriver().findElement(getLocatorByKey(key, arguments));
+        ((JavascriptExecutor) getDriver()).executeScript("arguments[0].click();", element);
     }
     public void scrollElementWithJavascript(String key, Object... arguments){
-        WebElement element = driver.findElement(By.xpath(getLocatorValueByKey(key, arguments)));
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+        WebElement element = getDriver().findElement(getLocatorByKey(key, arguments));
+        ((JavascriptExecutor) getDriver()).executeScript("arguments[0].scrollIntoView(true);", element);
     }
 
     public void submitElement(String key, Object... arguments) {
-        String locator = getLocatorValueByKey(key, arguments);
-
         LOGGER.info("Submitting element " + key);
-        WebElement element = driver.findElement(By.xpath(locator));
+        WebElement element = getDriver().findElement(getLocatorByKey(key, arguments));
         element.submit();
     }
 
     public void typeValueInField(String value, String field, Object... fieldArguments) {
-        String locator = getLocatorValueByKey(field, fieldArguments);
-        WebElement element = driver.findElement(By.xpath(locator));
+        WebElement element = getDriver().findElement(getLocatorByKey(field, fieldArguments));
         element.sendKeys(value);
     }
 
     public void dragAndDropElement(String fromElementLocator, String toElementLocator) {
 
-        String fromLocator = getLocatorValueByKey(fromElementLocator);
-        WebElement fromElement = driver.findElement(By.xpath(fromLocator));
+        WebElement fromElement = getDriver().findElement(getLocatorByKey(fromElementLocator));
 
-        String toLocator = getLocatorValueByKey(toElementLocator);
-        WebElement toElement = driver.findElement(By.xpath(toLocator));
+        WebElement toElement = getDriver().findElement(getLocatorByKey(toElementLocator));
 
-        Actions actions = new Actions(driver);
+        Actions actions = new Actions(getDriver());
 
         Action dragAndDrop = actions.clickAndHold(fromElement)
                 .moveToElement(toElement)
@@ -102,63 +96,53 @@ public class UserActions {
     }
 
     public void assertElementPresent(String locator) {
-        Assert.assertNotNull(driver.findElement(By.xpath(getUIMappingByKey(locator))),
+        Assert.assertNotNull(getDriver().findElement(getLocatorByKey(locator)),
                 format("Element with %s doesn't present.", locator));
     }
 
-    public void assertElementPresent(String locator, String... arguments) {
-        Assert.assertNotNull(driver.findElement(By.xpath(getLocatorValueByKey(locator, arguments))),
+    public void assertElementPresent(String locator, Object... arguments) {
+        Assert.assertNotNull(getDriver().findElement(getLocatorByKey(locator, arguments)),
                 format("Element with %s doesn't present.", locator));
     }
 
     public void assertElementAttribute(String locator, String attributeName, String attributeValue) {
         // 1. Find Element using the locator value from Properties
-        String xpath = getLocatorValueByKey(locator);
-        WebElement element = driver.findElement(By.xpath(xpath));
+        WebElement element = getDriver().findElement(getLocatorByKey(locator));
         // 2. Get the element attribute
         String value = element.getAttribute(attributeName);
         // 3. Assert equality with expected value
-        Assert.assertEquals(format("Element with locator %s doesn't match", attributeName), getLocatorValueByKey(attributeValue), value);
+        Assert.assertEquals(value, attributeValue, format("Attribute %s of element %s doesn't match", attributeName, locator));
     }
 
-    private String getLocatorValueByKey(String locator) {
-        return format(getUIMappingByKey(locator));
+    private By getLocatorByKey(String locator, Object... arguments) {
+        return LocatorManager.LocatorManagerEnum.INSTANCE.getLocator(locator, arguments);
     }
 
-    private String getLocatorValueByKey(String locator, Object[] arguments) {
-        return format(getUIMappingByKey(locator), arguments);
+    private String getLocatorValueByKey(String locator, Object... arguments) {
+        return LocatorManager.LocatorManagerEnum.INSTANCE.getXpath(locator, arguments);
+    }
+
+    // Waits inside the page, so the wait ends on the DOM change that meets the condition instead of the next poll.
+    private boolean waitUntil(DomWait.Condition condition, Duration timeout, String locator, Object[] arguments) {
+        return DomWait.until(getDriver(), getLocatorValueByKey(locator, arguments), getLocatorByKey(locator, arguments),
+                condition, timeout);
     }
 
     private void waitForElementVisibleUntilTimeout(String locator, int seconds, Object... locatorArguments) {
-        Duration timeout = Duration.ofSeconds(seconds);
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        String xpath = getLocatorValueByKey(locator, locatorArguments);
-        try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-        } catch (Exception exception) {
-            Assert.fail("Element with locator: '" + xpath + "' was not found.");
+        if (!waitUntil(DomWait.Condition.VISIBLE, Duration.ofSeconds(seconds), locator, locatorArguments)) {
+            Assert.fail("Element with locator: '" + getLocatorValueByKey(locator, locatorArguments) + "' was not found.");
         }
     }
 
     private void waitForElementToBeClickableUntilTimeout(String locator, int seconds, Object... locatorArguments) {
-        Duration timeout = Duration.ofSeconds(seconds);
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        String xpath = getLocatorValueByKey(locator, locatorArguments);
-        try {
-            wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
-        } catch (Exception exception) {
-            Assert.fail("Element with locator: '" + xpath + "' was not found.");
+        if (!waitUntil(DomWait.Condition.CLICKABLE, Duration.ofSeconds(seconds), locator, locatorArguments)) {
+            Assert.fail("Element with locator: '" + getLocatorValueByKey(locator, locatorArguments) + "' was not found.");
         }
     }
 
     private void waitForElementPresenceUntilTimeout(String locator, int seconds, Object... locatorArguments) {
-        Duration timeout = Duration.ofSeconds(seconds);
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        String xpath = getLocatorValueByKey(locator, locatorArguments);
-        try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath(xpath)));
-        } catch (Exception exception) {
-            Assert.fail("Element with locator: '" + xpath + "' was not found.");
+        if (!waitUntil(DomWait.Condition.PRESENT, Duration.ofSeconds(seconds), locator, locatorArguments)) {
+            Assert.fail("Element with locator: '" + getLocatorValueByKey(locator, locatorArguments) + "' was not found.");
         }
     }
 
@@ -173,19 +157,16 @@ public class UserActions {
 
     public void hoverElement(String key, Object... arguments) {
 
-        String locator = getLocatorValueByKey(key, arguments);
-
         LOGGER.info("Hovering over" + key);
 
         Actions actions = new Actions(getWebDriver());
-        WebElement element = getWebDriver().findElement(By.xpath(locator));
+        WebElement element = getWebDriver().findElement(getLocatorByKey(key, arguments));
         actions.moveToElement(element).build().perform();
 
     }
 
     public void switchToIFrame(String iframe) {
-        String locator = getLocatorValueByKey(iframe);
-        WebElement frame = getWebDriver().findElement(By.xpath(locator));
+        WebElement frame = getWebDriver().findElement(getLocatorByKey(iframe));
         LOGGER.info("Switching to iframe " + iframe);
         getWebDriver().switchTo().frame(frame);
     }
@@ -198,7 +179,7 @@ public class UserActions {
     public void assertNavigatedUrl(String urlKey) {
         // 1. Get Current URL
         // 2. Get expected url by urlKey from Properties
-        String currentUrl = driver.getCurrentUrl();
+        String currentUrl = getDriver().getCurrentUrl();
         String urlForAssert = getConfigPropertyByKey(urlKey);
 
         Assert.assertEquals(currentUrl, urlForAssert, "Url doesn't match.");
@@ -212,48 +193,24 @@ public class UserActions {
     }
 
     public boolean isElementPresent(String locator, Object... arguments) {
-        String xpath = getLocatorValueByKey(locator, arguments);
-        WebDriverWait wait = new WebDriverWait(getWebDriver(), Duration.ofSeconds(5));
-        try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath(xpath)));
-        } catch (Exception e) {
-            return false;
-        }
-
-        return true;
+        return waitUntil(DomWait.Condition.PRESENT, Duration.ofSeconds(5), locator, arguments);
     }
 
     public boolean isElementVisible(String locator, Object... arguments) {
-        String xpath = getLocatorValueByKey(locator, arguments);
-        WebDriverWait wait = new WebDriverWait(getWebDriver(), Duration.ofSeconds(5));
-        try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
-        } catch (Exception e) {
-            return false;
-        }
-        return true;
+        return waitUntil(DomWait.Condition.VISIBLE, Duration.ofSeconds(5), locator, arguments);
     }
 
     public boolean isElementClickable(String locator, Object... arguments) {
-        String xpath = getLocatorValueByKey(locator, arguments);
-        WebDriverWait wait = new WebDriverWait(getWebDriver(), Duration.ofSeconds(5));
-        try {
-            wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
-        } catch (Exception e) {
-            return false;
-        }
-
-        return true;
+        return waitUntil(DomWait.Condition.CLICKABLE, Duration.ofSeconds(5), locator, arguments);
     }
 
     public void scrollToElement(String key, Object... arguments){
-        WebElement element = driver.findElement(By.xpath(getLocatorValueByKey(key, arguments)));
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
+        WebElement element = getDriver().findElement(getLocatorByKey(key, arguments));
+        ((JavascriptExecutor) getDriver()).executeScript("arguments[0].scrollIntoView(true);", element);
     }
     public void moveToElementAndClickOnIt(String key,Object...arguments){
-        String locator = getLocatorValueByKey(key, arguments);
-        WebElement element = driver.findElement(By.xpath(locator));
-        Actions actions = new Actions(driver);
+        WebElement element = getDriver().findElement(getLocatorByKey(key, arguments));
+        Actions actions = new Actions(getDriver());
         actions.moveToElement(element).click().build().perform();
     }
 }
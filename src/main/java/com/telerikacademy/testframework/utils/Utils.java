@@ -1,6 +1,7 @@
 package com.telerikacademy.testframework.utils;
 
 import com.telerikacademy.testframework.CustomWebDriverManager;
+import com.telerikacademy.testframework.LocatorManager;
 import com.telerikacademy.testframework.PropertiesManager;
 import org.apache.logging.log4j.*;
 import org.openqa.selenium.WebDriver;
@@ -8,23 +9,33 @@ import java.util.Properties;
 
 public class Utils {
 
-    private static final Properties uiMappings = PropertiesManager.PropertiesManagerEnum.INSTANCE.getUiMappings();
     private static final Properties configProperties = PropertiesManager.PropertiesManagerEnum.INSTANCE.getConfigProperties();
     public static final Logger LOGGER = LogManager.getRootLogger();
 
+    // The browser leased to the calling thread, leased on its first call.
     public static WebDriver getWebDriver() {
-        LOGGER.info("Initializing WebDriver");
         return CustomWebDriverManager.CustomWebDriverManagerEnum.INSTANCE.getDriver();
     }
 
+    // Starts launching browsers in the background, so the first getWebDriver() finds one ready.
+    public static void prewarmWebDrivers() {
+        int count = Integer.parseInt(getConfigPropertyByKey("config.webdriver.prewarmCount"));
+        CustomWebDriverManager.CustomWebDriverManagerEnum.INSTANCE.prewarm(count);
+    }
+
+    public static void releaseWebDriver() {
+        LOGGER.info("Releasing WebDriver");
+        CustomWebDriverManager.CustomWebDriverManagerEnum.INSTANCE.releaseDriver();
+    }
+
     public static void tearDownWebDriver() {
         LOGGER.info("Quitting WebDriver");
         CustomWebDriverManager.CustomWebDriverManagerEnum.INSTANCE.quitDriver();
     }
 
+    // Fails on a key that is not in ui_map.properties.
     public static String getUIMappingByKey(String key) {
-        String value = uiMappings.getProperty(key);
-        return value != null ? value : key;
+        return LocatorManager.LocatorManagerEnum.INSTANCE.getMapping(key);
     }
 
     public static String getConfigPropertyByKey(String key) {
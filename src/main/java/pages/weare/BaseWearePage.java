@@ -2,6 +2,7 @@ package pages.weare;
 
 import pages.BasePage;
 import org.openqa.selenium.WebDriver;
+import restassuredapi.models.models.UserModel;
 
 public abstract class BaseWearePage extends BasePage {
 
@@ -9,4 +10,10 @@ public abstract class BaseWearePage extends BasePage {
         super(driver, pageUrlKey, arguments);
     }
 
+    // Opens the page logged in as user, with a session from the API rather than the login form.
+    public void navigateToPageAs(UserModel user) {
+        new LoginPage(driver).loginUserWithSession(user);
+        navigateToPage();
+    }
+
 }
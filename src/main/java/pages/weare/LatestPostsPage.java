@@ -2,11 +2,6 @@ package pages.weare;
 
 import org.openqa.selenium.WebDriver;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import static com.telerikacademy.testframework.utils.Utils.getUIMappingByKey;
-
 public class LatestPostsPage extends BaseWearePage {
 
     public LatestPostsPage(WebDriver driver) {
@@ -35,22 +30,4 @@ public class LatestPostsPage extends BaseWearePage {
         actions.waitForElementVisible("weare.latestPostPage.exploreThisPostButton", postId.toString());
         actions.clickElement("weare.latestPostPage.exploreThisPostButton", postId.toString());
     }
-
-
-    public Integer extractPostId() {
-
-        actions.waitForElementClickable("weare.latestPostPage.exploreThisPostButtonFirst");
-        String attributeName = "href";
-        String hrefValue = actions.getElementAttribute(
-                getUIMappingByKey("weare.latestPostPage.exploreThisPostButtonFirst"), attributeName);
-
-        Pattern pattern = Pattern.compile("/posts/(\\d+)$");
-        Matcher matcher = pattern.matcher(hrefValue);
-
-        if (matcher.find()) {
-            return Integer.parseInt(matcher.group(1));
-        } else {
-            return null;
-        }
-    }
 }
@@ -1,6 +1,12 @@
 package pages.weare;
 
+import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
+import restassuredapi.SessionStore;
+import restassuredapi.models.models.UserModel;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+import static restassuredapi.SessionStore.SESSION_COOKIE;
 
 public class LoginPage extends BaseWearePage {
     public LoginPage(WebDriver driver) {
@@ -21,4 +27,15 @@ public class LoginPage extends BaseWearePage {
         actions.waitForElementClickable("weare.loginPage.loginSubmitButton");
         actions.clickElement("weare.loginPage.loginSubmitButton");
     }
+
+    // Logs the user in through the API and hands the session cookie to the browser, without the login form.
+    // The browser has to be on the site to take its cookie, so it only loads a page when it is elsewhere.
+    public void loginUserWithSession(UserModel user) {
+        String baseUrl = getConfigPropertyByKey("weare.baseUrl");
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+        }
+        driver.manage().deleteCookieNamed(SESSION_COOKIE);
+        driver.manage().addCookie(new Cookie(SESSION_COOKIE, SessionStore.newSessionId(user), "/"));
+    }
 }
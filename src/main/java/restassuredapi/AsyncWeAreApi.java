@@ -0,0 +1,330 @@
+package restassuredapi;
+
+import com.telerikacademy.testframework.utils.Helpers;
+import io.restassured.RestAssured;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import restassuredapi.models.models.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.telerikacademy.testframework.utils.Constants.API;
+import static com.telerikacademy.testframework.utils.Endpoints.*;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+import static org.apache.http.HttpStatus.SC_MOVED_TEMPORARILY;
+import static org.apache.http.HttpStatus.SC_OK;
+import static restassuredapi.SessionStore.SESSION_COOKIE;
+
+/**
+ * Non-blocking counterpart of the *Api helpers. Every call returns immediately with a {@link CompletableFuture},
+ * so a few I/O threads can keep hundreds of requests in flight. Failures complete the future exceptionally
+ * instead of asserting, and sessions are shared with {@link SessionStore}.
+ */
+public class AsyncWeAreApi extends BaseWeAreApi implements Closeable {
+
+    private static final int IO_THREADS = Integer.parseInt(getConfigPropertyByKey("config.async.ioThreads"));
+    private static final int MAX_CONNECTIONS = Integer.parseInt(getConfigPropertyByKey("config.async.maxConnections"));
+
+    private final CloseableHttpAsyncClient client;
+    private final String baseUri;
+
+    public AsyncWeAreApi() {
+        this(RestAssured.baseURI);
+    }
+
+    public AsyncWeAreApi(String baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpAsyncClients.custom()
+                .setDefaultIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(IO_THREADS).build())
+                .setDefaultRequestConfig(RequestConfig.custom().setRedirectsEnabled(false).build())
+                .setMaxConnTotal(MAX_CONNECTIONS)
+                .setMaxConnPerRoute(MAX_CONNECTIONS)
+                .disableCookieManagement()
+                .build();
+        this.client.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+
+    // ############# POSTS #########
+    public CompletableFuture<PostModel> createPost(UserModel user, boolean publicVisibility) {
+        return authenticated(user, () -> jsonPost(API + CREATE_POST, PostApi.generatePostBody(publicVisibility)))
+                .thenApply(expect(SC_OK, PostModel.class));
+    }
+
+    public CompletableFuture<PostModel> likePost(UserModel user, PostModel post) {
+        return authenticated(user, () -> new HttpPost(uri(API + LIKE_POST, "postId", post.getPostId())))
+                .thenApply(expect(SC_OK, PostModel.class));
+    }
+
+    public CompletableFuture<Void> deletePost(UserModel user, int postId) {
+        return authenticated(user, () -> new HttpDelete(uri(API + DELETE_POST, "postId", postId)))
+                .thenApply(expect(SC_OK, Void.class));
+    }
+
+    public CompletableFuture<PostModel[]> findAllPosts() {
+        return execute(new HttpGet(uri(API + POST)))
+                .thenApply(expect(SC_OK, PostModel[].class));
+    }
+
+    public CompletableFuture<CommentModel[]> findCommentsOfAPost(PostModel post) {
+        return execute(new HttpGet(uri(API + COMMENTS_OF_POST, "postId", post.getPostId())))
+                .thenApply(expect(SC_OK, CommentModel[].class));
+    }
+
+    // ############# COMMENTS #########
+    public CompletableFuture<CommentModel> createComment(UserModel user, PostModel post) {
+        String body = RequestBodies.comment(Helpers.generateCommentContent(), true, post.getPostId(),
+                user.getId());
+
+        return authenticated(user, () -> jsonPost(API + CREATE_COMMENT, body))
+                .thenApply(expect(SC_OK, CommentModel.class))
+                .thenApply(comment -> {
+                    comment.setUser(user);
+                    comment.setPost(post);
+                    return comment;
+                });
+    }
+
+    public CompletableFuture<Void> likeComment(UserModel user, CommentModel comment) {
+        return authenticated(user, () -> new HttpPost(uri(API + LIKE_COMMENT, "commentId", comment.getCommentId())))
+                .thenApply(expect(SC_OK, Void.class));
+    }
+
+    public CompletableFuture<Void> deleteComment(UserModel user, int commentId) {
+        return authenticated(user, () -> new HttpDelete(uri(API + DELETE_COMMENT, "commentId", commentId)))
+                .thenApply(expect(SC_OK, Void.class));
+    }
+
+    public CompletableFuture<CommentModel[]> findAllComments() {
+        return execute(new HttpGet(uri(API + COMMENT_ALL)))
+                .thenApply(expect(SC_OK, CommentModel[].class));
+    }
+
+    // ############# CONNECTIONS #########
+    public CompletableFuture<RequestModel> sendRequest(UserModel sender, UserModel receiver) {
+        String body = RequestBodies.sendRequest(receiver.getId(), receiver.getUsername());
+
+        return authenticated(sender, () -> jsonPost(API + REQUEST, body))
+                .thenApply(expect(SC_OK, Void.class))
+                .thenCompose(sent -> getUserRequests(receiver))
+                .thenApply(requests -> {
+                    if (requests.length == 0) {
+                        throw new IllegalStateException(String.format("User %s has no received requests.",
+                                receiver.getUsername()));
+                    }
+                    RequestModel request = new RequestModel();
+                    request.setSender(sender);
+                    request.setReceiver(receiver);
+                    request.setId(requests[0].getId());
+                    request.setTimeStamp(requests[0].getTimeStamp());
+                    return request;
+                });
+    }
+
+    public CompletableFuture<RequestModel[]> getUserRequests(UserModel user) {
+        return authenticated(user, () -> new HttpGet(uri(String.format(API + USER_REQUEST_WITH_ID, user.getId()))))
+                .thenApply(expect(SC_OK, RequestModel[].class));
+    }
+
+    public CompletableFuture<Void> approveRequest(UserModel receiver, RequestModel request) {
+        return authenticated(receiver, () -> new HttpPost(uri(String.format(API + APPROVE_REQUEST_WITH_ID,
+                receiver.getId()), "requestId", request.getId())))
+                .thenApply(expect(SC_OK, Void.class));
+    }
+
+    public CompletableFuture<RequestModel> connect(UserModel sender, UserModel receiver) {
+        return sendRequest(sender, receiver)
+                .thenCompose(request -> approveRequest(receiver, request).thenApply(approved -> request));
+    }
+
+    // ############# USERS AND SKILLS #########
+    public CompletableFuture<UserBySearchModel[]> searchUsersPage(String firstName, int index, int size) {
+        String body = RequestBodies.searchUsers(index, true, "", firstName, size);
+
+        return execute(jsonPost(API + USERS, body))
+                .thenApply(expect(SC_OK, UserBySearchModel[].class));
+    }
+
+    public CompletableFuture<SkillModel[]> getAllSkills() {
+        return execute(new HttpGet(uri(API + FIND_SKILL)))
+                .thenApply(expect(SC_OK, SkillModel[].class));
+    }
+
+    // ############# SESSIONS #########
+    // Logs in without blocking; a user already logging in, here or through the blocking helpers, is not logged
+    // in twice.
+    public CompletableFuture<String> authenticate(UserModel user) {
+        return SessionStore.getSessionId(user, this::login);
+    }
+
+    private CompletableFuture<String> login(UserModel user) {
+        HttpPost login = new HttpPost(uri(AUTHENTICATE));
+        List<NameValuePair> form = Arrays.asList(
+                new BasicNameValuePair("username", user.getUsername()),
+                new BasicNameValuePair("password", user.getPassword()));
+        login.setEntity(new UrlEncodedFormEntity(form, StandardCharsets.UTF_8));
+
+        return execute(login).thenApply(response -> {
+            String location = response.location;
+            if (response.statusCode != SC_MOVED_TEMPORARILY || location != null && location.contains("error")) {
+                throw new IllegalStateException(String.format("User %s could not be authenticated.",
+                        user.getUsername()));
+            }
+            if (response.sessionId == null) {
+                throw new IllegalStateException(String.format("No session cookie returned for user %s.",
+                        user.getUsername()));
+            }
+            return response.sessionId;
+        });
+    }
+
+    private CompletableFuture<AsyncResponse> authenticated(UserModel user, Supplier<HttpRequestBase> request) {
+        return authenticate(user).thenCompose(sessionId -> sendWithSession(sessionId, request)
+                .thenCompose(response -> {
+                    if (!SessionStore.isLoginRequired(response.statusCode, response.location)) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    LOGGER.info(String.format("Session of user %s expired. Authenticating again.",
+                            user.getUsername()));
+                    SessionStore.invalidate(user, sessionId);
+                    return authenticate(user).thenCompose(newSessionId -> sendWithSession(newSessionId, request));
+                }));
+    }
+
+    private CompletableFuture<AsyncResponse> sendWithSession(String sessionId, Supplier<HttpRequestBase> request) {
+        HttpRequestBase httpRequest = request.get();
+        httpRequest.setHeader("Cookie", SESSION_COOKIE + "=" + sessionId);
+        return execute(httpRequest);
+    }
+
+    private CompletableFuture<AsyncResponse> execute(HttpRequestBase request) {
+        CompletableFuture<AsyncResponse> future = new CompletableFuture<>();
+        long start = System.nanoTime();
+
+        client.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    AsyncResponse asyncResponse = new AsyncResponse(request, response);
+                    EndpointMetrics.record(request.getMethod(), request.getURI().getPath(), asyncResponse.statusCode,
+                            requestBytes(request), asyncResponse.bodyBytes, System.nanoTime() - start);
+                    future.complete(asyncResponse);
+                } catch (IOException | RuntimeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            }
+
+            @Override
+            public void failed(Exception exception) {
+                future.completeExceptionally(exception);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+
+        return future;
+    }
+
+    private static long requestBytes(HttpRequestBase request) {
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            return entity == null ? 0 : entity.getContentLength();
+        }
+        return 0;
+    }
+
+    private <T> Function<AsyncResponse, T> expect(int expectedStatusCode, Class<T> type) {
+        return response -> {
+            if (response.statusCode != expectedStatusCode) {
+                throw new IllegalStateException(String.format("Incorrect status code for %s. Expected %d but was %d.",
+                        response.requestLine, expectedStatusCode, response.statusCode));
+            }
+            return type == Void.class ? null : JsonCodec.fromJson(response.body, type);
+        };
+    }
+
+    private HttpPost jsonPost(String path, String body) {
+        HttpPost post = new HttpPost(uri(path));
+        post.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return post;
+    }
+
+    private URI uri(String path, Object... queryParams) {
+        try {
+            URIBuilder builder = new URIBuilder(baseUri + path);
+            for (int i = 0; i < queryParams.length; i += 2) {
+                builder.addParameter(String.valueOf(queryParams[i]), String.valueOf(queryParams[i + 1]));
+            }
+            return builder.build();
+        } catch (URISyntaxException exception) {
+            throw new IllegalArgumentException("Invalid request path: " + path, exception);
+        }
+    }
+
+    private static class AsyncResponse {
+
+        private final String requestLine;
+        private final int statusCode;
+        private final String location;
+        private final String sessionId;
+        private final String body;
+        private final int bodyBytes;
+
+        private AsyncResponse(HttpRequestBase request, HttpResponse response) throws IOException {
+            this.requestLine = request.getMethod() + " " + request.getURI().getPath();
+            this.statusCode = response.getStatusLine().getStatusCode();
+            Header locationHeader = response.getFirstHeader("Location");
+            this.location = locationHeader == null ? null : locationHeader.getValue();
+            this.sessionId = extractSessionId(response);
+            byte[] content = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+            this.body = new String(content, StandardCharsets.UTF_8);
+            this.bodyBytes = content.length;
+        }
+
+        private static String extractSessionId(HttpResponse response) {
+            for (Header header : response.getHeaders("Set-Cookie")) {
+                String cookie = header.getValue();
+                if (cookie.startsWith(SESSION_COOKIE + "=")) {
+                    int end = cookie.indexOf(';');
+                    return cookie.substring(SESSION_COOKIE.length() + 1, end < 0 ? cookie.length() : end);
+                }
+            }
+            return null;
+        }
+    }
+
+}
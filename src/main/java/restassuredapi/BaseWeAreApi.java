@@ -1,10 +1,38 @@
 package restassuredapi;
 
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 import restassuredapi.models.basemodel.BaseModel;
 import org.testng.log4testng.Logger;
+import restassuredapi.models.models.UserModel;
+
+import java.util.function.Function;
+
+import static io.restassured.RestAssured.given;
+import static restassuredapi.SessionStore.SESSION_COOKIE;
 
 public class BaseWeAreApi {
 
     protected static final Logger LOGGER = Logger.getLogger(BaseModel.class);
 
+    protected static Response authenticated(UserModel user, Function<RequestSpecification, Response> request) {
+
+        String sessionId = SessionStore.getSessionId(user);
+        Response response = request.apply(givenSession(sessionId));
+
+        if (SessionStore.isLoginRequired(response)) {
+            LOGGER.info(String.format("Session of user %s expired. Authenticating again.", user.getUsername()));
+            SessionStore.invalidate(user, sessionId);
+            response = request.apply(givenSession(SessionStore.getSessionId(user)));
+        }
+
+        return response;
+    }
+
+    private static RequestSpecification givenSession(String sessionId) {
+        return given()
+                .redirects().follow(false)
+                .cookie(SESSION_COOKIE, sessionId);
+    }
+
 }
@@ -1,30 +1,23 @@
 package restassuredapi;
 
-import com.google.gson.Gson;
 import com.telerikacademy.testframework.utils.Helpers;
-import io.restassured.authentication.FormAuthConfig;
 import io.restassured.response.Response;
 import restassuredapi.models.models.CommentModel;
 import restassuredapi.models.models.PostModel;
 import restassuredapi.models.models.UserModel;
 
+import java.io.InputStream;
+
 import static com.telerikacademy.testframework.utils.Constants.API;
 import static com.telerikacademy.testframework.utils.Endpoints.*;
 import static io.restassured.RestAssured.given;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
+import static restassuredapi.PooledHttpTransport.STREAMING_RESPONSE;
 
 public class CommentApi extends BaseWeAreApi {
 
-    public static final String commentBody = "{\n" +
-            "  \"commentId\": 0,\n" +
-            "  \"content\": \"%s\",\n" +
-            "  \"deletedConfirmed\": %s,\n" +
-            "  \"postId\": %s,\n" +
-            "  \"userId\": %s\n" +
-            "}";
-
     public static CommentModel[] findAllComments() {
 
         Response response = given()
@@ -34,7 +27,7 @@ public class CommentApi extends BaseWeAreApi {
                 .statusCode(SC_OK)
                 .extract().response();
 
-        CommentModel[] allComments = new Gson().fromJson(response.getBody().asString(), CommentModel[].class);
+        CommentModel[] allComments = JsonCodec.fromJson(response, CommentModel[].class);
 
         return allComments;
 
@@ -47,15 +40,12 @@ public class CommentApi extends BaseWeAreApi {
         int postId = post.getPostId();
         int userId = user.getId();
 
-        String body = String.format(commentBody, commentContent, deletedConfirmed, postId, userId);
+        String body = RequestBodies.comment(commentContent, deletedConfirmed, postId, userId);
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .body(body)
-                .post(API + CREATE_COMMENT);
+                .post(API + CREATE_COMMENT));
 
         int statusCode = response.getStatusCode();
 
@@ -65,7 +55,7 @@ public class CommentApi extends BaseWeAreApi {
 
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
         assertEquals(response.jsonPath().getString("content"), commentContent, "Contents do not match.");
-        CommentModel comment = response.as(CommentModel.class);
+        CommentModel comment = JsonCodec.fromJson(response, CommentModel.class);
 
         comment.setUser(user);
         comment.setPost(post);
@@ -78,15 +68,26 @@ public class CommentApi extends BaseWeAreApi {
 
     public static boolean commentExists(int commentId) {
 
-        CommentModel[] comments = findAllComments();
+        return JsonStreams.containsId(streamAllComments(), "commentId", commentId);
 
-        for (CommentModel comment : comments) {
-            if (comment.getCommentId() == commentId) {
-                return true;
-            }
-        }
+    }
+
+    public static CommentModel findComment(int commentId) {
+
+        return JsonStreams.findById(streamAllComments(), "commentId", commentId, CommentModel.class);
+
+    }
 
-        return false;
+    private static InputStream streamAllComments() {
+
+        return given()
+                .filter(STREAMING_RESPONSE)
+                .get(API + COMMENT_ALL)
+                .then()
+                .assertThat()
+                .statusCode(SC_OK)
+                .extract().response()
+                .asInputStream();
 
     }
 
@@ -94,13 +95,10 @@ public class CommentApi extends BaseWeAreApi {
 
         String commentContent = Helpers.generateCommentContent();
 
-        Response editedCommentResponse = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response editedCommentResponse = authenticated(user, spec -> spec
                 .queryParam("commentId", commentToBeEdited.getCommentId())
                 .queryParam("content", commentContent)
-                .put(API + EDIT_COMMENT)
+                .put(API + EDIT_COMMENT))
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
@@ -114,12 +112,9 @@ public class CommentApi extends BaseWeAreApi {
 
     public static void likeComment(UserModel user, CommentModel comment) {
         int previousLikes = CommentApi.getCommentById(user, comment.getCommentId()).getLikes().size();
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .queryParam("commentId", comment.getCommentId())
-                .post(API + LIKE_COMMENT);
+                .post(API + LIKE_COMMENT));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
@@ -130,28 +125,22 @@ public class CommentApi extends BaseWeAreApi {
 
     public static CommentModel getCommentById(UserModel user, int commentId) {
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .queryParam("commentId", commentId)
-                .get(API + COMMENT_SINGLE);
+                .get(API + COMMENT_SINGLE));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        CommentModel comment = response.as(CommentModel.class);
+        CommentModel comment = JsonCodec.fromJson(response, CommentModel.class);
 
         return comment;
     }
 
     public static void deleteComment(UserModel user, int commentId) {
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .queryParam("commentId", commentId)
-                .delete(API + DELETE_COMMENT);
+                .delete(API + DELETE_COMMENT));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
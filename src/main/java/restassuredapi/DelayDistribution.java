@@ -0,0 +1,122 @@
+package restassuredapi;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A random delay, such as a server latency or a user's think time, read from JSON settings:
+ *
+ * <pre>
+ * {"distribution": "fixed", "ms": 50}
+ * {"distribution": "uniform", "minMs": 10, "maxMs": 90}
+ * {"distribution": "exponential", "meanMs": 40}
+ * {"distribution": "lognormal", "medianMs": 40, "p99Ms": 300}
+ * </pre>
+ *
+ * Missing settings mean no delay.
+ */
+public abstract class DelayDistribution {
+
+    private static final double Z_99 = 2.326348;
+
+    public static final DelayDistribution NONE = fixed(0);
+
+    public abstract long drawNanos(Random random);
+
+    public boolean isZero() {
+        return false;
+    }
+
+    public static DelayDistribution of(Settings settings) {
+        if (settings == null || settings.distribution == null) {
+            return NONE;
+        }
+        switch (settings.distribution) {
+            case "fixed":
+                return fixed(required(settings.ms, "ms"));
+            case "uniform":
+                return uniform(required(settings.minMs, "minMs"), required(settings.maxMs, "maxMs"));
+            case "exponential":
+                return exponential(required(settings.meanMs, "meanMs"));
+            case "lognormal":
+                return lognormal(required(settings.medianMs, "medianMs"), required(settings.p99Ms, "p99Ms"));
+            default:
+                throw new IllegalArgumentException("Unknown delay distribution " + settings.distribution
+                        + ". Use fixed, uniform, exponential or lognormal.");
+        }
+    }
+
+    private static DelayDistribution fixed(double ms) {
+        long nanos = nanos(ms);
+        return new DelayDistribution() {
+            @Override
+            public long drawNanos(Random random) {
+                return nanos;
+            }
+
+            @Override
+            public boolean isZero() {
+                return nanos == 0;
+            }
+        };
+    }
+
+    private static DelayDistribution uniform(double minMs, double maxMs) {
+        if (maxMs < minMs) {
+            throw new IllegalArgumentException("maxMs is less than minMs.");
+        }
+        return new DelayDistribution() {
+            @Override
+            public long drawNanos(Random random) {
+                return nanos(minMs + random.nextDouble() * (maxMs - minMs));
+            }
+        };
+    }
+
+    private static DelayDistribution exponential(double meanMs) {
+        return new DelayDistribution() {
+            @Override
+            public long drawNanos(Random random) {
+                return nanos(-meanMs * Math.log(1 - random.nextDouble()));
+            }
+        };
+    }
+
+    // Log-normal with the given median and 99th percentile, the shape most service latencies follow.
+    private static DelayDistribution lognormal(double medianMs, double p99Ms) {
+        if (medianMs <= 0 || p99Ms < medianMs) {
+            throw new IllegalArgumentException("lognormal needs 0 < medianMs <= p99Ms.");
+        }
+        double mu = Math.log(medianMs);
+        double sigma = (Math.log(p99Ms) - mu) / Z_99;
+        return new DelayDistribution() {
+            @Override
+            public long drawNanos(Random random) {
+                return nanos(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+        };
+    }
+
+    private static double required(Double value, String name) {
+        if (value == null || value < 0) {
+            throw new IllegalArgumentException("Delay setting " + name + " is missing or negative.");
+        }
+        return value;
+    }
+
+    private static long nanos(double ms) {
+        return (long) (ms * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    // Read by Gson from the JSON form above.
+    public static class Settings {
+        private String distribution;
+        private Double ms;
+        private Double minMs;
+        private Double maxMs;
+        private Double meanMs;
+        private Double medianMs;
+        private Double p99Ms;
+    }
+
+}
@@ -0,0 +1,275 @@
+package restassuredapi;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.telerikacademy.testframework.utils.Endpoints;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.telerikacademy.testframework.utils.Constants.API;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+import static restassuredapi.PooledHttpTransport.STREAMING_RESPONSE;
+
+/**
+ * Latency histograms, status code counts and body sizes for every REST call, keyed by the {@link Endpoints}
+ * constant the request path was built from and the HTTP method. RestAssured calls are recorded by a global
+ * filter and {@link AsyncWeAreApi} records its own calls. The end-of-suite report goes to
+ * {@code config.metrics.endpointReport}.
+ */
+public class EndpointMetrics extends BaseWeAreApi {
+
+    private static final Path REPORT_FILE = Paths.get(getConfigPropertyByKey("config.metrics.endpointReport"));
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final List<EndpointTemplate> templates = loadTemplates();
+    private static final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Long> lastResponseBytes = ThreadLocal.withInitial(() -> -1L);
+
+    // Times the call until its body is read, the same point the API helpers can use the response.
+    private static final Filter metricsFilter = (requestSpec, responseSpec, ctx) -> {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        boolean streaming = requestSpec.getDefinedFilters().contains(STREAMING_RESPONSE);
+        long responseBytes = streaming ? contentLength(response) : response.asByteArray().length;
+        record(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), response.getStatusCode(),
+                requestBytes(requestSpec), responseBytes, System.nanoTime() - start);
+        return response;
+    };
+
+    private static boolean installed;
+
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        RestAssured.filters(metricsFilter);
+        installed = true;
+    }
+
+    public static synchronized void shutdown() {
+        if (!installed) {
+            return;
+        }
+        List<Filter> filters = RestAssured.filters().stream()
+                .filter(filter -> filter != metricsFilter)
+                .collect(Collectors.toList());
+        RestAssured.replaceFiltersWith(filters);
+        installed = false;
+
+        if (!stats.isEmpty()) {
+            writeReport(REPORT_FILE);
+            LOGGER.info(String.format("Latency of %d endpoints written to %s.", stats.size(), REPORT_FILE));
+        }
+    }
+
+    public static void record(String method, String path, int statusCode, long requestBytes, long responseBytes,
+                              long latencyNanos) {
+        String endpoint = resolveEndpoint(path);
+        lastResponseBytes.set(responseBytes);
+        stats.computeIfAbsent(method + " " + endpoint, key -> new EndpointStats(endpoint, method))
+                .record(statusCode, requestBytes, responseBytes, latencyNanos);
+    }
+
+    // Body size of the latest call recorded on this thread, or -1 when there was none.
+    public static long getLastResponseBytes() {
+        return lastResponseBytes.get();
+    }
+
+    public static Map<String, EndpointStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(stats));
+    }
+
+    public static void reset() {
+        stats.clear();
+    }
+
+    public static String resolveEndpoint(String path) {
+        String withoutQuery = path == null ? "" : path.split("\\?", 2)[0];
+        for (EndpointTemplate template : templates) {
+            if (template.pattern.matcher(withoutQuery).matches()) {
+                return template.name;
+            }
+        }
+        return withoutQuery;
+    }
+
+    public static void writeReport(Path file) {
+        JsonArray endpoints = new JsonArray();
+        for (EndpointStats endpoint : getStats().values()) {
+            endpoints.add(endpoint.toJson());
+        }
+        JsonObject report = new JsonObject();
+        report.addProperty("generatedAt", Instant.now().toString());
+        report.addProperty("baseUri", RestAssured.baseURI);
+        report.addProperty("unit", "ms");
+        report.add("endpoints", endpoints);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.write(file, gson.toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Endpoint report " + file + " could not be written.", exception);
+        }
+    }
+
+    private static long requestBytes(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body != null) {
+            return body.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+        long formBytes = 0;
+        for (Map.Entry<String, String> parameter : requestSpec.getFormParams().entrySet()) {
+            formBytes += parameter.getKey().length() + String.valueOf(parameter.getValue()).length() + 2;
+        }
+        return Math.max(0, formBytes - 1);
+    }
+
+    private static long contentLength(Response response) {
+        String contentLength = response.getHeader("Content-Length");
+        return contentLength == null ? -1 : Long.parseLong(contentLength);
+    }
+
+    private static List<EndpointTemplate> loadTemplates() {
+        List<EndpointTemplate> loaded = new ArrayList<>();
+        for (Field field : Endpoints.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    loaded.add(new EndpointTemplate(field.getName(), (String) field.get(null)));
+                } catch (IllegalAccessException exception) {
+                    throw new IllegalStateException("Endpoint " + field.getName() + " could not be read.", exception);
+                }
+            }
+        }
+        // Templates with more literal text are more specific, so they are tried first.
+        loaded.sort(Comparator.comparingInt((EndpointTemplate template) -> template.literalLength).reversed());
+        return loaded;
+    }
+
+    private static class EndpointTemplate {
+
+        private final String name;
+        private final Pattern pattern;
+        private final int literalLength;
+
+        private EndpointTemplate(String name, String template) {
+            this.name = name;
+            String[] literals = template.split("%[sd]", -1);
+            StringBuilder regex = new StringBuilder("(?:" + Pattern.quote(API) + ")?");
+            for (int i = 0; i < literals.length; i++) {
+                if (i > 0) {
+                    regex.append("[^/]+");
+                }
+                regex.append(Pattern.quote(literals[i]));
+            }
+            this.pattern = Pattern.compile(regex.toString());
+            this.literalLength = template.length() - 2 * (literals.length - 1);
+        }
+    }
+
+    public static class EndpointStats {
+
+        private final String endpoint;
+        private final String method;
+        private final Histogram latencyNanos = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final AtomicLong maxRequestBytes = new AtomicLong();
+        private final AtomicLong maxResponseBytes = new AtomicLong();
+
+        private EndpointStats(String endpoint, String method) {
+            this.endpoint = endpoint;
+            this.method = method;
+        }
+
+        private void record(int statusCode, long requestSize, long responseSize, long nanos) {
+            latencyNanos.recordValue(Math.max(0, nanos));
+            statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+            if (requestSize >= 0) {
+                requestBytes.add(requestSize);
+                maxRequestBytes.accumulateAndGet(requestSize, Math::max);
+            }
+            if (responseSize >= 0) {
+                responseBytes.add(responseSize);
+                maxResponseBytes.accumulateAndGet(responseSize, Math::max);
+            }
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public Histogram getLatencyNanos() {
+            return latencyNanos.copy();
+        }
+
+        public Map<Integer, Long> getStatusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        private JsonObject toJson() {
+            Histogram histogram = getLatencyNanos();
+
+            JsonObject statuses = new JsonObject();
+            getStatusCounts().forEach((status, count) -> statuses.addProperty(String.valueOf(status), count));
+
+            JsonObject bytes = new JsonObject();
+            bytes.addProperty("requestTotal", getRequestBytes());
+            bytes.addProperty("requestMax", maxRequestBytes.get());
+            bytes.addProperty("responseTotal", getResponseBytes());
+            bytes.addProperty("responseMax", maxResponseBytes.get());
+
+            JsonObject json = new JsonObject();
+            json.addProperty("endpoint", endpoint);
+            json.addProperty("method", method);
+            json.addProperty("count", histogram.getTotalCount());
+            json.add("latency", HistogramCodec.summary(histogram));
+            json.add("statusCounts", statuses);
+            json.add("bytes", bytes);
+            json.addProperty("histogram", HistogramCodec.encode(histogram));
+            return json;
+        }
+    }
+
+}
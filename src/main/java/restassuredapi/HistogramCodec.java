@@ -0,0 +1,54 @@
+package restassuredapi;
+
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+/**
+ * Compressed base64 form of nanosecond latency histograms, so reports from several runs or machines can be
+ * merged without losing precision, and the percentile summary the reports print next to it.
+ */
+public class HistogramCodec {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    public static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    public static Histogram decode(String encoded) {
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(
+                    ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+            // Decoded histograms only cover the values they hold, and others are added to them when merging.
+            histogram.setAutoResize(true);
+            return histogram;
+        } catch (DataFormatException exception) {
+            throw new IllegalArgumentException("Histogram could not be decoded.", exception);
+        }
+    }
+
+    public static JsonObject summary(Histogram histogram) {
+        JsonObject summary = new JsonObject();
+        for (double percentile : PERCENTILES) {
+            String name = "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile));
+            summary.addProperty(name, millis(histogram.getValueAtPercentile(percentile)));
+        }
+        summary.addProperty("max", millis(histogram.getMaxValue()));
+        summary.addProperty("mean", millis((long) histogram.getMean()));
+        return summary;
+    }
+
+    public static double millis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+    }
+
+}
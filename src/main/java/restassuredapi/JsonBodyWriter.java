@@ -0,0 +1,137 @@
+package restassuredapi;
+
+/**
+ * Minimal JSON writer for request bodies. Each thread reuses one buffer, values are escaped as they are appended
+ * and nothing is parsed, so building a body costs one pass over its fields.
+ */
+public class JsonBodyWriter {
+
+    private static final ThreadLocal<JsonBodyWriter> writers = ThreadLocal.withInitial(JsonBodyWriter::new);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder buffer = new StringBuilder(512);
+    private boolean needsComma;
+
+    private JsonBodyWriter() {
+    }
+
+    public static JsonBodyWriter beginBody() {
+        JsonBodyWriter writer = writers.get();
+        writer.buffer.setLength(0);
+        writer.buffer.append('{');
+        writer.needsComma = false;
+        return writer;
+    }
+
+    public String endBody() {
+        buffer.append('}');
+        return buffer.toString();
+    }
+
+    public JsonBodyWriter field(String name, String value) {
+        name(name);
+        if (value == null) {
+            buffer.append("null");
+        } else {
+            string(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    public JsonBodyWriter field(String name, long value) {
+        name(name);
+        buffer.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonBodyWriter field(String name, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON numbers must be finite: " + name);
+        }
+        name(name);
+        buffer.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonBodyWriter field(String name, boolean value) {
+        name(name);
+        buffer.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonBodyWriter beginObject(String name) {
+        name(name);
+        buffer.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonBodyWriter endObject() {
+        buffer.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonBodyWriter stringArray(String name, String... values) {
+        name(name);
+        buffer.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            string(values[i]);
+        }
+        buffer.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    private void name(String name) {
+        if (needsComma) {
+            buffer.append(',');
+        }
+        string(name);
+        buffer.append(':');
+    }
+
+    private void string(String value) {
+        buffer.append('"');
+        int length = value.length();
+        int unescapedFrom = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            buffer.append(value, unescapedFrom, i);
+            switch (c) {
+                case '"':
+                    buffer.append("\\\"");
+                    break;
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                default:
+                    buffer.append("\\u").append(HEX[c >> 12 & 0xF]).append(HEX[c >> 8 & 0xF])
+                            .append(HEX[c >> 4 & 0xF]).append(HEX[c & 0xF]);
+            }
+            unescapedFrom = i + 1;
+        }
+        buffer.append(value, unescapedFrom, length);
+        buffer.append('"');
+    }
+
+}
@@ -0,0 +1,50 @@
+package restassuredapi;
+
+import com.google.gson.*;
+import io.restassured.response.ResponseBodyExtractionOptions;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The one Gson instance shared by all API helpers. Gson is thread-safe and caches its type adapters, so the
+ * models are bound through {@link ModelTypeAdapters} without being introspected again on every response.
+ * Reflection on the models is blocked, which makes a model without an adapter fail on first use.
+ */
+public class JsonCodec {
+
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapters())
+            .addReflectionAccessFilter(type -> ModelTypeAdapters.isModel(type)
+                    ? ReflectionAccessFilter.FilterResult.BLOCK_ALL
+                    : ReflectionAccessFilter.FilterResult.INDECISIVE)
+            .create();
+
+    public static Gson gson() {
+        return gson;
+    }
+
+    public static <T> T fromJson(ResponseBodyExtractionOptions body, Class<T> type) {
+        return fromJson(body.asInputStream(), type);
+    }
+
+    public static <T> T fromJson(InputStream body, Class<T> type) {
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        return gson.fromJson(reader, type);
+    }
+
+    public static <T> T fromJson(String json, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    public static <T> T fromJson(JsonElement json, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    public static String toJson(Object model) {
+        return gson.toJson(model);
+    }
+
+}
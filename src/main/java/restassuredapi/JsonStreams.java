@@ -0,0 +1,144 @@
+package restassuredapi;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scans a JSON array of objects straight from a response stream, one token at a time. Elements that do not
+ * match are skipped without being bound to models or built into trees, and the scan ends at the first match.
+ */
+public class JsonStreams {
+
+    public static boolean containsId(InputStream body, String idField, int id) {
+        try (JsonReader reader = open(body)) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (readIdAndSkipRest(reader, idField) == id) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Response body could not be read.", exception);
+        }
+    }
+
+    public static <T> T findById(InputStream body, String idField, int id, Class<T> type) {
+        try (JsonReader reader = open(body)) {
+            CharArrayWriter element = new CharArrayWriter();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (copyIfId(reader, idField, id, element)) {
+                    return JsonCodec.fromJson(element.toString(), type);
+                }
+            }
+            return null;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Response body could not be read.", exception);
+        }
+    }
+
+    private static JsonReader open(InputStream body) {
+        return new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static long readIdAndSkipRest(JsonReader reader, String idField) throws IOException {
+        long id = Long.MIN_VALUE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(idField) && reader.peek() == JsonToken.NUMBER) {
+                id = reader.nextLong();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return id;
+    }
+
+    // Copies the element as text into the buffer while its id is unknown and skips the rest of it once the id
+    // turns out to be another one, so only the matching element is ever bound.
+    private static boolean copyIfId(JsonReader reader, String idField, int id, CharArrayWriter element)
+            throws IOException {
+        element.reset();
+        JsonWriter writer = new JsonWriter(element);
+        boolean idRead = false;
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            writer.name(name);
+            if (!idRead && name.equals(idField) && reader.peek() == JsonToken.NUMBER) {
+                long elementId = reader.nextLong();
+                if (elementId != id) {
+                    skipRest(reader);
+                    return false;
+                }
+                idRead = true;
+                writer.value(elementId);
+            } else {
+                copyValue(reader, writer);
+            }
+        }
+        reader.endObject();
+        writer.endObject();
+        writer.flush();
+        return idRead;
+    }
+
+    private static void copyValue(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copyValue(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copyValue(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                throw new IllegalStateException("Unexpected " + reader.peek() + " in a JSON element.");
+        }
+    }
+
+    private static void skipRest(JsonReader reader) throws IOException {
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.skipValue();
+        }
+        reader.endObject();
+    }
+
+}
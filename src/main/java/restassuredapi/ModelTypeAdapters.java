@@ -0,0 +1,748 @@
+package restassuredapi;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import restassuredapi.models.models.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hand-written type adapters for every class in {@code restassuredapi.models.models}. Each adapter reads and
+ * writes the same JSON names Gson derives from the model fields, but goes through constructors, getters and
+ * setters instead of reflection. Unknown names are skipped and null values leave the model defaults untouched.
+ */
+public class ModelTypeAdapters implements TypeAdapterFactory {
+
+    static final String MODELS_PACKAGE = CategoryModel.class.getPackage().getName();
+
+    private static final Map<Class<?>, TypeAdapter<?>> adapters = new HashMap<>();
+
+    private static final ModelAdapter<CountryModel> COUNTRY = register(CountryModel.class, new ModelAdapter<CountryModel>(CountryModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, CountryModel country) throws IOException {
+            switch (name) {
+                case "id":
+                    country.setId(nextInteger(in));
+                    return true;
+                case "country":
+                    country.setCountry(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, CountryModel country) throws IOException {
+            out.name("id").value(country.getId());
+            out.name("country").value(country.getCountry());
+        }
+    });
+
+    private static final ModelAdapter<CityModel> CITY = register(CityModel.class, new ModelAdapter<CityModel>(CityModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, CityModel city) throws IOException {
+            switch (name) {
+                case "city":
+                    setIfPresent(nextString(in), city::setCity);
+                    return true;
+                case "country":
+                    setIfPresent(COUNTRY.read(in), city::setCountry);
+                    return true;
+                case "id":
+                    city.setId(nextInteger(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, CityModel city) throws IOException {
+            out.name("city").value(city.getCity());
+            out.name("country");
+            COUNTRY.write(out, city.getCountry());
+            out.name("id").value(city.getId());
+        }
+    });
+
+    private static final ModelAdapter<LocationModel> LOCATION = register(LocationModel.class, new ModelAdapter<LocationModel>(LocationModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, LocationModel location) throws IOException {
+            switch (name) {
+                case "city":
+                    setIfPresent(CITY.read(in), location::setCity);
+                    return true;
+                case "id":
+                    location.setId(nextInteger(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, LocationModel location) throws IOException {
+            out.name("city");
+            CITY.write(out, location.getCity());
+            out.name("id").value(location.getId());
+        }
+    });
+
+    private static final ModelAdapter<CategoryModel> CATEGORY = register(CategoryModel.class, new ModelAdapter<CategoryModel>(CategoryModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, CategoryModel category) throws IOException {
+            switch (name) {
+                case "id":
+                    category.setId(nextInteger(in));
+                    return true;
+                case "name":
+                    category.setName(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, CategoryModel category) throws IOException {
+            out.name("id").value(category.getId());
+            out.name("name").value(category.getName());
+        }
+    });
+
+    private static final ModelAdapter<SkillModel> SKILL = register(SkillModel.class, new ModelAdapter<SkillModel>(SkillModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, SkillModel skill) throws IOException {
+            switch (name) {
+                case "skillId":
+                    skill.setSkillId(nextInteger(in));
+                    return true;
+                case "skill":
+                    skill.setSkill(nextString(in));
+                    return true;
+                case "category":
+                    setIfPresent(CATEGORY.read(in), skill::setCategory);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, SkillModel skill) throws IOException {
+            out.name("skillId").value(skill.getSkillId());
+            out.name("skill").value(skill.getSkill());
+            out.name("category");
+            CATEGORY.write(out, skill.getCategory());
+        }
+    });
+
+    private static final ModelAdapter<GrantedAuthorityModel> GRANTED_AUTHORITY = register(GrantedAuthorityModel.class, new ModelAdapter<GrantedAuthorityModel>(GrantedAuthorityModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, GrantedAuthorityModel authority) throws IOException {
+            if (name.equals("authority")) {
+                authority.setAuthority(nextString(in));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        void writeFields(JsonWriter out, GrantedAuthorityModel authority) throws IOException {
+            out.name("authority").value(authority.getAuthority());
+        }
+    });
+
+    private static final ModelAdapter<PersonalProfileModel> PERSONAL_PROFILE = register(PersonalProfileModel.class, new ModelAdapter<PersonalProfileModel>(PersonalProfileModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, PersonalProfileModel profile) throws IOException {
+            switch (name) {
+                case "id":
+                    profile.setId(nextInteger(in));
+                    return true;
+                case "firstName":
+                    profile.setFirstName(nextString(in));
+                    return true;
+                case "lastName":
+                    profile.setLastName(nextString(in));
+                    return true;
+                case "sex":
+                    profile.setSex(nextString(in));
+                    return true;
+                case "location":
+                    setIfPresent(LOCATION.read(in), profile::setLocation);
+                    return true;
+                case "birthYear":
+                    profile.setBirthYear(nextString(in));
+                    return true;
+                case "personalReview":
+                    profile.setPersonalReview(nextString(in));
+                    return true;
+                case "memberSince":
+                    profile.setMemberSince(nextString(in));
+                    return true;
+                case "picture":
+                    profile.setPicture(nextString(in));
+                    return true;
+                case "picturePrivacy":
+                    setIfPresent(nextBoolean(in), profile::setPicturePrivacy);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, PersonalProfileModel profile) throws IOException {
+            out.name("id").value(profile.getId());
+            out.name("firstName").value(profile.getFirstName());
+            out.name("lastName").value(profile.getLastName());
+            out.name("sex").value(profile.getSex());
+            out.name("location");
+            LOCATION.write(out, profile.getLocation());
+            out.name("birthYear").value(profile.getBirthYear());
+            out.name("personalReview").value(profile.getPersonalReview());
+            out.name("memberSince").value(profile.getMemberSince());
+            out.name("picture").value(profile.getPicture());
+            out.name("picturePrivacy").value(profile.getPicturePrivacy());
+        }
+    });
+
+    private static final ModelAdapter<ExpertiseProfileModel> EXPERTISE_PROFILE = register(ExpertiseProfileModel.class, new ModelAdapter<ExpertiseProfileModel>(ExpertiseProfileModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, ExpertiseProfileModel profile) throws IOException {
+            switch (name) {
+                case "id":
+                    profile.setId(nextInteger(in));
+                    return true;
+                case "skills":
+                    setIfPresent(readCollection(in, SKILL, ArrayList::new), profile::setSkills);
+                    return true;
+                case "category":
+                    setIfPresent(CATEGORY.read(in), profile::setCategory);
+                    return true;
+                case "availability":
+                    setIfPresent(nextDouble(in), profile::setAvailability);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, ExpertiseProfileModel profile) throws IOException {
+            out.name("id").value(profile.getId());
+            out.name("skills");
+            writeCollection(out, SKILL, profile.getSkills());
+            out.name("category");
+            CATEGORY.write(out, profile.getCategory());
+            out.name("availability").value(profile.getAvailability());
+        }
+    });
+
+    private static final ModelAdapter<UserModel> USER = register(UserModel.class, new ModelAdapter<UserModel>(UserModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, UserModel user) throws IOException {
+            switch (name) {
+                case "authorities":
+                    setIfPresent(readCollection(in, GRANTED_AUTHORITY, ArrayList::new), user::setAuthorities);
+                    return true;
+                case "accountNonExpired":
+                    setIfPresent(nextBoolean(in), user::setAccountNonExpired);
+                    return true;
+                case "accountNonLocked":
+                    setIfPresent(nextBoolean(in), user::setAccountNonLocked);
+                    return true;
+                case "credentialsNonExpired":
+                    setIfPresent(nextBoolean(in), user::setCredentialsNonExpired);
+                    return true;
+                case "email":
+                    user.setEmail(nextString(in));
+                    return true;
+                case "enabled":
+                    setIfPresent(nextBoolean(in), user::setEnabled);
+                    return true;
+                case "expertiseProfile":
+                    setIfPresent(EXPERTISE_PROFILE.read(in), user::setExpertiseProfile);
+                    return true;
+                case "password":
+                    user.setPassword(nextString(in));
+                    return true;
+                case "personalProfile":
+                    setIfPresent(PERSONAL_PROFILE.read(in), user::setPersonalProfile);
+                    return true;
+                case "userId":
+                    setIfPresent(nextInteger(in), user::setUserId);
+                    return true;
+                case "username":
+                    user.setUsername(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserModel user) throws IOException {
+            out.name("authorities");
+            writeCollection(out, GRANTED_AUTHORITY, user.getAuthorities());
+            out.name("accountNonExpired").value(user.isAccountNonExpired());
+            out.name("accountNonLocked").value(user.isAccountNonLocked());
+            out.name("credentialsNonExpired").value(user.isCredentialsNonExpired());
+            out.name("email").value(user.getEmail());
+            out.name("enabled").value(user.isEnabled());
+            out.name("expertiseProfile");
+            EXPERTISE_PROFILE.write(out, user.getExpertiseProfile());
+            out.name("password").value(user.getPassword());
+            out.name("personalProfile");
+            PERSONAL_PROFILE.write(out, user.getPersonalProfile());
+            out.name("userId").value(user.getId());
+            out.name("username").value(user.getUsername());
+        }
+    });
+
+    private static final ModelAdapter<RoleModel> ROLE = register(RoleModel.class, new ModelAdapter<RoleModel>(RoleModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, RoleModel role) throws IOException {
+            switch (name) {
+                case "id":
+                    setIfPresent(nextInteger(in), role::setId);
+                    return true;
+                case "authority":
+                    role.setAuthority(nextString(in));
+                    return true;
+                case "users":
+                    setIfPresent(readCollection(in, USER, ArrayList::new), role::setUsers);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, RoleModel role) throws IOException {
+            out.name("id").value(role.getId());
+            out.name("authority").value(role.getAuthority());
+            out.name("users");
+            writeCollection(out, USER, role.getUsers());
+        }
+    });
+
+    private static final ModelAdapter<UserBySearchModel> USER_BY_SEARCH = register(UserBySearchModel.class, new ModelAdapter<UserBySearchModel>(() -> new UserBySearchModel(0, null)) {
+        @Override
+        boolean readField(JsonReader in, String name, UserBySearchModel user) throws IOException {
+            switch (name) {
+                case "userId":
+                    setIfPresent(nextInteger(in), user::setUserId);
+                    return true;
+                case "username":
+                    user.setUsername(nextString(in));
+                    return true;
+                case "expertiseProfile":
+                    setIfPresent(EXPERTISE_PROFILE.read(in), user::setExpertiseProfile);
+                    return true;
+                case "enabled":
+                    setIfPresent(nextBoolean(in), user::setEnabled);
+                    return true;
+                case "accountNonExpired":
+                    setIfPresent(nextBoolean(in), user::setAccountNonExpired);
+                    return true;
+                case "credentialsNonExpired":
+                    setIfPresent(nextBoolean(in), user::setCredentialsNonExpired);
+                    return true;
+                case "accountNonLocked":
+                    setIfPresent(nextBoolean(in), user::setAccountNonLocked);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserBySearchModel user) throws IOException {
+            out.name("userId").value(user.getUserId());
+            out.name("username").value(user.getUsername());
+            out.name("expertiseProfile");
+            EXPERTISE_PROFILE.write(out, user.getExpertiseProfile());
+            out.name("enabled").value(user.isEnabled());
+            out.name("accountNonExpired").value(user.isAccountNonExpired());
+            out.name("credentialsNonExpired").value(user.isCredentialsNonExpired());
+            out.name("accountNonLocked").value(user.isAccountNonLocked());
+        }
+    });
+
+    private static final ModelAdapter<UserByIdModel> USER_BY_ID = register(UserByIdModel.class, new ModelAdapter<UserByIdModel>(UserByIdModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, UserByIdModel user) throws IOException {
+            switch (name) {
+                case "authorities":
+                    setIfPresent(readStringArray(in), user::setAuthorities);
+                    return true;
+                case "birthYear":
+                    user.setBirthYear(nextString(in));
+                    return true;
+                case "city":
+                    setIfPresent(CITY.read(in), user::setCity);
+                    return true;
+                case "email":
+                    user.setEmail(nextString(in));
+                    return true;
+                case "expertise":
+                    user.setExpertise(nextString(in));
+                    return true;
+                case "firstName":
+                    user.setFirstName(nextString(in));
+                    return true;
+                case "gender":
+                    setIfPresent(readStringArray(in), user::setGender);
+                    return true;
+                case "id":
+                    setIfPresent(nextInteger(in), user::setId);
+                    return true;
+                case "lastNAme":
+                    user.setLastNAme(nextString(in));
+                    return true;
+                case "personalReview":
+                    user.setPersonalReview(nextString(in));
+                    return true;
+                case "skills":
+                    List<SkillModel> skills = readCollection(in, SKILL, ArrayList::new);
+                    if (skills != null) {
+                        user.setSkills(skills.toArray(new SkillModel[0]));
+                    }
+                    return true;
+                case "username":
+                    user.setUsername(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, UserByIdModel user) throws IOException {
+            out.name("authorities");
+            writeStringArray(out, user.getAuthorities());
+            out.name("birthYear").value(user.getBirthYear());
+            out.name("city");
+            CITY.write(out, user.getCity());
+            out.name("email").value(user.getEmail());
+            out.name("expertise").value(user.getExpertise());
+            out.name("firstName").value(user.getFirstName());
+            out.name("gender");
+            writeStringArray(out, user.getGender());
+            out.name("id").value(user.getId());
+            out.name("lastNAme").value(user.getLastNAme());
+            out.name("personalReview").value(user.getPersonalReview());
+            out.name("skills");
+            writeCollection(out, SKILL, user.getSkills() == null ? null : Arrays.asList(user.getSkills()));
+            out.name("username").value(user.getUsername());
+        }
+    });
+
+    private static final ModelAdapter<PostModel> POST = register(PostModel.class, new ModelAdapter<PostModel>(PostModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, PostModel post) throws IOException {
+            switch (name) {
+                case "category":
+                    setIfPresent(CATEGORY.read(in), post::setCategory);
+                    return true;
+                case "comments":
+                    setIfPresent(readCollection(in, ModelTypeAdapters.COMMENT, ArrayList::new), post::setComments);
+                    return true;
+                case "content":
+                    post.setContent(nextString(in));
+                    return true;
+                case "date":
+                    post.setDate(nextString(in));
+                    return true;
+                case "isLiked":
+                    setIfPresent(nextBoolean(in), post::setLiked);
+                    return true;
+                case "likes":
+                    setIfPresent(readCollection(in, USER, LinkedHashSet::new), post::setLikes);
+                    return true;
+                case "picture":
+                    post.setPicture(nextString(in));
+                    return true;
+                case "postId":
+                    post.setPostId(nextInteger(in));
+                    return true;
+                case "isPublic":
+                    setIfPresent(nextBoolean(in), post::setPublic);
+                    return true;
+                case "rank":
+                    setIfPresent(nextInteger(in), post::setRank);
+                    return true;
+                case "user":
+                    setIfPresent(USER.read(in), post::setUser);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, PostModel post) throws IOException {
+            out.name("category");
+            CATEGORY.write(out, post.getCategory());
+            out.name("comments");
+            writeCollection(out, ModelTypeAdapters.COMMENT, post.getComments());
+            out.name("content").value(post.getContent());
+            out.name("date").value(post.getDate());
+            out.name("isLiked").value(post.isLiked());
+            out.name("likes");
+            writeCollection(out, USER, post.getLikes());
+            out.name("picture").value(post.getPicture());
+            out.name("postId").value(post.getPostId());
+            out.name("isPublic").value(post.isPublic());
+            out.name("rank").value(post.getRank());
+            out.name("user");
+            USER.write(out, post.getUser());
+        }
+    });
+
+    private static final ModelAdapter<CommentModel> COMMENT = register(CommentModel.class, new ModelAdapter<CommentModel>(CommentModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, CommentModel comment) throws IOException {
+            switch (name) {
+                case "commentId":
+                    comment.setCommentId(nextInteger(in));
+                    return true;
+                case "post":
+                    setIfPresent(POST.read(in), comment::setPost);
+                    return true;
+                case "user":
+                    setIfPresent(USER.read(in), comment::setUser);
+                    return true;
+                case "content":
+                    comment.setContent(nextString(in));
+                    return true;
+                case "likes":
+                    setIfPresent(readCollection(in, USER, LinkedHashSet::new), comment::setLikes);
+                    return true;
+                case "date":
+                    comment.setDate(nextString(in));
+                    return true;
+                case "liked":
+                    setIfPresent(nextBoolean(in), comment::setLiked);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, CommentModel comment) throws IOException {
+            out.name("commentId").value(comment.getCommentId());
+            out.name("post");
+            POST.write(out, comment.getPost());
+            out.name("user");
+            USER.write(out, comment.getUser());
+            out.name("content").value(comment.getContent());
+            out.name("likes");
+            writeCollection(out, USER, comment.getLikes());
+            out.name("date").value(comment.getDate());
+            out.name("liked").value(comment.isLiked());
+        }
+    });
+
+    private static final ModelAdapter<RequestModel> REQUEST = register(RequestModel.class, new ModelAdapter<RequestModel>(RequestModel::new) {
+        @Override
+        boolean readField(JsonReader in, String name, RequestModel request) throws IOException {
+            switch (name) {
+                case "approved":
+                    setIfPresent(nextBoolean(in), request::setApproved);
+                    return true;
+                case "id":
+                    setIfPresent(nextInteger(in), request::setId);
+                    return true;
+                case "receiver":
+                    setIfPresent(USER.read(in), request::setReceiver);
+                    return true;
+                case "seen":
+                    setIfPresent(nextBoolean(in), request::setSeen);
+                    return true;
+                case "sender":
+                    setIfPresent(USER.read(in), request::setSender);
+                    return true;
+                case "timeStamp":
+                    request.setTimeStamp(nextString(in));
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        void writeFields(JsonWriter out, RequestModel request) throws IOException {
+            out.name("approved").value(request.isApproved());
+            out.name("id").value(request.getId());
+            out.name("receiver");
+            USER.write(out, request.getReceiver());
+            out.name("seen").value(request.isSeen());
+            out.name("sender");
+            USER.write(out, request.getSender());
+            out.name("timeStamp").value(request.getTimeStamp());
+        }
+    });
+
+    static boolean isModel(Class<?> type) {
+        return type.getPackage() != null && type.getPackage().getName().equals(MODELS_PACKAGE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        return (TypeAdapter<T>) adapters.get(type.getRawType());
+    }
+
+    private static <T> ModelAdapter<T> register(Class<T> type, ModelAdapter<T> adapter) {
+        adapters.put(type, adapter);
+        return adapter;
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Integer nextInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    private static Double nextDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextDouble();
+    }
+
+    private static Boolean nextBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return token == JsonToken.STRING ? Boolean.parseBoolean(in.nextString()) : in.nextBoolean();
+    }
+
+    private static <T> void setIfPresent(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static String[] readStringArray(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(nextString(in));
+        }
+        in.endArray();
+        return values.toArray(new String[0]);
+    }
+
+    private static void writeStringArray(JsonWriter out, String[] values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    private static <T, C extends Collection<T>> C readCollection(JsonReader in, ModelAdapter<T> adapter,
+                                                                 Supplier<C> collectionFactory) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        C values = collectionFactory.get();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(adapter.read(in));
+        }
+        in.endArray();
+        return values;
+    }
+
+    private static <T> void writeCollection(JsonWriter out, ModelAdapter<? super T> adapter,
+                                            Collection<T> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T value : values) {
+            adapter.write(out, value);
+        }
+        out.endArray();
+    }
+
+    private abstract static class ModelAdapter<T> extends TypeAdapter<T> {
+
+        private final Supplier<T> constructor;
+
+        private ModelAdapter(Supplier<T> constructor) {
+            this.constructor = constructor;
+        }
+
+        abstract boolean readField(JsonReader in, String name, T model) throws IOException;
+
+        abstract void writeFields(JsonWriter out, T model) throws IOException;
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T model = constructor.get();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!readField(in, in.nextName(), model)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return model;
+        }
+
+        @Override
+        public void write(JsonWriter out, T model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, model);
+            out.endObject();
+        }
+    }
+
+}
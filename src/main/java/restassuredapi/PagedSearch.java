@@ -0,0 +1,148 @@
+package restassuredapi;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Walks a paginated search endpoint page by page. A page is requested only when iteration reaches it,
+ * so a lookup stops at the page that holds the match. A page shorter than the page size ends the search, and so
+ * does a page that starts and ends with the same items as the one before, as a server that ignores paging
+ * answers every page with the same items. A search that runs past the page limit fails.
+ */
+public class PagedSearch<T> implements Iterable<T> {
+
+    private static final int MAX_PAGES = Integer.parseInt(getConfigPropertyByKey("config.search.maxPages"));
+
+    private static final LongAdder lookups = new LongAdder();
+    private static final LongAdder totalPagesFetched = new LongAdder();
+    private static final AtomicInteger maxPagesFetched = new AtomicInteger();
+
+    private final BiFunction<Integer, Integer, T[]> pageFetcher;
+    private final Function<T, ?> itemId;
+    private final int pageSize;
+    private volatile int pagesFetched;
+
+    public PagedSearch(int pageSize, Function<T, ?> itemId, BiFunction<Integer, Integer, T[]> pageFetcher) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        this.pageSize = pageSize;
+        this.itemId = itemId;
+        this.pageFetcher = pageFetcher;
+    }
+
+    public T findFirst(Predicate<T> condition) {
+        Pages pages = new Pages();
+        try {
+            while (pages.hasNext()) {
+                T item = pages.next();
+                if (condition.test(item)) {
+                    return item;
+                }
+            }
+            return null;
+        } finally {
+            pages.finish();
+        }
+    }
+
+    // The pages fetched by the iteration that finished last.
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public static long getLookupCount() {
+        return lookups.sum();
+    }
+
+    public static double getMeanPagesPerLookup() {
+        long count = lookups.sum();
+        return count == 0 ? 0 : totalPagesFetched.sum() / (double) count;
+    }
+
+    public static int getMaxPagesPerLookup() {
+        return maxPagesFetched.get();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Pages();
+    }
+
+    // Counts its own pages, so iterating the same search again starts from none.
+    private class Pages implements Iterator<T> {
+
+        private Iterator<T> page = Collections.emptyIterator();
+        private T[] previousItems;
+        private int nextIndex = 0;
+        private int fetched = 0;
+        private boolean lastPage = false;
+        private boolean finished = false;
+
+        @Override
+        public boolean hasNext() {
+            while (!page.hasNext() && !lastPage) {
+                if (fetched >= MAX_PAGES) {
+                    throw new IllegalStateException(String.format(
+                            "Search did not end after %d pages of %d.", MAX_PAGES, pageSize));
+                }
+                T[] items = pageFetcher.apply(nextIndex++, pageSize);
+                fetched++;
+                if (items != null && repeatsPreviousPage(items)) {
+                    lastPage = true;
+                    break;
+                }
+                // A server that ignores paging answers with everything at once.
+                lastPage = items == null || items.length < pageSize || items.length > pageSize;
+                page = items == null ? Collections.emptyIterator() : Arrays.asList(items).iterator();
+                previousItems = items;
+            }
+            if (page.hasNext()) {
+                return true;
+            }
+            finish();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        private boolean repeatsPreviousPage(T[] items) {
+            return previousItems != null && items.length == previousItems.length && items.length > 0
+                    && Objects.equals(itemId.apply(items[0]), itemId.apply(previousItems[0]))
+                    && Objects.equals(itemId.apply(items[items.length - 1]),
+                    itemId.apply(previousItems[previousItems.length - 1]));
+        }
+
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            pagesFetched = fetched;
+            lookups.increment();
+            totalPagesFetched.add(fetched);
+            maxPagesFetched.accumulateAndGet(fetched, Math::max);
+        }
+    }
+
+}
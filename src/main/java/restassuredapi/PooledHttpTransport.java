@@ -0,0 +1,216 @@
+package restassuredapi;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.client.params.CookiePolicy;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Keep-alive HTTP clients over one bounded connection pool, shared by every RestAssured call of the suite.
+ * Each thread gets a client of its own, as RestAssured writes per-request settings such as redirect following
+ * into the client's parameters. Idle connections are evicted in the background and pool saturation is tracked
+ * for the end-of-suite log.
+ */
+@SuppressWarnings("deprecation")
+public class PooledHttpTransport extends BaseWeAreApi {
+
+    private static final int MAX_CONNECTIONS_TOTAL = intProperty("config.http.maxConnectionsTotal");
+    private static final int MAX_CONNECTIONS_PER_ROUTE = intProperty("config.http.maxConnectionsPerRoute");
+    private static final long KEEP_ALIVE_MILLIS = TimeUnit.SECONDS.toMillis(intProperty("config.http.keepAliveSeconds"));
+    private static final long IDLE_EVICTION_SECONDS = intProperty("config.http.idleEvictionSeconds");
+
+    private static final AtomicLong leases = new AtomicLong();
+    private static final AtomicLong saturatedLeases = new AtomicLong();
+    private static final AtomicLong leaseWaitNanos = new AtomicLong();
+    private static final AtomicInteger peakLeased = new AtomicInteger();
+    private static final AtomicInteger peakPending = new AtomicInteger();
+
+    // Marks requests whose caller reads and closes the body stream itself.
+    public static final Filter STREAMING_RESPONSE = (requestSpec, responseSpec, ctx) -> ctx.next(requestSpec, responseSpec);
+
+    // RestAssured reads bodies lazily, so an unread response would keep its pooled connection leased.
+    private static final Filter releaseConnectionFilter = (requestSpec, responseSpec, ctx) -> {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (!requestSpec.getDefinedFilters().contains(STREAMING_RESPONSE)) {
+            response.asByteArray();
+        }
+        return response;
+    };
+
+    private static volatile InstrumentedConnectionManager connectionManager;
+    private static ScheduledExecutorService evictor;
+    private static final ThreadLocal<DefaultHttpClient> httpClients = new ThreadLocal<>();
+
+    public static synchronized void install() {
+        if (connectionManager != null) {
+            return;
+        }
+
+        connectionManager = new InstrumentedConnectionManager();
+        connectionManager.setMaxTotal(MAX_CONNECTIONS_TOTAL);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        InstrumentedConnectionManager manager = connectionManager;
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(IDLE_EVICTION_SECONDS, TimeUnit.SECONDS);
+        }, IDLE_EVICTION_SECONDS, IDLE_EVICTION_SECONDS, TimeUnit.SECONDS);
+
+        // Not reused by RestAssured, so it asks the factory for the client on every request.
+        RestAssured.config = RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                .httpClientFactory(PooledHttpTransport::threadHttpClient));
+        RestAssured.filters(releaseConnectionFilter);
+
+        LOGGER.info(String.format("HTTP connection pool installed: %d connections in total, %d per route.",
+                MAX_CONNECTIONS_TOTAL, MAX_CONNECTIONS_PER_ROUTE));
+    }
+
+    // The calling thread's client, made anew when the pool it was built on has been shut down since.
+    private static DefaultHttpClient threadHttpClient() {
+        InstrumentedConnectionManager manager = installedConnectionManager();
+        DefaultHttpClient httpClient = httpClients.get();
+        if (httpClient == null || httpClient.getConnectionManager() != manager) {
+            httpClient = newHttpClient(manager);
+            httpClients.set(httpClient);
+        }
+        return httpClient;
+    }
+
+    private static DefaultHttpClient newHttpClient(InstrumentedConnectionManager manager) {
+        DefaultHttpClient httpClient = new DefaultHttpClient(manager);
+        httpClient.getParams().setParameter(ClientPNames.COOKIE_POLICY, CookiePolicy.IGNORE_COOKIES);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, KEEP_ALIVE_MILLIS) : KEEP_ALIVE_MILLIS;
+        });
+        // RestAssured never reads an empty body, such as the one of a login redirect, so its stream would keep
+        // the connection leased. A buffered entity lets the client release the connection right away.
+        httpClient.addResponseInterceptor((response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming() && entity.getContentLength() == 0) {
+                ByteArrayEntity empty = new ByteArrayEntity(new byte[0]);
+                empty.setContentType(entity.getContentType());
+                EntityUtils.consume(entity);
+                response.setEntity(empty);
+            }
+        });
+        return httpClient;
+    }
+
+    public static synchronized void shutdown() {
+        if (connectionManager == null) {
+            return;
+        }
+
+        logPoolStatistics();
+        evictor.shutdownNow();
+        connectionManager.shutdown();
+        connectionManager = null;
+        httpClients.remove();
+        List<Filter> filters = RestAssured.filters().stream()
+                .filter(filter -> filter != releaseConnectionFilter)
+                .collect(Collectors.toList());
+        RestAssured.replaceFiltersWith(filters);
+        RestAssured.config = RestAssured.config().httpClient(HttpClientConfig.httpClientConfig());
+    }
+
+    public static PoolStats getPoolStats() {
+        return installedConnectionManager().getTotalStats();
+    }
+
+    // Requests to one server beyond this many wait for a connection.
+    public static int getMaxConnectionsPerRoute() {
+        return Math.min(MAX_CONNECTIONS_TOTAL, MAX_CONNECTIONS_PER_ROUTE);
+    }
+
+    public static void logPoolStatistics() {
+        long leaseCount = leases.get();
+        LOGGER.info(String.format("HTTP connection pool: %d leases, %d waited for a free connection (%.1f ms in total), " +
+                        "peak %d leased, peak %d pending, pool %s.",
+                leaseCount, saturatedLeases.get(), leaseWaitNanos.get() / 1_000_000.0,
+                peakLeased.get(), peakPending.get(), connectionManager.getTotalStats()));
+    }
+
+    // A request config copied before shutdown() still asks for a client, which must not quietly bypass the pool.
+    private static InstrumentedConnectionManager installedConnectionManager() {
+        InstrumentedConnectionManager manager = connectionManager;
+        if (manager == null) {
+            throw new IllegalStateException("The HTTP transport is used after it was shut down; install it again.");
+        }
+        return manager;
+    }
+
+    private static int intProperty(String key) {
+        return Integer.parseInt(getConfigPropertyByKey(key));
+    }
+
+    private static class InstrumentedConnectionManager extends PoolingClientConnectionManager {
+
+        private InstrumentedConnectionManager() {
+            super(SchemeRegistryFactory.createDefault());
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = super.requestConnection(route, state);
+
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    PoolStats before = getStats(route);
+                    boolean saturated = before.getAvailable() == 0 && before.getLeased() >= before.getMax();
+                    long start = System.nanoTime();
+
+                    ManagedClientConnection connection = request.getConnection(timeout, unit);
+
+                    leases.incrementAndGet();
+                    if (saturated || before.getPending() > 0) {
+                        saturatedLeases.incrementAndGet();
+                        leaseWaitNanos.addAndGet(System.nanoTime() - start);
+                    }
+                    PoolStats after = getTotalStats();
+                    peakLeased.accumulateAndGet(after.getLeased(), Math::max);
+                    peakPending.accumulateAndGet(before.getPending(), Math::max);
+
+                    return connection;
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+    }
+
+}
@@ -1,45 +1,39 @@
 package restassuredapi;
 
-import com.google.gson.Gson;
 import com.telerikacademy.testframework.utils.Helpers;
-import io.restassured.authentication.FormAuthConfig;
 import io.restassured.response.Response;
 import restassuredapi.models.models.CommentModel;
 import restassuredapi.models.models.PostModel;
 import restassuredapi.models.models.UserModel;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.telerikacademy.testframework.utils.Constants.API;
 import static com.telerikacademy.testframework.utils.Endpoints.*;
 import static io.restassured.RestAssured.given;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
-import static restassuredapi.UserApi.searchUsersBody;
+import static restassuredapi.PooledHttpTransport.STREAMING_RESPONSE;
 
 public class PostApi extends BaseWeAreApi {
 
-    private static final String postBody = "{\n" +
-            "  \"content\": \"" + "%s" + "\",\n" +
-            "  \"picture\": \"" + "%s" + "\",\n" +
-            "  \"public\": " + "%s" + "\n" +
-            "}";
-
     public static PostModel createPost(UserModel user, boolean publicVisibility) {
 
-        PostModel post = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .body(generatePostBody(publicVisibility))
                 .when()
-                .post(API + CREATE_POST)
+                .post(API + CREATE_POST))
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
                 .extract()
-                .response()
-                .as(PostModel.class);
+                .response();
+
+        PostModel post = JsonCodec.fromJson(response, PostModel.class);
 
         if (publicVisibility) {
             LOGGER.info(String.format("Public post with id %d created by user %s.", post.getPostId(), user.getUsername()));
@@ -54,14 +48,11 @@ public class PostApi extends BaseWeAreApi {
 
         boolean visibility = post.isPublic();
 
-        Response editedPostResponse = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response editedPostResponse = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .queryParam("postId", post.getPostId())
-                .body(String.format(generatePostBody(visibility)))
-                .put(API + EDIT_POST)
+                .body(generatePostBody(visibility))
+                .put(API + EDIT_POST))
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
@@ -79,17 +70,14 @@ public class PostApi extends BaseWeAreApi {
 
         int likesBefore = postToBeLiked.getLikes().size();
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .queryParam("postId", postToBeLiked.getPostId())
-                .post(API + LIKE_POST);
+                .post(API + LIKE_POST));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        int likesAfter = response.as(PostModel.class).getLikes().size();
+        int likesAfter = JsonCodec.fromJson(response, PostModel.class).getLikes().size();
 
         assertEquals(likesAfter, likesBefore + 1, "Post was not liked.");
 
@@ -99,40 +87,69 @@ public class PostApi extends BaseWeAreApi {
 
     public static PostModel[] showProfilePosts(UserModel user) {
 
-        int index = 0;
+        List<PostModel> userPosts = new ArrayList<>();
+        profilePostsSearch(user).forEach(userPosts::add);
+
+        return userPosts.toArray(new PostModel[0]);
+
+    }
+
+    public static PostModel findProfilePost(UserModel user, int postId) {
+
+        PagedSearch<PostModel> search = profilePostsSearch(user);
+        PostModel foundPost = search.findFirst(post -> post.getPostId() == postId);
+
+        LOGGER.info(String.format("Search for post with id %d %s after %d page(s) of %d.", postId,
+                foundPost == null ? "failed" : "succeeded", search.getPagesFetched(), search.getPageSize()));
+
+        return foundPost;
+
+    }
+
+    public static PostModel findProfilePostByContent(UserModel user, String content) {
+
+        PagedSearch<PostModel> search = profilePostsSearch(user);
+        PostModel foundPost = search.findFirst(post -> content.equals(post.getContent()));
+
+        LOGGER.info(String.format("Search for post of user %s by content %s after %d page(s) of %d.",
+                user.getUsername(), foundPost == null ? "failed" : "succeeded", search.getPagesFetched(),
+                search.getPageSize()));
+
+        return foundPost;
+
+    }
+
+    public static PostModel[] showProfilePostsPage(UserModel user, int index, int size) {
+
         boolean next = true;
         String searchParam1 = "";
         String searchParam2 = user.getPersonalProfile().getFirstName();
-        int size = 1000000;
 
-        String body = String.format(searchUsersBody, index, next, searchParam1, searchParam2, size);
+        String body = RequestBodies.searchUsers(index, next, searchParam1, searchParam2, size);
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .body(body)
-                .get(String.format(API + USER_POSTS_WITH_ID, user.getId()))
+                .get(String.format(API + USER_POSTS_WITH_ID, user.getId())))
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
                 .extract().response();
 
-        PostModel[] userPosts = new Gson().fromJson(response.getBody().asString(), PostModel[].class);
+        return JsonCodec.fromJson(response, PostModel[].class);
 
-        return userPosts;
+    }
 
+    private static PagedSearch<PostModel> profilePostsSearch(UserModel user) {
+        return new PagedSearch<>(UserApi.SEARCH_PAGE_SIZE, PostModel::getPostId,
+                (index, size) -> showProfilePostsPage(user, index, size));
     }
 
     public static void deletePost(UserModel user, int postId) {
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .queryParam("postId", postId)
-                .delete(API + DELETE_POST)
+                .delete(API + DELETE_POST))
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
@@ -152,7 +169,7 @@ public class PostApi extends BaseWeAreApi {
                 .statusCode(SC_OK)
                 .extract().response();
 
-        PostModel[] foundPosts = response.as(PostModel[].class);
+        PostModel[] foundPosts = JsonCodec.fromJson(response, PostModel[].class);
 
         return foundPosts;
 
@@ -160,55 +177,53 @@ public class PostApi extends BaseWeAreApi {
 
     public static boolean publicPostExists(int postId) {
 
-        PostModel[] posts = findAllPosts();
+        return JsonStreams.containsId(streamAllPosts(), "postId", postId);
 
-        for (PostModel post : posts) {
-            if (post.getPostId() == postId) {
-                return true;
-            }
-        }
+    }
+
+    public static PostModel findPublicPost(int postId) {
 
-        return false;
+        return JsonStreams.findById(streamAllPosts(), "postId", postId, PostModel.class);
 
     }
 
-    public static boolean privatePostExists(UserModel user, int postId) {
+    private static InputStream streamAllPosts() {
 
-        PostModel[] posts = showProfilePosts(user);
+        return given()
+                .filter(STREAMING_RESPONSE)
+                .queryParam("name", "adminvHQOD")
+                .get(API + POST)
+                .then()
+                .assertThat()
+                .statusCode(SC_OK)
+                .extract().response()
+                .asInputStream();
 
-        for (PostModel post : posts) {
-            if (post.getPostId() == postId) {
-                return true;
-            }
-        }
+    }
+
+    public static boolean privatePostExists(UserModel user, int postId) {
 
-        return false;
+        return findProfilePost(user, postId) != null;
 
     }
 
     public static void assertEditedPublicPost(int postId, String postToBeEditedContent) {
 
-        PostModel[] foundPosts = findAllPosts();
+        PostModel post = findPublicPost(postId);
 
-        for (PostModel post : foundPosts) {
-            if (post.getPostId() == postId) {
-                assertNotEquals(post.getContent(), postToBeEditedContent,
-                        "Post contents are equal. Post was not edited");
-                break;
-            }
+        if (post != null) {
+            assertNotEquals(post.getContent(), postToBeEditedContent,
+                    "Post contents are equal. Post was not edited");
         }
     }
 
     public static void assertEditedPrivatePost(UserModel user, int postId, String postToBeEditedContent) {
 
-        PostModel[] foundPosts = showProfilePosts(user);
+        PostModel post = findProfilePost(user, postId);
 
-        for (PostModel post : foundPosts) {
-            if (post.getPostId() == postId) {
-                assertNotEquals(post.getContent(), postToBeEditedContent,
-                        "Post contents are equal. Post was not edited");
-                break;
-            }
+        if (post != null) {
+            assertNotEquals(post.getContent(), postToBeEditedContent,
+                    "Post contents are equal. Post was not edited");
         }
     }
 
@@ -221,24 +236,21 @@ public class PostApi extends BaseWeAreApi {
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        CommentModel[] postComments = new Gson().fromJson(response.getBody().asString(), CommentModel[].class);
+        CommentModel[] postComments = JsonCodec.fromJson(response, CommentModel[].class);
 
         return postComments;
     }
 
     public static CommentModel[] findAllCommentsOfAPost(UserModel user, PostModel post) {
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .queryParam("postId", post.getPostId())
-                .get(API + COMMENT_BY_POST);
+                .get(API + COMMENT_BY_POST));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        CommentModel[] postComments = new Gson().fromJson(response.getBody().asString(), CommentModel[].class);
+        CommentModel[] postComments = JsonCodec.fromJson(response, CommentModel[].class);
 
         return postComments;
     }
@@ -246,6 +258,6 @@ public class PostApi extends BaseWeAreApi {
     static String generatePostBody(boolean visibility) {
         String postContent = Helpers.generatePostContent();
         String postPicture = Helpers.generatePicture();
-        return String.format(postBody, postContent, postPicture, visibility);
+        return RequestBodies.post(postContent, postPicture, visibility);
     }
 }
@@ -1,7 +1,5 @@
 package restassuredapi;
 
-import com.google.gson.Gson;
-import io.restassured.authentication.FormAuthConfig;
 import io.restassured.response.Response;
 import restassuredapi.models.models.RequestModel;
 import restassuredapi.models.models.UserModel;
@@ -14,20 +12,12 @@ import static org.testng.Assert.assertEquals;
 
 public class RequestApi extends BaseWeAreApi {
 
-    public static final String sendRequestBody = "{\n" +
-            "  \"id\": %s,\n" +
-            "  \"username\": \"%s\"\n" +
-            "}";
-
     public static RequestModel sendRequest(UserModel sender, UserModel receiver) {
 
-        Response response = given()
-                .auth()
-                .form(sender.getUsername(), sender.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(sender, spec -> spec
                 .contentType("application/json")
-                .body(String.format(sendRequestBody, receiver.getId(), receiver.getUsername()))
-                .post(API + REQUEST);
+                .body(RequestBodies.sendRequest(receiver.getId(), receiver.getUsername()))
+                .post(API + REQUEST));
 
         LOGGER.info(response.getBody().asPrettyString());
 
@@ -48,31 +38,25 @@ public class RequestApi extends BaseWeAreApi {
     }
 
     public static RequestModel[] getUserRequests(UserModel user) {
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
-                .get(String.format(API + USER_REQUEST_WITH_ID, user.getId()));
+        Response response = authenticated(user, spec -> spec
+                .get(String.format(API + USER_REQUEST_WITH_ID, user.getId())));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        RequestModel[] requests = new Gson().fromJson(response.getBody().asString(), RequestModel[].class);
+        RequestModel[] requests = JsonCodec.fromJson(response, RequestModel[].class);
 
         return requests;
     }
 
     public static String[] getUserReceivedRequests(UserModel receiver) {
-        Response response = given()
-                .auth()
-                .form(receiver.getUsername(), receiver.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
-                .get(String.format(API + USER_REQUEST_WITH_ID, receiver.getId()));
+        Response response = authenticated(receiver, spec -> spec
+                .get(String.format(API + USER_REQUEST_WITH_ID, receiver.getId())));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        RequestModel[] requests = new Gson().fromJson(response.getBody().asString(), RequestModel[].class);
+        RequestModel[] requests = JsonCodec.fromJson(response, RequestModel[].class);
 
         if (requests.length > 0) {
             String[] fields = new String[2];
@@ -88,12 +72,9 @@ public class RequestApi extends BaseWeAreApi {
 
     public static Response approveRequest(UserModel receiver, RequestModel request) {
 
-        Response response = given()
-                .auth()
-                .form(receiver.getUsername(), receiver.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(receiver, spec -> spec
                 .queryParam("requestId", request.getId())
-                .post(String.format(API + APPROVE_REQUEST_WITH_ID, receiver.getId()));
+                .post(String.format(API + APPROVE_REQUEST_WITH_ID, receiver.getId())));
 
         LOGGER.info(response.getBody().asPrettyString());
 
@@ -105,13 +86,10 @@ public class RequestApi extends BaseWeAreApi {
 
     public static void disconnect(UserModel sender, UserModel receiver) {
 
-        Response response = given()
-                .auth()
-                .form(sender.getUsername(), sender.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(sender, spec -> spec
                 .contentType("application/json")
-                .body(String.format(sendRequestBody, receiver.getId(), receiver.getUsername()))
-                .post(API + REQUEST);
+                .body(RequestBodies.sendRequest(receiver.getId(), receiver.getUsername()))
+                .post(API + REQUEST));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
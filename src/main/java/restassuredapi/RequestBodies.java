@@ -0,0 +1,120 @@
+package restassuredapi;
+
+import static restassuredapi.JsonBodyWriter.beginBody;
+
+/**
+ * JSON bodies of the WEare REST requests, written field by field with {@link JsonBodyWriter}.
+ */
+public class RequestBodies {
+
+    public static String user(String[] authorities, int categoryId, String categoryName, String email,
+                              String password, String username) {
+        return beginBody()
+                .stringArray("authorities", authorities)
+                .beginObject("category")
+                .field("id", categoryId)
+                .field("name", categoryName)
+                .endObject()
+                .field("confirmPassword", password)
+                .field("email", email)
+                .field("password", password)
+                .field("username", username)
+                .endBody();
+    }
+
+    public static String searchUsers(int index, boolean next, String searchParam1, String searchParam2, int size) {
+        return beginBody()
+                .field("index", index)
+                .field("next", next)
+                .field("searchParam1", searchParam1)
+                .field("searchParam2", searchParam2)
+                .field("size", size)
+                .endBody();
+    }
+
+    public static String personalProfileFirstName(String firstName) {
+        return beginBody()
+                .field("firstName", firstName)
+                .beginObject("location")
+                .endObject()
+                .endBody();
+    }
+
+    public static String personalProfile(String birthYear, String firstName, int id, String lastName, String city,
+                                         String personalReview, String picture, boolean picturePrivacy, String sex) {
+        return beginBody()
+                .field("birthYear", birthYear)
+                .field("firstName", firstName)
+                .field("id", id)
+                .field("lastName", lastName)
+                .beginObject("location")
+                .beginObject("city")
+                .field("city", city)
+                .beginObject("country")
+                .endObject()
+                .field("id", 1)
+                .endObject()
+                .field("id", 0)
+                .endObject()
+                .field("memberSince", "")
+                .field("personalReview", personalReview)
+                .field("picture", picture)
+                .field("picturePrivacy", picturePrivacy)
+                .field("sex", sex)
+                .endBody();
+    }
+
+    public static String expertiseProfile(double availability, int categoryId, String categoryName, String skill1,
+                                          String skill2, String skill3, String skill4, String skill5) {
+        return beginBody()
+                .field("availability", availability)
+                .beginObject("category")
+                .field("id", categoryId)
+                .field("name", categoryName)
+                .endObject()
+                .field("id", 0)
+                .field("skill1", skill1)
+                .field("skill2", skill2)
+                .field("skill3", skill3)
+                .field("skill4", skill4)
+                .field("skill5", skill5)
+                .endBody();
+    }
+
+    public static String post(String content, String picture, boolean isPublic) {
+        return beginBody()
+                .field("content", content)
+                .field("picture", picture)
+                .field("public", isPublic)
+                .endBody();
+    }
+
+    public static String comment(String content, boolean deletedConfirmed, int postId, int userId) {
+        return beginBody()
+                .field("commentId", 0)
+                .field("content", content)
+                .field("deletedConfirmed", deletedConfirmed)
+                .field("postId", postId)
+                .field("userId", userId)
+                .endBody();
+    }
+
+    public static String sendRequest(int receiverId, String receiverUsername) {
+        return beginBody()
+                .field("id", receiverId)
+                .field("username", receiverUsername)
+                .endBody();
+    }
+
+    public static String skill(int categoryId, String categoryName, String skill) {
+        return beginBody()
+                .beginObject("category")
+                .field("id", categoryId)
+                .field("name", categoryName)
+                .endObject()
+                .field("skill", skill)
+                .field("skillId", 0)
+                .endBody();
+    }
+
+}
@@ -0,0 +1,167 @@
+package restassuredapi;
+
+import io.restassured.response.Response;
+import restassuredapi.models.models.UserModel;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.telerikacademy.testframework.utils.Endpoints.AUTHENTICATE;
+import static com.telerikacademy.testframework.utils.Endpoints.LOGIN;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+import static io.restassured.RestAssured.given;
+import static org.apache.http.HttpStatus.SC_MOVED_TEMPORARILY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+
+/**
+ * Keeps one authenticated session per user so that API calls reuse the JSESSIONID cookie
+ * instead of posting the login form before every request.
+ */
+public class SessionStore extends BaseWeAreApi {
+
+    public static final String SESSION_COOKIE = "JSESSIONID";
+
+    private static final long SESSION_TTL_MILLIS = TimeUnit.SECONDS.toMillis(
+            Long.parseLong(getConfigPropertyByKey("config.sessionTtlSeconds")));
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<String>> pendingLogins = new ConcurrentHashMap<>();
+
+    // Threads asking for the same user while it logs in wait for that login instead of starting their own.
+    public static String getSessionId(UserModel user) {
+        return await(getSessionId(user, loginUser -> CompletableFuture.completedFuture(login(loginUser))));
+    }
+
+    // The cached session of the user, or one from the given login. The login runs outside any lock of the store
+    // and once at a time per user: whoever asks meanwhile, blocking or not, gets the pending login's future.
+    public static CompletableFuture<String> getSessionId(UserModel user,
+                                                         Function<UserModel, CompletableFuture<String>> login) {
+        String sessionId = getCachedSessionId(user);
+        if (sessionId != null) {
+            return CompletableFuture.completedFuture(sessionId);
+        }
+
+        CompletableFuture<String> claimed = new CompletableFuture<>();
+        CompletableFuture<String> pending = pendingLogins.putIfAbsent(user.getUsername(), claimed);
+        if (pending != null) {
+            return pending;
+        }
+
+        // A login that finished between the check above and claiming this one left its session behind.
+        sessionId = getCachedSessionId(user);
+        CompletableFuture<String> loggedIn;
+        if (sessionId != null) {
+            loggedIn = CompletableFuture.completedFuture(sessionId);
+        } else {
+            long loginStart = System.currentTimeMillis();
+            try {
+                loggedIn = login.apply(user).thenApply(id -> {
+                    sessions.put(user.getUsername(), new Session(id, loginStart + SESSION_TTL_MILLIS));
+                    return id;
+                });
+            } catch (RuntimeException | Error exception) {
+                loggedIn = new CompletableFuture<>();
+                loggedIn.completeExceptionally(exception);
+            }
+        }
+        loggedIn.whenComplete((id, error) -> {
+            pendingLogins.remove(user.getUsername(), claimed);
+            if (error == null) {
+                claimed.complete(id);
+            } else {
+                claimed.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            }
+        });
+        return claimed;
+    }
+
+    public static String getCachedSessionId(UserModel user) {
+        Session session = sessions.get(user.getUsername());
+        return session != null && session.expiresAt > System.currentTimeMillis() ? session.id : null;
+    }
+
+    // A session of its own, not cached, for a client such as a browser that may log it out.
+    public static String newSessionId(UserModel user) {
+        return login(user);
+    }
+
+    public static void invalidate(UserModel user) {
+        sessions.remove(user.getUsername());
+    }
+
+    // Drops the session only if it is still the one that failed, so a fresh one another thread stored stays.
+    public static void invalidate(UserModel user, String staleSessionId) {
+        Session session = sessions.get(user.getUsername());
+        if (session != null && session.id.equals(staleSessionId)) {
+            sessions.remove(user.getUsername(), session);
+        }
+    }
+
+    public static void clear() {
+        sessions.clear();
+    }
+
+    static boolean isLoginRequired(Response response) {
+        return isLoginRequired(response.getStatusCode(), response.getHeader("Location"));
+    }
+
+    static boolean isLoginRequired(int statusCode, String location) {
+        if (statusCode == 401) {
+            return true;
+        }
+        return statusCode >= 300 && statusCode < 400 && location != null && location.contains(LOGIN);
+    }
+
+    private static String login(UserModel user) {
+
+        Response response = given()
+                .redirects().follow(false)
+                .formParam("username", user.getUsername())
+                .formParam("password", user.getPassword())
+                .post(AUTHENTICATE);
+
+        assertEquals(response.getStatusCode(), SC_MOVED_TEMPORARILY, "Incorrect status code. Expected 302.");
+        String location = response.getHeader("Location");
+        assertFalse(location != null && location.contains("error"),
+                String.format("User %s could not be authenticated.", user.getUsername()));
+        String sessionId = response.getCookie(SESSION_COOKIE);
+        assertNotNull(sessionId, String.format("No session cookie returned for user %s.", user.getUsername()));
+
+        LOGGER.info(String.format("User %s authenticated.", user.getUsername()));
+
+        return sessionId;
+    }
+
+    // Rethrows what failed the login, assertion errors included.
+    private static String await(CompletableFuture<String> login) {
+        try {
+            return login.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+
+    private static class Session {
+
+        private final String id;
+        private final long expiresAt;
+
+        private Session(String id, long expiresAt) {
+            this.id = id;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+}
@@ -1,29 +1,21 @@
 package restassuredapi;
 
-import com.google.gson.Gson;
 import com.telerikacademy.testframework.utils.Helpers;
-import io.restassured.authentication.FormAuthConfig;
 import io.restassured.response.Response;
 import restassuredapi.models.models.SkillModel;
 import restassuredapi.models.models.UserModel;
 
+import java.io.InputStream;
+
 import static com.telerikacademy.testframework.utils.Constants.API;
 import static com.telerikacademy.testframework.utils.Endpoints.*;
 import static io.restassured.RestAssured.given;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.testng.Assert.assertEquals;
+import static restassuredapi.PooledHttpTransport.STREAMING_RESPONSE;
 
 public class SkillApi extends BaseWeAreApi{
 
-    public static final String skillBody = "{\n" +
-            "  \"category\": {\n" +
-            "    \"id\": %d,\n" +
-            "    \"name\": \"%s\"\n" +
-            "  },\n" +
-            "  \"skill\": \"%s\",\n" +
-            "  \"skillId\": 0\n" +
-            "}";
-
     public static SkillModel[] getAllSkills() {
 
         Response response = given()
@@ -32,7 +24,7 @@ public class SkillApi extends BaseWeAreApi{
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        SkillModel[] skills = new Gson().fromJson(response.getBody().asString(), SkillModel[].class);
+        SkillModel[] skills = JsonCodec.fromJson(response, SkillModel[].class);
 
         return skills;
 
@@ -44,20 +36,17 @@ public class SkillApi extends BaseWeAreApi{
         String categoryName = "All";
         String skillService = Helpers.generateSkill();
 
-        String body = String.format(skillBody, categoryId, categoryName, skillService);
+        String body = RequestBodies.skill(categoryId, categoryName, skillService);
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .body(body)
-                .post(API + CREATE_SKILL);
+                .post(API + CREATE_SKILL));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        SkillModel skill = response.as(SkillModel.class);
+        SkillModel skill = JsonCodec.fromJson(response, SkillModel.class);
 
         LOGGER.info(String.format("Skill %s created in category %s.", skillService, categoryName));
 
@@ -66,15 +55,26 @@ public class SkillApi extends BaseWeAreApi{
 
     public static boolean skillExists(int skillId) {
 
-        SkillModel[] skills = getAllSkills();
+        return JsonStreams.containsId(streamAllSkills(), "skillId", skillId);
+
+    }
+
+    public static SkillModel findSkill(int skillId) {
 
-        for (SkillModel skill : skills) {
-            if (skill.getSkillId() == skillId) {
-                return true;
-            }
-        }
+        return JsonStreams.findById(streamAllSkills(), "skillId", skillId, SkillModel.class);
+
+    }
+
+    private static InputStream streamAllSkills() {
+
+        Response response = given()
+                .filter(STREAMING_RESPONSE)
+                .get(API + FIND_SKILL);
+
+        int statusCode = response.getStatusCode();
+        assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        return false;
+        return response.asInputStream();
 
     }
 
@@ -99,7 +99,7 @@ public class SkillApi extends BaseWeAreApi{
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        return response.as(SkillModel.class);
+        return JsonCodec.fromJson(response, SkillModel.class);
 
     }
 
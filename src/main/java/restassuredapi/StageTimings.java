@@ -0,0 +1,80 @@
+package restassuredapi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe count, total and maximum duration of named pipeline stages.
+ */
+public class StageTimings {
+
+    private final Map<String, Stage> stages = new ConcurrentSkipListMap<>();
+
+    public <T> T time(String stage, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String stage, Runnable action) {
+        time(stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void record(String stage, long nanos) {
+        stages.computeIfAbsent(stage, name -> new Stage()).add(nanos);
+    }
+
+    public long getCount(String stage) {
+        Stage timing = stages.get(stage);
+        return timing == null ? 0 : timing.count.sum();
+    }
+
+    public double getMeanMillis(String stage) {
+        Stage timing = stages.get(stage);
+        return timing == null || timing.count.sum() == 0 ? 0
+                : toMillis(timing.totalNanos.sum()) / timing.count.sum();
+    }
+
+    public double getMaxMillis(String stage) {
+        Stage timing = stages.get(stage);
+        return timing == null ? 0 : toMillis(timing.maxNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        for (String stage : stages.keySet()) {
+            summary.append(String.format("%n  %-24s count %6d, mean %9.1f ms, max %9.1f ms",
+                    stage, getCount(stage), getMeanMillis(stage), getMaxMillis(stage)));
+        }
+        return summary.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static class Stage {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+}
@@ -1,79 +1,28 @@
 package restassuredapi;
 
-import com.google.gson.Gson;
 import com.telerikacademy.testframework.utils.Helpers;
-import io.restassured.authentication.FormAuthConfig;
 import io.restassured.response.Response;
 import restassuredapi.models.models.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.telerikacademy.testframework.utils.Constants.API;
 import static com.telerikacademy.testframework.utils.Endpoints.*;
 import static com.telerikacademy.testframework.utils.UserRoles.*;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
 import static io.restassured.RestAssured.given;
 import static org.apache.http.HttpStatus.*;
 import static org.testng.Assert.*;
 
 public class UserApi extends BaseWeAreApi {
-    private static final String userBody = "{\n" +
-            "  \"authorities\": [\n" +
-            "    %s\n" +
-            "  ],\n" +
-            "  \"category\": {\n" +
-            "    \"id\": %s,\n" +
-            "    \"name\": \"%s\"\n" +
-            "  },\n" +
-            "  \"confirmPassword\": \"" + "%s" + "\",\n" +
-            "  \"email\": \"" + "%s" + "\",\n" +
-            "  \"password\": \"" + "%s" + "\",\n" +
-            "  \"username\": \"" + "%s" + "\"\n" +
-            "}";
-    static final String searchUsersBody = "{\n" +
-            "  \"index\": %s,\n" +
-            "  \"next\": %s,\n" +
-            "  \"searchParam1\": \"%s\",\n" +
-            "  \"searchParam2\": \"%s\",\n" +
-            "  \"size\": %s\n" +
-            "}";
-    private static final String personalProfileBodyFirstName = "{\n" +
-            "\"firstName\": \"%s\",\n" +
-            "\"location\": {\n" +
-            "}\n" +
-            "}";
-    private static final String personalProfileBody = "{\n" +
-            "\"birthYear\": \"%s\",\n" +
-            "\"firstName\": \"%s\",\n" +
-            "\"id\": %d,\n" +
-            "\"lastName\": \"%s\",\n" +
-            "\"location\": {\n" +
-            "\"city\": {\n" +
-            "\"city\": \"%s\",\n" +
-            "\"country\": {},\n" +
-            "\"id\": 1\n" +
-            "},\n" +
-            "\"id\": 0\n" +
-            "},\n" +
-            "\"memberSince\": \"\",\n" +
-            "\"personalReview\": \"%s\",\n" +
-            "\"picture\": \"%s\",\n" +
-            "\"picturePrivacy\": %s,\n" +
-            "\"sex\": \"%s\"\n" +
-            "}";
-    private static final String expertiseProfileBody = "{\n" +
-            "  \"availability\": %.1f,\n" +
-            "  \"category\": {\n" +
-            "    \"id\": %d,\n" +
-            "    \"name\": \"%s\"\n" +
-            "  },\n" +
-            "  \"id\": 0,\n" +
-            "  \"skill1\": \"%s\",\n" +
-            "  \"skill2\": \"%s\",\n" +
-            "  \"skill3\": \"%s\",\n" +
-            "  \"skill4\": \"%s\",\n" +
-            "  \"skill5\": \"%s\"\n" +
-            "}";
+    static final int SEARCH_PAGE_SIZE = Integer.parseInt(getConfigPropertyByKey("config.search.pageSize"));
+    private static final int PROVISIONING_PARALLELISM =
+            Integer.parseInt(getConfigPropertyByKey("config.provisioning.parallelism"));
 
     public static void register(UserModel user, String authority) {
 
@@ -81,7 +30,7 @@ public class UserApi extends BaseWeAreApi {
         user.setPassword(Helpers.generatePassword());
         user.setUsername(Helpers.generateUsernameAsImplemented(authority));
 
-        registerAndExtractUser(user, authority);
+        registerAndExtractUser(user, authority, new StageTimings());
 
     }
 
@@ -91,33 +40,77 @@ public class UserApi extends BaseWeAreApi {
         user.setPassword(password);
         user.setUsername(username);
 
-        registerAndExtractUser(user, authority);
+        registerAndExtractUser(user, authority, new StageTimings());
 
     }
 
-    private static void registerAndExtractUser(UserModel user, String authority) {
+    public static List<UserModel> registerBatch(int count, String authority) {
+        return registerBatch(count, authority, new StageTimings());
+    }
+
+    public static List<UserModel> registerBatch(int count, String authority, StageTimings timings) {
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(count, PROVISIONING_PARALLELISM)));
+        long start = System.nanoTime();
+
+        try {
+            List<Future<UserModel>> registrations = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                registrations.add(executor.submit(() -> {
+                    UserModel user = new UserModel();
+                    user.setEmail(Helpers.generateEmail());
+                    user.setPassword(Helpers.generatePassword());
+                    user.setUsername(Helpers.generateUsernameAsImplemented(authority));
+                    registerAndExtractUser(user, authority, timings);
+                    return user;
+                }));
+            }
+
+            List<UserModel> users = new ArrayList<>();
+            for (Future<UserModel> registration : registrations) {
+                users.add(registration.get());
+            }
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            LOGGER.info(String.format("%d users with role %s registered in %.1f s (%.1f users/s):%s",
+                    count, authority, seconds, count / seconds, timings));
+
+            return users;
+        } catch (ExecutionException exception) {
+            throw new AssertionError("User registration failed.", exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("User registration was interrupted.", exception);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void registerAndExtractUser(UserModel user, String authority, StageTimings timings) {
         int categoryId = 100;
         String categoryName = "All";
         CategoryModel category = new CategoryModel();
         category.setName(categoryName);
         category.setId(categoryId);
-        String bodyAuthority = "";
+        String[] bodyAuthorities = new String[0];
 
         if (authority.equals(ROLE_ADMIN.toString())) {
-            bodyAuthority = String.format("\"%s\", \"%s\"", ROLE_USER, ROLE_ADMIN);
+            bodyAuthorities = new String[]{ROLE_USER.toString(), ROLE_ADMIN.toString()};
         } else if (authority.equals(ROLE_USER.toString())) {
-            bodyAuthority = String.format("\"%s\"", ROLE_USER);
+            bodyAuthorities = new String[]{ROLE_USER.toString()};
         }
 
-        Response response = given()
+        String body = RequestBodies.user(bodyAuthorities, category.getId(), category.getName(), user.getEmail(),
+                user.getPassword(), user.getUsername());
+
+        Response response = timings.time("register", () -> given()
                 .contentType("application/json")
-                .body(String.format(userBody, bodyAuthority, category.getId(), category.getName(), user.getPassword(),
-                        user.getEmail(), user.getPassword(), user.getUsername()))
+                .body(body)
                 .post(API + REGISTER_USER)
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
-                .extract().response();
+                .extract().response());
 
         LOGGER.info(response.getBody().asPrettyString());
 
@@ -126,16 +119,18 @@ public class UserApi extends BaseWeAreApi {
         assertEquals(response.getBody().asString(), String.format("User with name %s and id %d was created",
                 user.getUsername(), user.getId()), "User was not registered.");
 
-        extractUser(user);
+        extractUser(user, timings);
     }
 
-    private static void extractUser(UserModel user) {
+    private static void extractUser(UserModel user, StageTimings timings) {
 
-        UserByIdModel userByIdModel = getUserById(user.getUsername(), user.getId()).as(UserByIdModel.class);
+        UserByIdModel userByIdModel = timings.time("getUserById",
+                () -> JsonCodec.fromJson(getUserById(user.getUsername(), user.getId()), UserByIdModel.class));
         user.setEmail(userByIdModel.getEmail());
         String firstName = Helpers.generateFirstName();
-        UserApi.setPersonalProfileFirstName(user, firstName);
-        UserBySearchModel userBySearchModel = searchUser(user.getId(), user.getPersonalProfile().getFirstName());
+        timings.time("setPersonalProfileFirstName", () -> UserApi.setPersonalProfileFirstName(user, firstName));
+        UserBySearchModel userBySearchModel = timings.time("searchUser",
+                () -> searchUser(user.getId(), user.getPersonalProfile().getFirstName()));
         assert userBySearchModel != null;
         user.setExpertiseProfile(userBySearchModel.getExpertiseProfile());
         user.setAccountNonExpired(userBySearchModel.isAccountNonExpired());
@@ -158,19 +153,16 @@ public class UserApi extends BaseWeAreApi {
 
     public static void setPersonalProfileFirstName(UserModel user, String firstName) {
 
-        String body = String.format(personalProfileBodyFirstName, firstName);
+        String body = RequestBodies.personalProfileFirstName(firstName);
 
-        Response editProfileResponse = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response editProfileResponse = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .body(body)
-                .post(String.format(API + UPGRADE_USER_PERSONAL_WITH_ID, user.getId()));
+                .post(String.format(API + UPGRADE_USER_PERSONAL_WITH_ID, user.getId())));
 
         int statusCode = editProfileResponse.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
-        user.setPersonalProfile(editProfileResponse.as(PersonalProfileModel.class));
+        user.setPersonalProfile(JsonCodec.fromJson(editProfileResponse, PersonalProfileModel.class));
         assertEquals(user.getPersonalProfile().getFirstName(), firstName);
         LOGGER.info(String.format("First name of user %s with id %d was set to %s.", user.getUsername(),
                 user.getId(), user.getPersonalProfile().getFirstName()));
@@ -187,22 +179,19 @@ public class UserApi extends BaseWeAreApi {
         boolean picturePrivacy = personalProfileEditData.getPicturePrivacy();
         String sex = personalProfileEditData.getSex();
 
-        String body = String.format(personalProfileBody, birthYear, firstName, user.getId(), lastName, city, personalReview,
-                picture, picturePrivacy, sex);
+        String body = RequestBodies.personalProfile(birthYear, firstName, user.getId(), lastName, city,
+                personalReview, picture, picturePrivacy, sex);
 
-        Response editProfileResponse = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response editProfileResponse = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .queryParam("name", user.getUsername())
                 .body(body)
-                .post(String.format(API + UPGRADE_USER_PERSONAL_WITH_ID, user.getId()));
+                .post(String.format(API + UPGRADE_USER_PERSONAL_WITH_ID, user.getId())));
 
         int statusCode = editProfileResponse.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        user.setPersonalProfile(editProfileResponse.as(PersonalProfileModel.class));
+        user.setPersonalProfile(JsonCodec.fromJson(editProfileResponse, PersonalProfileModel.class));
         user.getPersonalProfile().setPicture(picture);
 
         assertUpdatePersonalProfile(user.getPersonalProfile(), personalProfileEditData);
@@ -232,22 +221,19 @@ public class UserApi extends BaseWeAreApi {
         String skill4 = expertiseProfileEditData.getSkills().get(3).getSkill();
         String skill5 = expertiseProfileEditData.getSkills().get(4).getSkill();
 
-        String body = String.format(expertiseProfileBody, availability, categoryId, categoryName, skill1, skill2, skill3,
-                skill4, skill5);
+        String body = RequestBodies.expertiseProfile(availability, categoryId, categoryName, skill1, skill2,
+                skill3, skill4, skill5);
 
-        Response response = given()
-                .auth()
-                .form(user.getUsername(), user.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(user, spec -> spec
                 .contentType("application/json")
                 .body(body)
-                .post(String.format(API + UPGRADE_USER_EXPERTISE_WITH_ID, user.getId()))
+                .post(String.format(API + UPGRADE_USER_EXPERTISE_WITH_ID, user.getId())))
                 .then()
                 .assertThat()
                 .statusCode(SC_OK)
                 .extract().response();
 
-        user.setExpertiseProfile(response.as(ExpertiseProfileModel.class));
+        user.setExpertiseProfile(JsonCodec.fromJson(response, ExpertiseProfileModel.class));
         assertEditExpertiseProfile(user.getExpertiseProfile(), expertiseProfileEditData);
 
         LOGGER.info(String.format("Expertise profile of user %s with id %d was updated", user.getUsername(), user.getId()));
@@ -269,30 +255,26 @@ public class UserApi extends BaseWeAreApi {
 
     public static void disableUser(UserModel adminUser, UserModel user) {
 
-        Response response = given()
-                .auth()
-                .form(adminUser.getUsername(), adminUser.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(adminUser, spec -> spec
                 .formParam("enable", false)
                 .queryParam("userId", user.getId())
-                .post(ADMIN_STATUS);
+                .post(ADMIN_STATUS));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_MOVED_TEMPORARILY, "Incorrect status code. Expected 200.");
 
+        SessionStore.invalidate(user);
+
         LOGGER.info(String.format("User with id %d disabled.", user.getId()));
 
     }
 
     public static void enableUser(UserModel adminUser, UserModel userToBeEnabled) {
 
-        Response response = given()
-                .auth()
-                .form(adminUser.getUsername(), adminUser.getPassword(),
-                        new FormAuthConfig(AUTHENTICATE, "username", "password"))
+        Response response = authenticated(adminUser, spec -> spec
                 .formParam("enable", true)
                 .queryParam("userId", userToBeEnabled.getId())
-                .post(ADMIN_STATUS);
+                .post(ADMIN_STATUS));
 
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_MOVED_TEMPORARILY, "Incorrect status code. Expected 200.");
@@ -322,14 +304,29 @@ public class UserApi extends BaseWeAreApi {
     }
 
     public static UserBySearchModel searchUser(int userId, String firstname) {
+        return searchUser(userId, firstname, SEARCH_PAGE_SIZE);
+    }
+
+    public static UserBySearchModel searchUser(int userId, String firstname, int pageSize) {
+
+        PagedSearch<UserBySearchModel> search = new PagedSearch<>(pageSize, UserBySearchModel::getUserId,
+                (index, size) -> searchUsersPage(firstname, index, size));
+
+        UserBySearchModel foundUser = search.findFirst(userBySearchModel -> userBySearchModel.getUserId() == userId);
+
+        LOGGER.info(String.format("Search for user with id %d %s after %d page(s) of %d.", userId,
+                foundUser == null ? "failed" : "succeeded", search.getPagesFetched(), pageSize));
+
+        return foundUser;
+    }
+
+    public static UserBySearchModel[] searchUsersPage(String firstname, int index, int size) {
 
-        int index = 0;
         boolean next = true;
         String searchParam1 = "";
         String searchParam2 = firstname;
-        int size = 1000000;
 
-        String body = String.format(searchUsersBody, index, next, searchParam1, searchParam2, size);
+        String body = RequestBodies.searchUsers(index, next, searchParam1, searchParam2, size);
 
         Response response = given()
                 .contentType("application/json")
@@ -339,13 +336,7 @@ public class UserApi extends BaseWeAreApi {
         int statusCode = response.getStatusCode();
         assertEquals(statusCode, SC_OK, "Incorrect status code. Expected 200.");
 
-        UserBySearchModel[] foundUsers = new Gson().fromJson(response.getBody().asString(), UserBySearchModel[].class);
-        for (UserBySearchModel userBySearchModel : foundUsers) {
-            if (userBySearchModel.getUserId() == userId) {
-                return userBySearchModel;
-            }
-        }
-        return null;
+        return JsonCodec.fromJson(response, UserBySearchModel[].class);
     }
 
 }
@@ -0,0 +1,215 @@
+package restassuredapi;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import io.restassured.RestAssured;
+import restassuredapi.models.models.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.telerikacademy.testframework.utils.UserRoles.ROLE_ADMIN;
+import static com.telerikacademy.testframework.utils.UserRoles.ROLE_USER;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * File-backed pool of registered users. Test classes lease users instead of registering new ones and return
+ * them afterwards. Leases are guarded by a file lock, so parallel threads and surefire forks never share a user,
+ * and leases older than the configured timeout are reclaimed from crashed runs.
+ * <p>
+ * Pooled users are not cleaned up between runs: the posts, comments, profile edits and connections a test
+ * leaves on them stay on the server and come with the user to its next lease. A user that leaves the pool is
+ * disabled first, but users the pool loses track of, such as those of a deleted pool file, stay enabled on
+ * the server.
+ */
+public class UserPool extends BaseWeAreApi {
+
+    private static final Path POOL_FILE = Paths.get(getConfigPropertyByKey("config.userPool.file"));
+    private static final Path LOCK_FILE = Paths.get(POOL_FILE + ".lock");
+    private static final long LEASE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(
+            Long.parseLong(getConfigPropertyByKey("config.userPool.leaseTimeoutMinutes")));
+    private static final int MIN_AVAILABLE = Integer.parseInt(getConfigPropertyByKey("config.userPool.minAvailable"));
+    private static final int TOP_UP_SIZE = Integer.parseInt(getConfigPropertyByKey("config.userPool.topUpSize"));
+    private static final String OWNER = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private static final Gson gson = JsonCodec.gson().newBuilder().setPrettyPrinting().create();
+
+    public static UserModel lease(String authority) {
+        while (true) {
+            UserModel user = withLockedPool(entries -> {
+                long now = System.currentTimeMillis();
+                for (PooledUser entry : entries) {
+                    if (entry.isAvailableFor(authority, now)) {
+                        entry.leasedBy = OWNER;
+                        entry.leasedAt = now;
+                        return entry.toUserModel();
+                    }
+                }
+                return null;
+            });
+
+            if (user != null) {
+                LOGGER.info(String.format("User %s with id %d leased from the pool.", user.getUsername(), user.getId()));
+                if (countAvailable(authority) < MIN_AVAILABLE) {
+                    topUp(authority, TOP_UP_SIZE);
+                }
+                return user;
+            }
+
+            topUp(authority, Math.max(TOP_UP_SIZE, MIN_AVAILABLE));
+        }
+    }
+
+    public static void release(UserModel... users) {
+        withLockedPool(entries -> {
+            for (UserModel user : users) {
+                for (PooledUser entry : entries) {
+                    if (entry.matches(user) && OWNER.equals(entry.leasedBy)) {
+                        entry.update(user);
+                        entry.leasedBy = null;
+                        entry.leasedAt = 0;
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // Disables the user on the server before dropping it, as no later run can lease it to clean it up.
+    public static void remove(UserModel adminUser, UserModel user) {
+        UserApi.disableUser(adminUser, user);
+        withLockedPool(entries -> entries.removeIf(entry -> entry.matches(user)));
+        LOGGER.info(String.format("User %s with id %d removed from the pool.", user.getUsername(), user.getId()));
+    }
+
+    public static void removeAll(String baseUri) {
+        withLockedPool(entries -> entries.removeIf(entry -> baseUri.equals(entry.baseUri)));
+    }
+
+    public static int countAvailable(String authority) {
+        return withLockedPool(entries -> {
+            long now = System.currentTimeMillis();
+            return (int) entries.stream().filter(entry -> entry.isAvailableFor(authority, now)).count();
+        });
+    }
+
+    public static void topUp(String authority, int count) {
+        List<UserModel> users = UserApi.registerBatch(count, authority);
+
+        withLockedPool(entries -> {
+            for (UserModel user : users) {
+                entries.add(new PooledUser(user, authority));
+            }
+            return null;
+        });
+
+        LOGGER.info(String.format("%d users with role %s added to the pool.", count, authority));
+    }
+
+    private static synchronized <T> T withLockedPool(Function<List<PooledUser>, T> action) {
+        try {
+            Files.createDirectories(POOL_FILE.toAbsolutePath().getParent());
+            try (FileChannel lockChannel = FileChannel.open(LOCK_FILE, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = lockChannel.lock()) {
+                List<PooledUser> entries = read();
+                T result = action.apply(entries);
+                write(entries);
+                return result;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("User pool " + POOL_FILE + " could not be accessed.", exception);
+        }
+    }
+
+    private static List<PooledUser> read() throws IOException {
+        if (!Files.exists(POOL_FILE)) {
+            return new ArrayList<>();
+        }
+        String json = new String(Files.readAllBytes(POOL_FILE), StandardCharsets.UTF_8);
+        List<PooledUser> entries = gson.fromJson(json, new TypeToken<List<PooledUser>>() {
+        }.getType());
+        return entries == null ? new ArrayList<>() : entries;
+    }
+
+    private static void write(List<PooledUser> entries) throws IOException {
+        Path temporary = Paths.get(POOL_FILE + ".tmp");
+        Files.write(temporary, gson.toJson(entries).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, POOL_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static class PooledUser {
+
+        private String baseUri;
+        private String authority;
+        private int userId;
+        private String username;
+        private String password;
+        private String email;
+        private PersonalProfileModel personalProfile;
+        private ExpertiseProfileModel expertiseProfile;
+        private String leasedBy;
+        private long leasedAt;
+
+        private PooledUser(UserModel user, String authority) {
+            this.baseUri = RestAssured.baseURI;
+            this.authority = authority;
+            this.userId = user.getId();
+            this.username = user.getUsername();
+            this.password = user.getPassword();
+            update(user);
+        }
+
+        private boolean isAvailableFor(String authority, long now) {
+            return RestAssured.baseURI.equals(baseUri) && this.authority.equals(authority)
+                    && (leasedBy == null || now - leasedAt > LEASE_TIMEOUT_MILLIS);
+        }
+
+        private boolean matches(UserModel user) {
+            return RestAssured.baseURI.equals(baseUri) && userId == user.getId();
+        }
+
+        private void update(UserModel user) {
+            this.email = user.getEmail();
+            this.personalProfile = user.getPersonalProfile();
+            this.expertiseProfile = user.getExpertiseProfile();
+        }
+
+        private UserModel toUserModel() {
+            UserModel user = new UserModel();
+            user.setId(userId);
+            user.setUsername(username);
+            user.setPassword(password);
+            user.setEmail(email);
+            user.setPersonalProfile(personalProfile);
+            user.setExpertiseProfile(expertiseProfile);
+
+            List<GrantedAuthorityModel> authorities = new ArrayList<>();
+            RoleModel userRole = new RoleModel();
+            userRole.setAuthority(ROLE_USER.toString());
+            authorities.add(userRole);
+            if (authority.equals(ROLE_ADMIN.toString())) {
+                RoleModel adminRole = new RoleModel();
+                adminRole.setAuthority(ROLE_ADMIN.toString());
+                authorities.add(adminRole);
+            }
+            user.setAuthorities(authorities);
+
+            return user;
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package restassuredapi.load;
+
+import java.nio.file.Paths;
+import java.util.Locale;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the like contention run: how many users like at once, what they like and how many rounds,
+ * with the target options of {@link LoadOptions}.
+ */
+class ContentionOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LikeContention [options]",
+            "  --users N                 distinct users that like the same item at once (default 200)",
+            "  --target KIND             post, comment or both (default both)",
+            "  --rounds N                rounds, each on a new post or comment (default 3)",
+            TARGET_USAGE);
+
+    boolean posts = true;
+    boolean comments = true;
+    int rounds = 3;
+
+    ContentionOptions() {
+        users = 200;
+        seedPosts = 0;
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.contentionReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.contentionHistogramLog"));
+    }
+
+    static ContentionOptions parse(String[] args) {
+        ContentionOptions options = new ContentionOptions();
+        options.read(args);
+        if (options.rounds <= 0) {
+            throw new IllegalArgumentException("Option --rounds has to be positive.");
+        }
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--target":
+                String target = value.toLowerCase(Locale.ROOT);
+                if (!target.equals("post") && !target.equals("comment") && !target.equals("both")) {
+                    throw new IllegalArgumentException("Target " + value + " is not post, comment or both.");
+                }
+                posts = !target.equals("comment");
+                comments = !target.equals("post");
+                break;
+            case "--rounds":
+                rounds = Integer.parseInt(value);
+                break;
+            // Every user likes once, all at the same moment, so there is no rate or mix.
+            case "--rate":
+            case "--duration":
+            case "--warmup":
+            case "--mix":
+            case "--arrivals":
+            case "--max-in-flight":
+            case "--report-interval":
+                throw new IllegalArgumentException("Option " + name + " does not apply to the contention run.");
+            default:
+                super.set(name, value);
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.HistogramCodec;
+
+import java.util.*;
+
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * One round of the like contention run: every user liked the same post or comment at once. Compares the likers
+ * the server counted afterwards with the users whose like it acknowledged. An acknowledged like missing from the
+ * item is a lost update, a user counted more than once a duplicate, and a user counted without an acknowledged
+ * like an unexpected one.
+ */
+public class ContentionResult {
+
+    private final String target;
+    private final int itemId;
+    private final int round;
+    private final int users;
+    private final Histogram latency;
+    private final Map<String, Integer> outcomes;
+    private final long elapsedNanos;
+    private final long startSpreadNanos;
+    private final int countedLikes;
+    private final List<Integer> lostUpdates = new ArrayList<>();
+    private final List<Integer> duplicates = new ArrayList<>();
+    private final List<Integer> unexpected = new ArrayList<>();
+    private final int acknowledged;
+
+    // likers are the user ids in the item's likes afterwards, acknowledgedLikers those answered with 200.
+    ContentionResult(String target, int itemId, int round, int users, Histogram latency, Map<String, Integer> outcomes,
+                     long elapsedNanos, long startSpreadNanos, Set<Integer> acknowledgedLikers, List<Integer> likers) {
+        this.target = target;
+        this.itemId = itemId;
+        this.round = round;
+        this.users = users;
+        this.latency = latency;
+        this.outcomes = new TreeMap<>(outcomes);
+        this.elapsedNanos = elapsedNanos;
+        this.startSpreadNanos = startSpreadNanos;
+        this.countedLikes = likers.size();
+        this.acknowledged = acknowledgedLikers.size();
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        likers.forEach(liker -> counts.merge(liker, 1, Integer::sum));
+        counts.forEach((liker, count) -> {
+            if (count > 1) {
+                duplicates.add(liker);
+            }
+            if (!acknowledgedLikers.contains(liker)) {
+                unexpected.add(liker);
+            }
+        });
+        for (int liker : acknowledgedLikers) {
+            if (!counts.containsKey(liker)) {
+                lostUpdates.add(liker);
+            }
+        }
+        Collections.sort(lostUpdates);
+        Collections.sort(duplicates);
+        Collections.sort(unexpected);
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public Histogram getLatency() {
+        return latency.copy();
+    }
+
+    public boolean hasAnomalies() {
+        return !lostUpdates.isEmpty() || !duplicates.isEmpty() || !unexpected.isEmpty();
+    }
+
+    public List<Integer> getLostUpdates() {
+        return Collections.unmodifiableList(lostUpdates);
+    }
+
+    public List<Integer> getDuplicates() {
+        return Collections.unmodifiableList(duplicates);
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : acknowledged / (elapsedNanos / 1e9);
+    }
+
+    public String describe() {
+        return String.format("%s %d, round %d: %d users, %d likes acknowledged, %d counted, %d lost, %d duplicated, "
+                        + "%d unexpected; %.1f likes/s, p50 %.1f ms, p99 %.1f ms, started within %.1f ms.",
+                target, itemId, round, users, acknowledged, countedLikes, lostUpdates.size(), duplicates.size(),
+                unexpected.size(), getThroughputPerSecond(), millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(99)), millis(startSpreadNanos));
+    }
+
+    public JsonObject toJson() {
+        JsonObject outcomesJson = new JsonObject();
+        outcomes.forEach(outcomesJson::addProperty);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("target", target);
+        json.addProperty("id", itemId);
+        json.addProperty("round", round);
+        json.addProperty("users", users);
+        json.add("outcomes", outcomesJson);
+        json.addProperty("acknowledgedLikes", acknowledged);
+        json.addProperty("countedLikes", countedLikes);
+        json.add("lostUpdates", toJsonArray(lostUpdates));
+        json.add("duplicates", toJsonArray(duplicates));
+        json.add("unexpected", toJsonArray(unexpected));
+        json.addProperty("throughputPerSecond", Math.round(getThroughputPerSecond() * 100) / 100.0);
+        json.addProperty("elapsedMs", millis(elapsedNanos));
+        json.addProperty("startSpreadMs", millis(startSpreadNanos));
+        json.add("latency", HistogramCodec.summary(latency));
+        json.addProperty("histogram", HistogramCodec.encode(latency));
+        return json;
+    }
+
+    private static JsonArray toJsonArray(List<Integer> values) {
+        JsonArray array = new JsonArray();
+        values.forEach(array::add);
+        return array;
+    }
+
+}
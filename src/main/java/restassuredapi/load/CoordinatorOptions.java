@@ -0,0 +1,70 @@
+package restassuredapi.load;
+
+import java.nio.file.Paths;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the load coordinator: the open-loop options of {@link LoadOptions} for the run as a whole,
+ * how many workers share it, the port they connect to and how many of them to start on this machine.
+ */
+class CoordinatorOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadCoordinator [options]",
+            "  --workers N               worker processes that share the run (default 2)",
+            "  --spawn N                 of them, how many to start on this machine (default 0)",
+            "  --port N                  port the workers connect to (default 7400)",
+            "  --rate N                  requests per second of all workers together (default 20)",
+            "  --duration TIME           measured time, e.g. 90s or 5m (default 60s)",
+            "  --warmup TIME             unmeasured time before it (default 10s)",
+            "  --arrivals KIND           uniform or poisson (default uniform)",
+            "  --max-in-flight N         concurrent requests per worker before requests queue (default 256)",
+            "  Users and seed posts are split across the workers. The stand-in listens on loopback only,",
+            "  so with --stand-in all workers have to run on this machine.",
+            TARGET_USAGE);
+
+    int workers = 2;
+    int spawn;
+    int port = 7400;
+
+    CoordinatorOptions() {
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.distributedReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.distributedHistogramLog"));
+    }
+
+    static CoordinatorOptions parse(String[] args) {
+        CoordinatorOptions options = new CoordinatorOptions();
+        options.read(args);
+        if (options.workers < 1) {
+            throw new IllegalArgumentException("A distributed run needs at least one worker.");
+        }
+        if (options.spawn < 0 || options.spawn > options.workers) {
+            throw new IllegalArgumentException("Option --spawn has to be between 0 and --workers.");
+        }
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--workers":
+                workers = Integer.parseInt(value);
+                break;
+            case "--spawn":
+                spawn = Integer.parseInt(value);
+                break;
+            case "--port":
+                port = Integer.parseInt(value);
+                break;
+            default:
+                super.set(name, value);
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.AsyncWeAreApi;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.JsonCodec;
+import restassuredapi.PostApi;
+import restassuredapi.models.models.PostModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static com.telerikacademy.testframework.utils.Constants.API;
+import static com.telerikacademy.testframework.utils.Endpoints.POST;
+import static io.restassured.RestAssured.given;
+import static org.apache.http.HttpStatus.SC_OK;
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * Data-size scaling of the post feed: grows the feed in geometric steps through the bulk {@link PostSeeder} and
+ * at every size reads the whole feed the way {@link PostApi#findAllPosts()} does, timing the request and the
+ * deserialization apart and measuring the response and the memory the posts take. Writes the scaling curve with
+ * its growth exponents as JSON and CSV. Run it with {@code mvn -P load test-compile exec:exec
+ * -Dload.main=restassuredapi.load.FeedScalingBenchmark -Dload.args="..."}; {@code --help} lists the options.
+ */
+public class FeedScalingBenchmark extends BaseWeAreApi {
+
+    private static final long RETAINED_MEASURE_BYTES = 64L * 1024 * 1024;
+    private static final int MAX_RETAINED_COPIES = 32;
+
+    public static void main(String[] args) {
+        FeedScalingOptions options;
+        try {
+            options = FeedScalingOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(FeedScalingOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            System.out.println(run(options).describe());
+        } catch (RuntimeException exception) {
+            LOGGER.error("The feed scaling benchmark failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static FeedScalingCurve run(FeedScalingOptions options) {
+        LoadFixture fixture = LoadGenerator.start(options);
+        FeedScalingCurve curve = new FeedScalingCurve(options.maxExponent);
+
+        try (AsyncWeAreApi api = new AsyncWeAreApi();
+             LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            PostSeeder seeder = new PostSeeder(api, fixture.getUsers(), options.commentsPerPost,
+                    options.likesPerPost, options.bulkInFlight);
+            int posts = PostApi.findAllPosts().length;
+            for (double size = options.startSize; Math.round(size) <= options.maxSize; size *= options.factor) {
+                int target = (int) Math.round(size);
+                long seedStart = System.nanoTime();
+                if (target > posts) {
+                    seeder.seed(target - posts);
+                }
+                double seedSeconds = (System.nanoTime() - seedStart) / (double) TimeUnit.SECONDS.toNanos(1);
+
+                FeedScalingCurve.Point point = measure(options.samples, seedSeconds);
+                curve.add(point);
+                posts = point.posts;
+                log.write(point.latency, "feed-" + posts);
+                log.write(point.deserialization, "feed-" + posts + "-deserialize");
+                LOGGER.info(String.format("Feed of %d posts: %d KB, read p50 %.1f ms, deserialized p50 %.1f ms, "
+                                + "%d KB allocated, %d KB retained.", posts, point.responseBytes / 1024,
+                        millis(point.latency.getValueAtPercentile(50)),
+                        millis(point.deserialization.getValueAtPercentile(50)), point.allocatedBytes / 1024,
+                        point.retainedBytes / 1024));
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("The bulk pipeline could not be closed.", exception);
+        }
+
+        JsonObject report = curve.toJson();
+        report.addProperty("label", options.label);
+        report.addProperty("commentsPerPost", options.commentsPerPost);
+        report.addProperty("likesPerPost", options.likesPerPost);
+        report.addProperty("samples", options.samples);
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        curve.writeCsv(options.curveFile);
+        LOGGER.info(String.format("Feed scaling curve written to %s and %s.", options.reportFile, options.curveFile));
+        return curve;
+    }
+
+    // One unmeasured read, then the measured ones. Reading and deserializing are timed apart, so a slow
+    // server and a slow client can be told apart.
+    private static FeedScalingCurve.Point measure(int samples, double seedSeconds) {
+        Histogram latency = new Histogram(3);
+        Histogram deserialization = new Histogram(3);
+        long allocatedBytes = Long.MAX_VALUE;
+        byte[] body = new byte[0];
+        int posts = 0;
+        for (int sample = 0; sample <= samples; sample++) {
+            long readStart = System.nanoTime();
+            body = readFeed();
+            long readNanos = System.nanoTime() - readStart;
+
+            long allocatedBefore = allocatedBytes();
+            long parseStart = System.nanoTime();
+            PostModel[] feed = JsonCodec.fromJson(new ByteArrayInputStream(body), PostModel[].class);
+            long parseNanos = System.nanoTime() - parseStart;
+            long allocated = allocatedBytes() - allocatedBefore;
+            posts = feed.length;
+
+            if (sample > 0) {
+                latency.recordValue(readNanos);
+                deserialization.recordValue(parseNanos);
+                // The smallest, to drop JIT and warm-up noise; the counter only covers this thread.
+                allocatedBytes = Math.min(allocatedBytes, allocated);
+            }
+        }
+        return new FeedScalingCurve.Point(posts, body.length, latency, deserialization,
+                Math.max(0, allocatedBytes), retainedBytes(body), seedSeconds);
+    }
+
+    private static byte[] readFeed() {
+        return given()
+                .get(API + POST)
+                .then()
+                .assertThat()
+                .statusCode(SC_OK)
+                .extract()
+                .asByteArray();
+    }
+
+    // Bytes this thread has allocated so far, or 0 where the JVM cannot tell.
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    // Heap the deserialized feed keeps alive, measured as used heap after a full collection with and without it.
+    // Small feeds are held several times over, as the heap is only accounted for in whole regions.
+    private static long retainedBytes(byte[] body) {
+        int copies = (int) Math.max(1, Math.min(MAX_RETAINED_COPIES,
+                RETAINED_MEASURE_BYTES / Math.max(1, body.length)));
+        PostModel[][] feeds = new PostModel[copies][];
+        long before = usedHeapAfterGc();
+        for (int copy = 0; copy < copies; copy++) {
+            feeds[copy] = JsonCodec.fromJson(new ByteArrayInputStream(body), PostModel[].class);
+        }
+        long after = usedHeapAfterGc();
+        return feeds[0].length == 0 ? 0 : Math.max(0, after - before) / copies;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 2; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,186 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.HistogramCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * Cost of reading the whole post feed against the number of posts in it, one point per feed size. Each metric
+ * gets a growth exponent, the slope of its log against the log of the feed size: 1 means it grows in proportion
+ * to the feed, 2 with its square. A metric whose exponent passes the limit counts as super-linear.
+ */
+public class FeedScalingCurve {
+
+    private static final String CSV_HEADER = "posts,responseBytes,p50Ms,p99Ms,deserializeP50Ms,deserializeP99Ms,"
+            + "allocatedBytes,retainedBytes,seedSeconds";
+
+    private static final Map<String, ToDoubleFunction<Point>> METRICS = new LinkedHashMap<>();
+
+    static {
+        METRICS.put("latencyP50", point -> point.latency.getValueAtPercentile(50));
+        METRICS.put("latencyP99", point -> point.latency.getValueAtPercentile(99));
+        METRICS.put("responseBytes", point -> point.responseBytes);
+        METRICS.put("deserializeP50", point -> point.deserialization.getValueAtPercentile(50));
+        METRICS.put("allocatedBytes", point -> point.allocatedBytes);
+        METRICS.put("retainedBytes", point -> point.retainedBytes);
+    }
+
+    private final double maxExponent;
+    private final List<Point> points = new ArrayList<>();
+
+    FeedScalingCurve(double maxExponent) {
+        this.maxExponent = maxExponent;
+    }
+
+    void add(Point point) {
+        points.add(point);
+    }
+
+    public List<Point> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    // Least-squares slope of log(metric) over log(posts), or NaN with fewer than two points to fit.
+    public double getExponent(String metric) {
+        ToDoubleFunction<Point> value = METRICS.get(metric);
+        List<double[]> logs = new ArrayList<>();
+        for (Point point : points) {
+            double y = value.applyAsDouble(point);
+            if (point.posts > 0 && y > 0) {
+                logs.add(new double[]{Math.log(point.posts), Math.log(y)});
+            }
+        }
+        if (logs.size() < 2) {
+            return Double.NaN;
+        }
+        double meanX = logs.stream().mapToDouble(xy -> xy[0]).average().orElse(0);
+        double meanY = logs.stream().mapToDouble(xy -> xy[1]).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (double[] xy : logs) {
+            covariance += (xy[0] - meanX) * (xy[1] - meanY);
+            variance += (xy[0] - meanX) * (xy[0] - meanX);
+        }
+        return variance == 0 ? Double.NaN : covariance / variance;
+    }
+
+    public List<String> getSuperLinearMetrics() {
+        List<String> superLinear = new ArrayList<>();
+        for (String metric : METRICS.keySet()) {
+            if (getExponent(metric) > maxExponent) {
+                superLinear.add(metric);
+            }
+        }
+        return superLinear;
+    }
+
+    public String describe() {
+        StringJoiner exponents = new StringJoiner(", ");
+        for (String metric : METRICS.keySet()) {
+            exponents.add(String.format(Locale.ROOT, "%s %.2f", metric, getExponent(metric)));
+        }
+        List<String> superLinear = getSuperLinearMetrics();
+        return String.format("Feed from %d to %d posts, growth exponents: %s. %s", points.get(0).posts,
+                points.get(points.size() - 1).posts, exponents, superLinear.isEmpty()
+                        ? String.format(Locale.ROOT, "Nothing grows faster than exponent %.2f.", maxExponent)
+                        : "Super-linear: " + String.join(", ", superLinear) + ".");
+    }
+
+    public JsonObject toJson() {
+        JsonArray pointsJson = new JsonArray();
+        for (Point point : points) {
+            pointsJson.add(point.toJson());
+        }
+
+        JsonObject exponents = new JsonObject();
+        for (String metric : METRICS.keySet()) {
+            double exponent = getExponent(metric);
+            if (!Double.isNaN(exponent)) {
+                exponents.addProperty(metric, Math.round(exponent * 1000) / 1000.0);
+            }
+        }
+        JsonArray superLinear = new JsonArray();
+        getSuperLinearMetrics().forEach(superLinear::add);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("maxExponent", maxExponent);
+        json.add("exponents", exponents);
+        json.add("superLinear", superLinear);
+        json.add("points", pointsJson);
+        return json;
+    }
+
+    public void writeCsv(Path file) {
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        for (Point point : points) {
+            lines.add(String.format(Locale.ROOT, "%d,%d,%.3f,%.3f,%.3f,%.3f,%d,%d,%.1f", point.posts,
+                    point.responseBytes, millis(point.latency.getValueAtPercentile(50)),
+                    millis(point.latency.getValueAtPercentile(99)),
+                    millis(point.deserialization.getValueAtPercentile(50)),
+                    millis(point.deserialization.getValueAtPercentile(99)), point.allocatedBytes,
+                    point.retainedBytes, point.seedSeconds));
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Feed scaling curve " + file + " could not be written.", exception);
+        }
+    }
+
+    /**
+     * One feed size: how long the whole feed took to read and to deserialize, how big it was on the wire, what
+     * deserializing it allocated and how much heap the deserialized posts kept, and how long seeding up to it took.
+     */
+    public static class Point {
+
+        final int posts;
+        final long responseBytes;
+        final Histogram latency;
+        final Histogram deserialization;
+        final long allocatedBytes;
+        final long retainedBytes;
+        final double seedSeconds;
+
+        Point(int posts, long responseBytes, Histogram latency, Histogram deserialization, long allocatedBytes,
+              long retainedBytes, double seedSeconds) {
+            this.posts = posts;
+            this.responseBytes = responseBytes;
+            this.latency = latency;
+            this.deserialization = deserialization;
+            this.allocatedBytes = allocatedBytes;
+            this.retainedBytes = retainedBytes;
+            this.seedSeconds = seedSeconds;
+        }
+
+        public int getPosts() {
+            return posts;
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("posts", posts);
+            json.addProperty("responseBytes", responseBytes);
+            json.add("latency", HistogramCodec.summary(latency));
+            json.add("deserialization", HistogramCodec.summary(deserialization));
+            json.addProperty("allocatedBytes", allocatedBytes);
+            json.addProperty("retainedBytes", retainedBytes);
+            json.addProperty("seedSeconds", Math.round(seedSeconds * 10) / 10.0);
+            json.addProperty("histogram", HistogramCodec.encode(latency));
+            return json;
+        }
+    }
+
+}
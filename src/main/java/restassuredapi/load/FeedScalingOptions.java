@@ -0,0 +1,109 @@
+package restassuredapi.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the feed scaling benchmark: the feed sizes to measure at, how each seeded post is decorated,
+ * how many reads make up a measurement and the release label, with the target options of {@link LoadOptions}.
+ */
+class FeedScalingOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: FeedScalingBenchmark [options]",
+            "  --start-size N            posts in the feed at the first measurement (default 1000)",
+            "  --max-size N              posts at the last one (default 128000)",
+            "  --factor F                growth of the feed between measurements (default 2)",
+            "  --comments-per-post N     comments added to every seeded post (default 1)",
+            "  --likes-per-post N        likes added to every seeded post, at most --users (default 1)",
+            "  --samples N               feed reads measured at every size, after one unmeasured (default 10)",
+            "  --bulk-in-flight N        posts the seeding pipeline creates at once (default 64)",
+            "  --max-exponent E          growth exponent beyond which the feed counts as super-linear (default 1.2)",
+            "  --label TEXT              release or build the run is against, copied to the report",
+            "  --curve FILE              CSV of the scaling curve",
+            TARGET_USAGE);
+
+    int startSize = 1000;
+    int maxSize = 128000;
+    double factor = 2;
+    int commentsPerPost = 1;
+    int likesPerPost = 1;
+    int samples = 10;
+    int bulkInFlight = 64;
+    double maxExponent = 1.2;
+    String label = "";
+    Path curveFile = Paths.get(getConfigPropertyByKey("config.load.feedScalingCurve"));
+
+    FeedScalingOptions() {
+        seedPosts = 0;
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.feedScalingReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.feedScalingHistogramLog"));
+    }
+
+    static FeedScalingOptions parse(String[] args) {
+        FeedScalingOptions options = new FeedScalingOptions();
+        options.read(args);
+        if (options.startSize <= 0 || options.maxSize < options.startSize || options.factor <= 1) {
+            throw new IllegalArgumentException("Sizes need 0 < --start-size <= --max-size and a --factor over 1.");
+        }
+        if (options.samples <= 0) {
+            throw new IllegalArgumentException("Option --samples has to be positive.");
+        }
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--start-size":
+                startSize = Integer.parseInt(value);
+                break;
+            case "--max-size":
+                maxSize = Integer.parseInt(value);
+                break;
+            case "--factor":
+                factor = Double.parseDouble(value);
+                break;
+            case "--comments-per-post":
+                commentsPerPost = Integer.parseInt(value);
+                break;
+            case "--likes-per-post":
+                likesPerPost = Integer.parseInt(value);
+                break;
+            case "--samples":
+                samples = Integer.parseInt(value);
+                break;
+            case "--bulk-in-flight":
+                bulkInFlight = Integer.parseInt(value);
+                break;
+            case "--max-exponent":
+                maxExponent = Double.parseDouble(value);
+                break;
+            case "--label":
+                label = value;
+                break;
+            case "--curve":
+                curveFile = Paths.get(value);
+                break;
+            // The feed is read one request at a time, there is no arrival schedule.
+            case "--rate":
+            case "--duration":
+            case "--warmup":
+            case "--mix":
+            case "--arrivals":
+            case "--max-in-flight":
+            case "--report-interval":
+                throw new IllegalArgumentException("Option " + name + " does not apply to the feed scaling benchmark.");
+            default:
+                super.set(name, value);
+        }
+    }
+
+}
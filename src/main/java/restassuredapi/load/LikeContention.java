@@ -0,0 +1,211 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.CommentApi;
+import restassuredapi.PooledHttpTransport;
+import restassuredapi.PostApi;
+import restassuredapi.SessionStore;
+import restassuredapi.models.models.CommentModel;
+import restassuredapi.models.models.PostModel;
+import restassuredapi.models.models.UserModel;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.telerikacademy.testframework.utils.Constants.API;
+import static com.telerikacademy.testframework.utils.Endpoints.LIKE_COMMENT;
+import static com.telerikacademy.testframework.utils.Endpoints.LIKE_POST;
+
+/**
+ * Hot-row contention: hundreds of distinct users like the same post or comment at the same moment, released
+ * together by a barrier, and the likes the server counted afterwards are checked against the likes it
+ * acknowledged. {@link PostApi#likePost} and {@link CommentApi#likeComment} assert one like at a time, so the
+ * likes here are sent bare and judged only at the end. Run it with {@code mvn -P load test-compile exec:exec
+ * -Dload.main=restassuredapi.load.LikeContention -Dload.args="..."}; {@code --help} lists the options.
+ */
+public class LikeContention extends BaseWeAreApi {
+
+    private static final long BARRIER_TIMEOUT_SECONDS = 60;
+    private static final String ACKNOWLEDGED = "200";
+
+    public static void main(String[] args) {
+        ContentionOptions options;
+        try {
+            options = ContentionOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(ContentionOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            List<ContentionResult> results = run(options);
+            results.forEach(result -> System.out.println(result.describe()));
+            long anomalous = results.stream().filter(ContentionResult::hasAnomalies).count();
+            System.out.println(anomalous == 0 ? "No lost updates or duplicate likes."
+                    : String.format("Lost updates or duplicate likes in %d of %d rounds.", anomalous, results.size()));
+            if (anomalous > 0) {
+                exitCode = 1;
+            }
+        } catch (RuntimeException exception) {
+            LOGGER.error("The contention run failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static List<ContentionResult> run(ContentionOptions options) {
+        LoadFixture fixture = LoadGenerator.start(options);
+        List<UserModel> users = fixture.getUsers();
+        if (users.size() > PooledHttpTransport.getMaxConnectionsPerRoute()) {
+            LOGGER.warn(String.format("The HTTP pool has %d connections per route, so only that many of the %d likes"
+                    + " can be on the wire at once.", PooledHttpTransport.getMaxConnectionsPerRoute(), users.size()));
+        }
+        // Sessions up front, so no like waits for a login.
+        users.forEach(SessionStore::getSessionId);
+
+        AtomicInteger likerNumber = new AtomicInteger();
+        ExecutorService likers = Executors.newFixedThreadPool(users.size(), runnable -> {
+            Thread thread = new Thread(runnable, "like-contender-" + likerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<ContentionResult> results = new ArrayList<>();
+        try (LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            for (int round = 1; round <= options.rounds; round++) {
+                UserModel author = fixture.randomUser();
+                PostModel post = PostApi.createPost(author, true);
+                List<ContentionResult> roundResults = new ArrayList<>();
+                if (options.posts) {
+                    int postId = post.getPostId();
+                    roundResults.add(contend("post", postId, round, users, likers,
+                            user -> authenticated(user, spec -> spec
+                                    .queryParam("postId", postId)
+                                    .post(API + LIKE_POST)),
+                            () -> PostApi.findPublicPost(postId).getLikes()));
+                }
+                if (options.comments) {
+                    CommentModel comment = CommentApi.createComment(author, post);
+                    if (comment == null) {
+                        throw new IllegalStateException("Comment was rejected with status 500.");
+                    }
+                    int commentId = comment.getCommentId();
+                    roundResults.add(contend("comment", commentId, round, users, likers,
+                            user -> authenticated(user, spec -> spec
+                                    .queryParam("commentId", commentId)
+                                    .post(API + LIKE_COMMENT)),
+                            () -> CommentApi.getCommentById(author, commentId).getLikes()));
+                }
+                for (ContentionResult result : roundResults) {
+                    LOGGER.info(result.describe());
+                    log.write(result.getLatency(), result.getTarget() + "-round-" + round);
+                }
+                results.addAll(roundResults);
+            }
+        } finally {
+            likers.shutdownNow();
+        }
+
+        JsonArray rounds = new JsonArray();
+        results.forEach(result -> rounds.add(result.toJson()));
+        JsonObject report = new JsonObject();
+        report.addProperty("users", users.size());
+        report.addProperty("lostUpdates", results.stream().mapToInt(result -> result.getLostUpdates().size()).sum());
+        report.addProperty("duplicates", results.stream().mapToInt(result -> result.getDuplicates().size()).sum());
+        report.addProperty("anomalousRounds", results.stream().filter(ContentionResult::hasAnomalies).count());
+        report.add("rounds", rounds);
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        LOGGER.info(String.format("Contention report written to %s.", options.reportFile));
+        return results;
+    }
+
+    // Every user likes once; the barrier lets them all go at the same moment.
+    private static ContentionResult contend(String target, int itemId, int round, List<UserModel> users,
+                                            ExecutorService likers, Function<UserModel, Response> like,
+                                            Supplier<Collection<UserModel>> likes) {
+        AtomicLong released = new AtomicLong();
+        CyclicBarrier barrier = new CyclicBarrier(users.size(), () -> released.set(System.nanoTime()));
+        List<Future<Attempt>> futures = new ArrayList<>();
+        for (UserModel user : users) {
+            futures.add(likers.submit(() -> {
+                barrier.await(BARRIER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                long sentAt = System.nanoTime();
+                String outcome;
+                try {
+                    outcome = String.valueOf(like.apply(user).getStatusCode());
+                } catch (RuntimeException exception) {
+                    outcome = exception.getClass().getSimpleName();
+                }
+                return new Attempt(user.getId(), outcome, sentAt, System.nanoTime());
+            }));
+        }
+
+        List<Attempt> attempts = new ArrayList<>();
+        try {
+            for (Future<Attempt> future : futures) {
+                attempts.add(future.get());
+            }
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("A like of " + target + " " + itemId + " did not run.",
+                    exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while liking " + target + " " + itemId + ".", exception);
+        }
+
+        Histogram latency = new Histogram(3);
+        Map<String, Integer> outcomes = new HashMap<>();
+        Set<Integer> acknowledged = new HashSet<>();
+        long firstSent = Long.MAX_VALUE;
+        long lastSent = Long.MIN_VALUE;
+        long lastCompleted = released.get();
+        for (Attempt attempt : attempts) {
+            latency.recordValue(attempt.completedAt - attempt.sentAt);
+            outcomes.merge(attempt.outcome, 1, Integer::sum);
+            if (attempt.outcome.equals(ACKNOWLEDGED)) {
+                acknowledged.add(attempt.userId);
+            }
+            firstSent = Math.min(firstSent, attempt.sentAt);
+            lastSent = Math.max(lastSent, attempt.sentAt);
+            lastCompleted = Math.max(lastCompleted, attempt.completedAt);
+        }
+
+        List<Integer> counted = likes.get().stream().map(UserModel::getId).collect(Collectors.toList());
+        return new ContentionResult(target, itemId, round, users.size(), latency, outcomes,
+                lastCompleted - released.get(), lastSent - firstSent, acknowledged, counted);
+    }
+
+    private static class Attempt {
+
+        final int userId;
+        final String outcome;
+        final long sentAt;
+        final long completedAt;
+
+        Attempt(int userId, String outcome, long sentAt, long completedAt) {
+            this.userId = userId;
+            this.outcome = outcome;
+            this.sentAt = sentAt;
+            this.completedAt = completedAt;
+        }
+    }
+
+}
@@ -0,0 +1,309 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.restassured.RestAssured;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.standin.WeAreStandIn;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distributed open-loop run: splits the arrival rate, users and seed posts across worker processes, on this
+ * machine or on others, starts them together and merges what they stream back. Interval and total histograms
+ * are added up, not averaged, so the percentiles are those of all requests of the run. Run it with
+ * {@code mvn -P load test-compile exec:exec -Dload.main=restassuredapi.load.LoadCoordinator -Dload.args="..."};
+ * {@code --help} lists the options.
+ */
+public class LoadCoordinator extends BaseWeAreApi {
+
+    private static final int ACCEPT_TIMEOUT_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
+    private static final long SETUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    // Workers drain for up to a minute after the run, see OpenLoopRun.
+    private static final long RESULT_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    public static void main(String[] args) {
+        CoordinatorOptions options;
+        try {
+            options = CoordinatorOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(CoordinatorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            System.out.println(LoadGenerator.summary(run(options)));
+        } catch (RuntimeException exception) {
+            LOGGER.error("The distributed load run failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static LoadResult run(CoordinatorOptions options) {
+        RestAssured.baseURI = options.standIn ? WeAreStandIn.start() : options.baseUri;
+
+        List<Process> spawned = new ArrayList<>();
+        List<WorkerConnection> connections = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(options.port)) {
+            server.setSoTimeout(ACCEPT_TIMEOUT_MILLIS);
+            for (int worker = 1; worker <= options.spawn; worker++) {
+                spawned.add(spawn(worker, server.getLocalPort(), options.reportFile));
+            }
+            LOGGER.info(String.format("Waiting for %d workers on port %d.", options.workers, server.getLocalPort()));
+            while (connections.size() < options.workers) {
+                try {
+                    connections.add(new WorkerConnection(server.accept()));
+                } catch (SocketTimeoutException exception) {
+                    throw new IllegalStateException(String.format("Only %d of %d workers connected.",
+                            connections.size(), options.workers), exception);
+                }
+                LOGGER.info(String.format("Worker %d connected from %s.", connections.size(),
+                        connections.get(connections.size() - 1).getRemoteAddress()));
+            }
+            return run(options, connections);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("A worker connection of the distributed load run failed.", exception);
+        } finally {
+            for (WorkerConnection connection : connections) {
+                try {
+                    connection.close();
+                } catch (IOException exception) {
+                    LOGGER.warn("Worker connection could not be closed: " + exception);
+                }
+            }
+            stopSpawned(spawned);
+        }
+    }
+
+    private static LoadResult run(CoordinatorOptions options, List<WorkerConnection> connections)
+            throws IOException {
+        int workers = connections.size();
+        Random seeds = new Random(options.seed);
+        for (int index = 0; index < workers; index++) {
+            JsonObject assignment = WorkerConnection.message(WorkerConnection.ASSIGN);
+            assignment.addProperty("worker", index + 1);
+            assignment.addProperty("baseUri", RestAssured.baseURI);
+            assignment.addProperty("rate", options.rate / workers);
+            assignment.addProperty("warmupNanos", options.warmupNanos);
+            assignment.addProperty("durationNanos", options.durationNanos);
+            assignment.addProperty("reportIntervalNanos", options.reportIntervalNanos);
+            assignment.addProperty("mix", options.mix.toString());
+            assignment.addProperty("arrivals", options.arrivals.name());
+            assignment.addProperty("users", Math.max(2, share(options.users, workers, index)));
+            assignment.addProperty("seedPosts", Math.max(1, share(options.seedPosts, workers, index)));
+            assignment.addProperty("maxInFlight", options.maxInFlight);
+            // Seeds drawn from one generator, as neighbouring seeds give correlated first draws.
+            assignment.addProperty("seed", seeds.nextLong());
+            connections.get(index).send(assignment);
+        }
+
+        for (WorkerConnection connection : connections) {
+            connection.setReadTimeoutMillis((int) SETUP_TIMEOUT_MILLIS);
+            connection.expect(WorkerConnection.READY);
+        }
+        if (options.standInProfile != null) {
+            // Latency and faults apply to the run only, the workers' setup above has to succeed.
+            WeAreStandIn.useProfile(options.standInProfile);
+        }
+
+        LOGGER.info(String.format("Running %s at %.1f requests/s on %d workers (%s arrivals) for %d s after %d s"
+                        + " of warm-up.", options.mix, options.rate, workers, options.arrivals.name().toLowerCase(),
+                TimeUnit.NANOSECONDS.toSeconds(options.durationNanos),
+                TimeUnit.NANOSECONDS.toSeconds(options.warmupNanos)));
+        long silenceMillis = TimeUnit.NANOSECONDS.toMillis(options.warmupNanos + 2 * options.reportIntervalNanos)
+                + RESULT_MARGIN_MILLIS;
+        for (WorkerConnection connection : connections) {
+            connection.setReadTimeoutMillis((int) Math.min(Integer.MAX_VALUE, silenceMillis));
+            connection.send(WorkerConnection.message(WorkerConnection.RUN));
+        }
+
+        List<LoadResult> parts = new ArrayList<>();
+        AtomicInteger readerNumber = new AtomicInteger();
+        ExecutorService readers = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "load-coordinator-" + readerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            IntervalMerger merger = new IntervalMerger(workers, log);
+            List<Future<LoadResult>> results = new ArrayList<>();
+            for (WorkerConnection connection : connections) {
+                results.add(readers.submit(() -> collect(connection, merger)));
+            }
+            for (int index = 0; index < workers; index++) {
+                try {
+                    parts.add(results.get(index).get());
+                } catch (ExecutionException exception) {
+                    throw new IllegalStateException("Worker " + (index + 1) + " did not deliver its result.",
+                            exception.getCause());
+                }
+            }
+            merger.flush();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the workers.", exception);
+        } finally {
+            readers.shutdownNow();
+        }
+
+        LoadResult result = LoadResult.merge(options.rate, parts);
+        JsonArray workerResults = new JsonArray();
+        for (int index = 0; index < workers; index++) {
+            LoadResult part = parts.get(index);
+            JsonObject json = new JsonObject();
+            json.addProperty("worker", index + 1);
+            json.addProperty("address", connections.get(index).getRemoteAddress());
+            json.addProperty("targetRatePerSecond", part.getTargetRatePerSecond());
+            json.addProperty("issued", part.getIssued());
+            json.addProperty("throughputPerSecond", Math.round(part.getThroughputPerSecond() * 100) / 100.0);
+            json.addProperty("errorCount", part.getErrorCount());
+            json.addProperty("maxQueued", part.getMaxQueued());
+            workerResults.add(json);
+        }
+
+        JsonObject report = result.toJson();
+        report.addProperty("arrivals", options.arrivals.name().toLowerCase());
+        report.addProperty("maxInFlightPerWorker", options.maxInFlight);
+        report.addProperty("workers", workers);
+        report.add("workerResults", workerResults);
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        LOGGER.info(String.format("Merged report of %d workers written to %s, interval histograms to %s.",
+                workers, options.reportFile, options.histogramLog));
+        return result;
+    }
+
+    // Reads one worker's intervals until its result arrives.
+    private static LoadResult collect(WorkerConnection connection, IntervalMerger merger) throws IOException {
+        while (true) {
+            JsonObject message = connection.receive();
+            if (message == null) {
+                throw new EOFException("Worker at " + connection.getRemoteAddress()
+                        + " closed the connection before its result.");
+            }
+            String type = message.get("type").getAsString();
+            switch (type) {
+                case WorkerConnection.INTERVAL:
+                    merger.add(message.get("sequence").getAsInt(), message.get("elapsedNanos").getAsLong(),
+                            WorkerConnection.decodeIntervals(message.getAsJsonObject("operations")));
+                    break;
+                case WorkerConnection.RESULT:
+                    return WorkerConnection.decodeResult(message.getAsJsonObject("result"));
+                case WorkerConnection.FAILED:
+                    throw new IllegalStateException("Worker at " + connection.getRemoteAddress() + " failed: "
+                            + message.get("error").getAsString());
+                default:
+                    throw new IllegalStateException("Unexpected message " + type + " from "
+                            + connection.getRemoteAddress() + ".");
+            }
+        }
+    }
+
+    // Worker number index of workers gets its part of total, the first ones one more when it does not divide.
+    private static int share(int total, int workers, int index) {
+        return total / workers + (index < total % workers ? 1 : 0);
+    }
+
+    private static Process spawn(int worker, int port, Path reportFile) throws IOException {
+        Path javaHome = Paths.get(System.getProperty("java.home"));
+        Path output = reportFile.toAbsolutePath().resolveSibling("load-worker-" + worker + ".log");
+        Files.createDirectories(output.getParent());
+        ProcessBuilder builder = new ProcessBuilder(javaHome.resolve("bin").resolve("java").toString(),
+                "-classpath", System.getProperty("java.class.path"), LoadWorker.class.getName(),
+                "--coordinator", "localhost:" + port);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(output.toFile());
+        LOGGER.info(String.format("Starting worker %d, output in %s.", worker, output));
+        return builder.start();
+    }
+
+    private static void stopSpawned(List<Process> spawned) {
+        for (Process process : spawned) {
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Adds up the workers' histograms of the same interval and writes the sum once every worker has sent it.
+     * Workers start together but report on their own clocks, so intervals are matched by their number.
+     */
+    private static class IntervalMerger {
+
+        private final int workers;
+        private final LoadGenerator.IntervalLog log;
+        private final Map<Integer, Pending> pending = new TreeMap<>();
+
+        IntervalMerger(int workers, LoadGenerator.IntervalLog log) {
+            this.workers = workers;
+            this.log = log;
+        }
+
+        synchronized void add(int sequence, long elapsedNanos, Map<LoadOperation, OperationStats.Interval> intervals) {
+            Pending merged = pending.computeIfAbsent(sequence, key -> new Pending());
+            merged.add(elapsedNanos, intervals);
+            if (merged.workers == workers) {
+                pending.remove(sequence);
+                write(merged);
+            }
+        }
+
+        // Writes the intervals that not every worker sent, such as a last one cut short.
+        synchronized void flush() {
+            pending.values().forEach(this::write);
+            pending.clear();
+        }
+
+        private void write(Pending merged) {
+            LOGGER.info(LoadGenerator.progress(merged.elapsedNanos, merged.intervals));
+            log.write(merged.intervals);
+        }
+    }
+
+    private static class Pending {
+
+        final Map<LoadOperation, OperationStats.Interval> intervals = new EnumMap<>(LoadOperation.class);
+        long elapsedNanos;
+        int workers;
+
+        void add(long elapsedNanos, Map<LoadOperation, OperationStats.Interval> worker) {
+            this.elapsedNanos = Math.max(this.elapsedNanos, elapsedNanos);
+            workers++;
+            worker.forEach((operation, interval) -> {
+                OperationStats.Interval merged = intervals.get(operation);
+                if (merged == null) {
+                    intervals.put(operation, interval);
+                } else {
+                    merged.responseTime.add(interval.responseTime);
+                    merged.serviceTime.add(interval.serviceTime);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package restassuredapi.load;
+
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.PostApi;
+import restassuredapi.UserApi;
+import restassuredapi.models.models.PostModel;
+import restassuredapi.models.models.UserModel;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.telerikacademy.testframework.utils.UserRoles.ROLE_USER;
+
+/**
+ * Users and posts a load run works on. The API helpers assert on state they read before the call, so operations
+ * that would race on that state lease it exclusively: a post is liked by one operation at a time, and a user
+ * receives one connection request at a time, because {@code RequestApi.connect} approves the newest request.
+ */
+class LoadFixture extends BaseWeAreApi {
+
+    private static final int RECENT_POSTS = 1024;
+    private static final int CONNECT_ATTEMPTS = 32;
+
+    private final List<UserModel> users;
+    private final AtomicReferenceArray<PostModel> recentPosts = new AtomicReferenceArray<>(RECENT_POSTS);
+    private final AtomicLong postCount = new AtomicLong();
+    private final Queue<PostModel> likeablePosts = new ConcurrentLinkedQueue<>();
+    private final Queue<UserModel[]> unconnectedPairs = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> busyReceivers = ConcurrentHashMap.newKeySet();
+
+    private LoadFixture(List<UserModel> users) {
+        this.users = Collections.unmodifiableList(new ArrayList<>(users));
+
+        List<UserModel[]> pairs = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            for (int j = i + 1; j < users.size(); j++) {
+                pairs.add(new UserModel[]{users.get(i), users.get(j)});
+            }
+        }
+        Collections.shuffle(pairs, new Random(users.size()));
+        unconnectedPairs.addAll(pairs);
+    }
+
+    // Registers fresh users, so none of them is connected yet, and gives every user a post to start from.
+    static LoadFixture create(int userCount, int seedPosts) {
+        if (userCount < 2) {
+            throw new IllegalArgumentException("A load run needs at least 2 users.");
+        }
+        LoadFixture fixture = new LoadFixture(UserApi.registerBatch(userCount, ROLE_USER.toString()));
+        for (int i = 0; i < seedPosts; i++) {
+            fixture.addPost(PostApi.createPost(fixture.users.get(i % userCount), true));
+        }
+        LOGGER.info(String.format("Load fixture ready: %d users, %d posts, %d user pairs to connect.",
+                userCount, seedPosts, fixture.unconnectedPairs.size()));
+        return fixture;
+    }
+
+    List<UserModel> getUsers() {
+        return users;
+    }
+
+    UserModel randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    void addPost(PostModel post) {
+        long index = postCount.getAndIncrement();
+        recentPosts.set((int) (index % RECENT_POSTS), post);
+        likeablePosts.add(post);
+    }
+
+    PostModel randomPost() {
+        long count = Math.min(postCount.get(), RECENT_POSTS);
+        if (count == 0) {
+            throw new IllegalStateException("No post to work on yet.");
+        }
+        PostModel post = recentPosts.get(ThreadLocalRandom.current().nextInt((int) count));
+        if (post == null) {
+            throw new IllegalStateException("No post to work on yet.");
+        }
+        return post;
+    }
+
+    // Likes a post no other operation is liking, by a user who has not liked it yet. A post whose like failed is
+    // not offered again, as its likes are unknown.
+    void likeAnyPost(Liker liker) {
+        PostModel post = likeablePosts.poll();
+        if (post == null) {
+            throw new IllegalStateException("Every post is being liked or has been liked by every user.");
+        }
+        Set<Integer> likedBy = new HashSet<>();
+        post.getLikes().forEach(like -> likedBy.add(like.getId()));
+        List<UserModel> candidates = new ArrayList<>();
+        for (UserModel user : users) {
+            if (!likedBy.contains(user.getId())) {
+                candidates.add(user);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("Post " + post.getPostId() + " is liked by every user.");
+        }
+        liker.like(candidates.get(ThreadLocalRandom.current().nextInt(candidates.size())), post);
+        if (candidates.size() > 1) {
+            likeablePosts.add(post);
+        }
+    }
+
+    // Connects a pair of users that are not connected, whose receiver has no other request in flight.
+    void connectAnyPair(Connector connector) {
+        for (int attempt = 0; attempt < CONNECT_ATTEMPTS; attempt++) {
+            UserModel[] pair = unconnectedPairs.poll();
+            if (pair == null) {
+                throw new IllegalStateException("Every pair of load users is connected already.");
+            }
+            UserModel receiver = pair[1];
+            if (!busyReceivers.add(receiver.getId())) {
+                unconnectedPairs.add(pair);
+                continue;
+            }
+            try {
+                connector.connect(pair[0], receiver);
+                return;
+            } finally {
+                busyReceivers.remove(receiver.getId());
+            }
+        }
+        throw new IllegalStateException("No idle user pair to connect after " + CONNECT_ATTEMPTS + " attempts.");
+    }
+
+    interface Liker {
+        void like(UserModel user, PostModel post);
+    }
+
+    interface Connector {
+        void connect(UserModel sender, UserModel receiver);
+    }
+
+}
@@ -0,0 +1,219 @@
+package restassuredapi.load;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import io.restassured.RestAssured;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.mapper.ObjectMapperType;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.EndpointMetrics;
+import restassuredapi.JsonCodec;
+import restassuredapi.PooledHttpTransport;
+import restassuredapi.standin.WeAreStandIn;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * Open-loop load generator: drives the API helpers at a fixed arrival rate against a WEare server or the
+ * in-process stand-in, logs progress every interval, writes the interval histograms to an HdrHistogram log and
+ * the totals to a JSON report. Run it with {@code mvn -P load test-compile exec:exec -Dload.args="..."};
+ * {@code --help} lists the options.
+ */
+public class LoadGenerator extends BaseWeAreApi {
+
+    private static final String SERVICE_TIME_TAG = "-service";
+
+    public static void main(String[] args) {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(LoadOptions.USAGE);
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            LoadResult result = run(options);
+            System.out.println(summary(result));
+        } catch (RuntimeException exception) {
+            LOGGER.error("The load run failed.", exception);
+            exitCode = 1;
+        } finally {
+            stop();
+        }
+        // RestAssured and HttpClient leave non-daemon threads behind.
+        System.exit(exitCode);
+    }
+
+    static LoadResult run(LoadOptions options) {
+        LoadFixture fixture = start(options);
+        OpenLoopRun run = new OpenLoopRun(fixture, options.mix, options.arrivals, options.maxInFlight, options.seed);
+
+        LOGGER.info(String.format("Running %s at %.1f requests/s (%s arrivals) for %d s after %d s of warm-up.",
+                options.mix, options.rate, options.arrivals.name().toLowerCase(),
+                TimeUnit.NANOSECONDS.toSeconds(options.durationNanos),
+                TimeUnit.NANOSECONDS.toSeconds(options.warmupNanos)));
+
+        LoadResult result;
+        try (IntervalLog log = new IntervalLog(options.histogramLog)) {
+            result = run.run(options.rate, options.warmupNanos, options.durationNanos, options.reportIntervalNanos,
+                    (elapsedNanos, intervals) -> {
+                        LOGGER.info(progress(elapsedNanos, intervals));
+                        log.write(intervals);
+                    });
+        }
+
+        JsonObject report = result.toJson();
+        report.addProperty("arrivals", options.arrivals.name().toLowerCase());
+        report.addProperty("maxInFlight", options.maxInFlight);
+        writeReport(options.reportFile, report, options);
+        LOGGER.info(String.format("Load report written to %s, interval histograms to %s.",
+                options.reportFile, options.histogramLog));
+        return result;
+    }
+
+    // Sets up the transport and the target the way the test suite does, then the users and posts to work on.
+    static LoadFixture start(LoadOptions options) {
+        configureRestAssured();
+        PooledHttpTransport.install();
+        EndpointMetrics.install();
+        if (options.standIn) {
+            RestAssured.baseURI = WeAreStandIn.start();
+        } else {
+            RestAssured.baseURI = options.baseUri;
+        }
+
+        LOGGER.info(String.format("Preparing %d users and %d posts on %s.",
+                options.users, options.seedPosts, RestAssured.baseURI));
+        LoadFixture fixture = LoadFixture.create(options.users, options.seedPosts);
+        if (options.standInProfile != null) {
+            // Latency and faults apply to the run only, the setup above has to succeed.
+            WeAreStandIn.useProfile(options.standInProfile);
+        }
+        return fixture;
+    }
+
+    static void stop() {
+        EndpointMetrics.shutdown();
+        PooledHttpTransport.shutdown();
+        WeAreStandIn.stop();
+    }
+
+    private static void configureRestAssured() {
+        EncoderConfig encoderConfig = RestAssured.config().getEncoderConfig()
+                .appendDefaultContentCharsetToContentTypeIfUndefined(false);
+
+        ObjectMapperConfig objectMapperConfig = ObjectMapperConfig.objectMapperConfig()
+                .defaultObjectMapperType(ObjectMapperType.GSON)
+                .gsonObjectMapperFactory((type, charset) -> JsonCodec.gson());
+
+        RestAssured.config = RestAssured.config().encoderConfig(encoderConfig).objectMapperConfig(objectMapperConfig);
+    }
+
+    static String progress(long elapsedNanos, Map<LoadOperation, OperationStats.Interval> intervals) {
+        StringJoiner line = new StringJoiner(" | ",
+                String.format("[%4d s] ", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos)), "");
+        intervals.forEach((operation, interval) -> {
+            Histogram responseTime = interval.responseTime;
+            line.add(String.format("%s n=%d p50=%.1f p99=%.1f ms", operation.getOperationName(),
+                    responseTime.getTotalCount(), millis(responseTime.getValueAtPercentile(50)),
+                    millis(responseTime.getValueAtPercentile(99))));
+        });
+        return line.toString();
+    }
+
+    static String summary(LoadResult result) {
+        StringBuilder summary = new StringBuilder(String.format(
+                "Target %.1f/s, achieved %.1f/s over %.0f s, %d errors (%.2f%%), at most %d requests queued.%n",
+                result.getTargetRatePerSecond(), result.getThroughputPerSecond(), result.getMeasuredSeconds(),
+                result.getErrorCount(), result.getErrorRate() * 100, result.getMaxQueued()));
+        summary.append(String.format("%-14s %8s %7s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        result.getOperations().values().forEach(stats -> {
+            Histogram responseTime = stats.getResponseTime();
+            summary.append(String.format("%-14s %8d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                    stats.getOperation().getOperationName(), responseTime.getTotalCount(), stats.getErrorCount(),
+                    millis(responseTime.getValueAtPercentile(50)), millis(responseTime.getValueAtPercentile(99)),
+                    millis(responseTime.getValueAtPercentile(99.9)), millis(responseTime.getMaxValue())));
+        });
+        return summary.toString();
+    }
+
+    static void writeReport(Path file, JsonObject report, LoadOptions options) {
+        report.addProperty("generatedAt", Instant.now().toString());
+        report.addProperty("baseUri", RestAssured.baseURI);
+        report.addProperty("mix", options.mix.toString());
+        report.addProperty("seed", options.seed);
+        report.addProperty("unit", "ms");
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, gson.toJson(report).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Load report " + file + " could not be written.", exception);
+        }
+    }
+
+    /**
+     * HdrHistogram interval log with one response time histogram per operation and interval, tagged with the
+     * operation name, and its service time histogram tagged {@code <operation>-service}.
+     */
+    static class IntervalLog implements AutoCloseable {
+
+        private final HistogramLogWriter writer;
+
+        IntervalLog(Path file) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                writer = new HistogramLogWriter(file.toFile());
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Histogram log " + file + " could not be created.", exception);
+            }
+            long now = System.currentTimeMillis();
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(now);
+            writer.setBaseTime(now);
+            writer.outputLegend();
+        }
+
+        synchronized void write(Map<LoadOperation, OperationStats.Interval> intervals) {
+            intervals.forEach((operation, interval) -> {
+                write(interval.responseTime, operation.getOperationName());
+                write(interval.serviceTime, operation.getOperationName() + SERVICE_TIME_TAG);
+            });
+        }
+
+        synchronized void write(Histogram histogram, String tag) {
+            histogram.setTag(tag);
+            writer.outputIntervalHistogram(histogram);
+        }
+
+        @Override
+        public void close() {
+            writer.close();
+        }
+    }
+
+}
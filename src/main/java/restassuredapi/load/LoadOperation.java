@@ -0,0 +1,104 @@
+package restassuredapi.load;
+
+import com.telerikacademy.testframework.utils.Helpers;
+import restassuredapi.CommentApi;
+import restassuredapi.PostApi;
+import restassuredapi.RequestApi;
+import restassuredapi.UserApi;
+import restassuredapi.models.models.CommentModel;
+import restassuredapi.models.models.PersonalProfileModel;
+import restassuredapi.models.models.UserModel;
+
+/**
+ * The user actions a load run drives, each one call of the API helper the functional tests use. A helper that
+ * fails its assertion counts as an error of the operation. Posts and comments are written by the acting user;
+ * likes and connections are made by whichever fixture users the fixture can lease for them.
+ */
+public enum LoadOperation {
+
+    CREATE_POST("createPost") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            fixture.addPost(PostApi.createPost(actor, true));
+        }
+    },
+    LIKE_POST("likePost") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            fixture.likeAnyPost(PostApi::likePost);
+        }
+    },
+    CREATE_COMMENT("createComment") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            CommentModel comment = CommentApi.createComment(actor, fixture.randomPost());
+            if (comment == null) {
+                throw new IllegalStateException("Comment was rejected with status 500.");
+            }
+        }
+    },
+    CONNECT("connect") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            fixture.connectAnyPair(RequestApi::connect);
+        }
+    },
+    READ_FEED("readFeed") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            PostApi.findAllPosts();
+        }
+    },
+    UPDATE_PROFILE("updateProfile") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            // The first name stays, as searchUser looks users up by it.
+            PersonalProfileModel profile = new PersonalProfileModel();
+            profile.setBirthYear(Helpers.generateBirthdayDate());
+            profile.setFirstName(actor.getPersonalProfile().getFirstName());
+            profile.setId(actor.getPersonalProfile().getId());
+            profile.setLastName(Helpers.generateLastName());
+            profile.getLocation().getCity().setCity(Helpers.generateCity());
+            profile.setPersonalReview(Helpers.generatePersonalReview());
+            profile.setPicture(Helpers.generatePicture());
+            profile.setPicturePrivacy(true);
+            profile.setSex("MALE");
+            UserApi.updatePersonalProfile(actor, profile);
+        }
+    },
+    SEARCH_USER("searchUser") {
+        @Override
+        void execute(LoadFixture fixture, UserModel actor) {
+            UserModel user = fixture.randomUser();
+            if (UserApi.searchUser(user.getId(), user.getPersonalProfile().getFirstName()) == null) {
+                throw new IllegalStateException("User " + user.getId() + " was not found.");
+            }
+        }
+    };
+
+    private final String operationName;
+
+    LoadOperation(String operationName) {
+        this.operationName = operationName;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+
+    public static LoadOperation byName(String operationName) {
+        for (LoadOperation operation : values()) {
+            if (operation.operationName.equals(operationName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + operationName + ".");
+    }
+
+    void execute(LoadFixture fixture) {
+        execute(fixture, fixture.randomUser());
+    }
+
+    abstract void execute(LoadFixture fixture, UserModel actor);
+
+}
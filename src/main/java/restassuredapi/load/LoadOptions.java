@@ -0,0 +1,171 @@
+package restassuredapi.load;
+
+import restassuredapi.load.OpenLoopRun.ArrivalProcess;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static com.telerikacademy.testframework.utils.Constants.BASE_URL;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the load generator. Options are written as {@code --name value} or {@code --name=value}.
+ */
+class LoadOptions {
+
+    // Options of every load command: what to load, with which data and where the results go.
+    static final String TARGET_USAGE = String.join(System.lineSeparator(),
+            "  --base-uri URI            WEare server to load (default " + BASE_URL + ")",
+            "  --stand-in                load the in-process stand-in instead of a server",
+            "  --stand-in-profile FILE   latency and fault profile of the stand-in during the run",
+            "  --mix SPEC                operation weights, e.g. createPost=3,likePost=2,createComment=2,"
+                    + "connect=1,searchUser=2 (default all 1)",
+            "  --users N                 users registered for the run (default 20)",
+            "  --seed-posts N            posts created before the run (default 20)",
+            "  --report-interval TIME    progress and histogram log interval (default 5s)",
+            "  --report FILE             JSON report",
+            "  --histogram-log FILE      HdrHistogram interval log",
+            "  --seed N                  seed of the random draws",
+            "  --help                    print this help");
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadGenerator [options]",
+            "  --rate N                  requests per second, independent of response times (default 20)",
+            "  --duration TIME           measured time, e.g. 90s or 5m (default 60s)",
+            "  --warmup TIME             unmeasured time before it (default 10s)",
+            "  --arrivals KIND           uniform or poisson (default uniform)",
+            "  --max-in-flight N         concurrent requests before requests queue (default 256)",
+            TARGET_USAGE);
+
+    String baseUri = BASE_URL;
+    boolean standIn;
+    Path standInProfile;
+    double rate = 20;
+    long durationNanos = TimeUnit.SECONDS.toNanos(60);
+    long warmupNanos = TimeUnit.SECONDS.toNanos(10);
+    OperationMix mix = OperationMix.uniform();
+    ArrivalProcess arrivals = ArrivalProcess.UNIFORM;
+    int users = 20;
+    int seedPosts = 20;
+    int maxInFlight = 256;
+    long reportIntervalNanos = TimeUnit.SECONDS.toNanos(5);
+    Path reportFile = Paths.get(getConfigPropertyByKey("config.load.report"));
+    Path histogramLog = Paths.get(getConfigPropertyByKey("config.load.histogramLog"));
+    long seed = System.nanoTime();
+    boolean help;
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        options.read(args);
+        return options;
+    }
+
+    String usage() {
+        return USAGE;
+    }
+
+    void read(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            String value = null;
+            int equals = name.indexOf('=');
+            if (equals > 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            }
+
+            if (name.equals("--help") || name.equals("-h")) {
+                help = true;
+                continue;
+            }
+            if (name.equals("--stand-in")) {
+                standIn = true;
+                continue;
+            }
+            if (value == null) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Option " + name + " needs a value.");
+                }
+                value = args[++i];
+            }
+            set(name, value);
+        }
+    }
+
+    void set(String name, String value) {
+        switch (name) {
+            case "--base-uri":
+                baseUri = value;
+                break;
+            case "--stand-in-profile":
+                standIn = true;
+                standInProfile = Paths.get(value);
+                break;
+            case "--rate":
+                rate = Double.parseDouble(value);
+                break;
+            case "--duration":
+                durationNanos = parseDuration(value);
+                break;
+            case "--warmup":
+                warmupNanos = parseDuration(value);
+                break;
+            case "--mix":
+                mix = OperationMix.parse(value);
+                break;
+            case "--arrivals":
+                arrivals = ArrivalProcess.valueOf(value.toUpperCase(Locale.ROOT));
+                break;
+            case "--users":
+                users = Integer.parseInt(value);
+                break;
+            case "--seed-posts":
+                seedPosts = Integer.parseInt(value);
+                break;
+            case "--max-in-flight":
+                maxInFlight = Integer.parseInt(value);
+                break;
+            case "--report-interval":
+                reportIntervalNanos = parseDuration(value);
+                break;
+            case "--report":
+                reportFile = Paths.get(value);
+                break;
+            case "--histogram-log":
+                histogramLog = Paths.get(value);
+                break;
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option " + name + ".");
+        }
+    }
+
+    // Seconds, or a number with an ms, s, m or h suffix.
+    static long parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        TimeUnit unit = TimeUnit.SECONDS;
+        String number = trimmed;
+        if (trimmed.endsWith("ms")) {
+            unit = TimeUnit.MILLISECONDS;
+            number = trimmed.substring(0, trimmed.length() - 2);
+        } else if (trimmed.endsWith("s")) {
+            number = trimmed.substring(0, trimmed.length() - 1);
+        } else if (trimmed.endsWith("m")) {
+            unit = TimeUnit.MINUTES;
+            number = trimmed.substring(0, trimmed.length() - 1);
+        } else if (trimmed.endsWith("h")) {
+            unit = TimeUnit.HOURS;
+            number = trimmed.substring(0, trimmed.length() - 1);
+        }
+        try {
+            return (long) (Double.parseDouble(number) * unit.toNanos(1));
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid duration " + value + ".", exception);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.HistogramCodec;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one load run at one arrival rate: per-operation latencies and errors of the measured part, and
+ * how many requests the schedule issued in it.
+ */
+public class LoadResult {
+
+    private final double targetRatePerSecond;
+    private final double measuredSeconds;
+    private final long issued;
+    private final int maxQueued;
+    private final Map<LoadOperation, OperationStats> operations;
+
+    LoadResult(double targetRatePerSecond, double measuredSeconds, long issued, int maxQueued,
+               Map<LoadOperation, OperationStats> operations) {
+        this.targetRatePerSecond = targetRatePerSecond;
+        this.measuredSeconds = measuredSeconds;
+        this.issued = issued;
+        this.maxQueued = maxQueued;
+        this.operations = Collections.unmodifiableMap(new EnumMap<>(operations));
+    }
+
+    // One result out of the results of runs side by side, e.g. the workers of a distributed run. Histograms and
+    // counts are added up, so percentiles are those of all requests together rather than averages.
+    static LoadResult merge(double targetRatePerSecond, List<LoadResult> parts) {
+        Map<LoadOperation, OperationStats> operations = new EnumMap<>(LoadOperation.class);
+        double measuredSeconds = 0;
+        long issued = 0;
+        int maxQueued = 0;
+        for (LoadResult part : parts) {
+            measuredSeconds = Math.max(measuredSeconds, part.measuredSeconds);
+            issued += part.issued;
+            maxQueued = Math.max(maxQueued, part.maxQueued);
+            part.operations.forEach((operation, stats) -> operations
+                    .computeIfAbsent(operation, OperationStats::new)
+                    .merge(stats.getResponseTime(), stats.getServiceTime(), stats.getErrors()));
+        }
+        return new LoadResult(targetRatePerSecond, measuredSeconds, issued, maxQueued, operations);
+    }
+
+    public double getTargetRatePerSecond() {
+        return targetRatePerSecond;
+    }
+
+    public double getMeasuredSeconds() {
+        return measuredSeconds;
+    }
+
+    public long getIssued() {
+        return issued;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public Map<LoadOperation, OperationStats> getOperations() {
+        return operations;
+    }
+
+    public long getSuccessCount() {
+        return operations.values().stream().mapToLong(stats -> stats.getResponseTime().getTotalCount()).sum();
+    }
+
+    public long getErrorCount() {
+        return operations.values().stream().mapToLong(OperationStats::getErrorCount).sum();
+    }
+
+    public double getErrorRate() {
+        long total = getSuccessCount() + getErrorCount();
+        return total == 0 ? 0 : getErrorCount() / (double) total;
+    }
+
+    public double getThroughputPerSecond() {
+        return getSuccessCount() / measuredSeconds;
+    }
+
+    // Response times of all operations together.
+    public Histogram getResponseTime() {
+        Histogram combined = new Histogram(3);
+        operations.values().forEach(stats -> combined.add(stats.getResponseTime()));
+        return combined;
+    }
+
+    public JsonObject toJson() {
+        JsonArray operationsJson = new JsonArray();
+        operations.values().forEach(stats -> operationsJson.add(stats.toJson(measuredSeconds)));
+
+        JsonObject json = new JsonObject();
+        json.addProperty("targetRatePerSecond", targetRatePerSecond);
+        json.addProperty("issued", issued);
+        json.addProperty("throughputPerSecond", Math.round(getThroughputPerSecond() * 100) / 100.0);
+        json.addProperty("errorRate", Math.round(getErrorRate() * 10000) / 10000.0);
+        json.addProperty("maxQueued", maxQueued);
+        json.add("responseTime", HistogramCodec.summary(getResponseTime()));
+        json.add("operations", operationsJson);
+        return json;
+    }
+
+}
@@ -0,0 +1,153 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.load.OpenLoopRun.ArrivalProcess;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker of a distributed load run: connects to a {@link LoadCoordinator}, sets up its own users and posts with
+ * the API helpers, runs its share of the arrival rate open-loop and streams the interval histograms and its
+ * totals back. Start it with {@code -Dload.main=restassuredapi.load.LoadWorker -Dload.args="--coordinator
+ * host:port"} on each machine, or let the coordinator start it with {@code --spawn}.
+ */
+public class LoadWorker extends BaseWeAreApi {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadWorker --coordinator HOST:PORT",
+            "  --coordinator HOST:PORT   coordinator to take the run from; everything else comes from it",
+            "  --help                    print this help");
+
+    private static final long CONNECT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long CONNECT_RETRY_MILLIS = 500;
+
+    public static void main(String[] args) {
+        InetSocketAddress coordinator;
+        try {
+            coordinator = parseCoordinator(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (coordinator == null) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        int exitCode = 0;
+        try (WorkerConnection connection = connect(coordinator)) {
+            try {
+                run(connection);
+            } catch (RuntimeException exception) {
+                JsonObject failed = WorkerConnection.message(WorkerConnection.FAILED);
+                failed.addProperty("error", String.valueOf(exception));
+                connection.send(failed);
+                throw exception;
+            }
+        } catch (IOException | RuntimeException exception) {
+            LOGGER.error("The load worker failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static void run(WorkerConnection connection) throws IOException {
+        JsonObject assignment = connection.expect(WorkerConnection.ASSIGN);
+        int worker = assignment.get("worker").getAsInt();
+        LoadOptions options = new LoadOptions();
+        options.baseUri = assignment.get("baseUri").getAsString();
+        options.rate = assignment.get("rate").getAsDouble();
+        options.warmupNanos = assignment.get("warmupNanos").getAsLong();
+        options.durationNanos = assignment.get("durationNanos").getAsLong();
+        options.reportIntervalNanos = assignment.get("reportIntervalNanos").getAsLong();
+        options.mix = OperationMix.parse(assignment.get("mix").getAsString());
+        options.arrivals = ArrivalProcess.valueOf(assignment.get("arrivals").getAsString());
+        options.users = assignment.get("users").getAsInt();
+        options.seedPosts = assignment.get("seedPosts").getAsInt();
+        options.maxInFlight = assignment.get("maxInFlight").getAsInt();
+        options.seed = assignment.get("seed").getAsLong();
+
+        LoadFixture fixture = LoadGenerator.start(options);
+        connection.send(WorkerConnection.message(WorkerConnection.READY));
+        connection.expect(WorkerConnection.RUN);
+
+        LOGGER.info(String.format("Worker %d running %s at %.1f requests/s.", worker, options.mix, options.rate));
+        OpenLoopRun run = new OpenLoopRun(fixture, options.mix, options.arrivals, options.maxInFlight, options.seed);
+        AtomicInteger sequence = new AtomicInteger();
+        LoadResult result = run.run(options.rate, options.warmupNanos, options.durationNanos,
+                options.reportIntervalNanos, (elapsedNanos, intervals) -> {
+                    LOGGER.info(LoadGenerator.progress(elapsedNanos, intervals));
+                    JsonObject interval = WorkerConnection.message(WorkerConnection.INTERVAL);
+                    interval.addProperty("sequence", sequence.getAndIncrement());
+                    interval.addProperty("elapsedNanos", elapsedNanos);
+                    interval.add("operations", WorkerConnection.encodeIntervals(intervals));
+                    connection.send(interval);
+                });
+
+        JsonObject message = WorkerConnection.message(WorkerConnection.RESULT);
+        message.add("result", WorkerConnection.encodeResult(result));
+        connection.send(message);
+        LOGGER.info(String.format("Worker %d done: %d requests issued, %d errors.", worker, result.getIssued(),
+                result.getErrorCount()));
+    }
+
+    // The coordinator may still be starting, so refused connections are retried for a while.
+    private static WorkerConnection connect(InetSocketAddress coordinator) throws IOException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+        while (true) {
+            Socket socket = new Socket();
+            try {
+                socket.connect(coordinator);
+                LOGGER.info("Connected to the load coordinator at " + coordinator + ".");
+                return new WorkerConnection(socket);
+            } catch (IOException exception) {
+                socket.close();
+                if (System.currentTimeMillis() >= deadline) {
+                    throw exception;
+                }
+            }
+            try {
+                Thread.sleep(CONNECT_RETRY_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while connecting to " + coordinator + ".", exception);
+            }
+        }
+    }
+
+    // Null when only the help was asked for.
+    private static InetSocketAddress parseCoordinator(String[] args) {
+        String coordinator = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                return null;
+            } else if (arg.startsWith("--coordinator=")) {
+                coordinator = arg.substring("--coordinator=".length());
+            } else if (arg.equals("--coordinator") && i + 1 < args.length) {
+                coordinator = args[++i];
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg + ".");
+            }
+        }
+        if (coordinator == null) {
+            throw new IllegalArgumentException("Option --coordinator is required.");
+        }
+        int colon = coordinator.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Coordinator " + coordinator + " is not written as host:port.");
+        }
+        return new InetSocketAddress(coordinator.substring(0, colon),
+                Integer.parseInt(coordinator.substring(colon + 1)));
+    }
+
+}
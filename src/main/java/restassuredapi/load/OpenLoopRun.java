@@ -0,0 +1,158 @@
+package restassuredapi.load;
+
+import restassuredapi.BaseWeAreApi;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues operations at a fixed arrival rate, whatever the response times are. Requests are handed to a bounded
+ * pool of senders; when all of them are busy, requests queue and the wait counts towards their response time
+ * instead of delaying the schedule. Operations due during the warm-up run but are not recorded.
+ */
+public class OpenLoopRun extends BaseWeAreApi {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final LoadFixture fixture;
+    private final OperationMix mix;
+    private final ArrivalProcess arrivals;
+    private final int maxInFlight;
+    private final Random random;
+
+    OpenLoopRun(LoadFixture fixture, OperationMix mix, ArrivalProcess arrivals, int maxInFlight, long seed) {
+        this.fixture = fixture;
+        this.mix = mix;
+        this.arrivals = arrivals;
+        this.maxInFlight = maxInFlight;
+        this.random = new Random(seed);
+    }
+
+    LoadResult run(double ratePerSecond, long warmupNanos, long durationNanos, long reportIntervalNanos,
+                   IntervalListener listener) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("The arrival rate must be positive.");
+        }
+
+        Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : mix.getOperations()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+
+        AtomicInteger senderNumber = new AtomicInteger();
+        ThreadPoolExecutor senders = new ThreadPoolExecutor(maxInFlight, maxInFlight, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "load-sender-" + senderNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicLong issued = new AtomicLong();
+        AtomicInteger maxQueued = new AtomicInteger();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        reporter.scheduleAtFixedRate(() -> report(stats, start, listener),
+                warmupNanos + reportIntervalNanos, reportIntervalNanos, TimeUnit.NANOSECONDS);
+
+        try {
+            long due = start;
+            while (due < end) {
+                parkUntil(due);
+                LoadOperation operation = mix.next(random);
+                OperationStats operationStats = stats.get(operation);
+                long intendedStart = due;
+                boolean measured = due >= measureFrom;
+                senders.execute(() -> execute(operation, operationStats, intendedStart, measured));
+                if (measured) {
+                    issued.incrementAndGet();
+                }
+                maxQueued.accumulateAndGet(senders.getQueue().size(), Math::max);
+                due += arrivals.nextGapNanos(ratePerSecond, random);
+            }
+
+            senders.shutdown();
+            if (!senders.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn(String.format("%d requests were still running %d s after the run ended.",
+                        senders.getActiveCount() + senders.getQueue().size(), DRAIN_TIMEOUT_SECONDS));
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            senders.shutdownNow();
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        report(stats, start, listener);
+        double measuredSeconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return new LoadResult(ratePerSecond, measuredSeconds, issued.get(), maxQueued.get(), stats);
+    }
+
+    private void execute(LoadOperation operation, OperationStats stats, long intendedStart, boolean measured) {
+        long sentAt = System.nanoTime();
+        try {
+            operation.execute(fixture);
+            if (measured) {
+                long completedAt = System.nanoTime();
+                stats.recordSuccess(completedAt - intendedStart, completedAt - sentAt);
+            }
+        } catch (Throwable error) {
+            if (measured) {
+                stats.recordError(error);
+            }
+        }
+    }
+
+    private static synchronized void report(Map<LoadOperation, OperationStats> stats, long start,
+                                            IntervalListener listener) {
+        long elapsedNanos = System.nanoTime() - start;
+        Map<LoadOperation, OperationStats.Interval> intervals = new EnumMap<>(LoadOperation.class);
+        stats.forEach((operation, operationStats) -> intervals.put(operation, operationStats.collectInterval()));
+        if (listener != null) {
+            listener.onInterval(elapsedNanos, intervals);
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    public enum ArrivalProcess {
+
+        // Evenly spaced requests.
+        UNIFORM {
+            @Override
+            long nextGapNanos(double ratePerSecond, Random random) {
+                return (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            }
+        },
+        // Independent arrivals with exponentially distributed gaps, the way traffic from many users adds up.
+        POISSON {
+            @Override
+            long nextGapNanos(double ratePerSecond, Random random) {
+                return (long) (-Math.log(1 - random.nextDouble()) * TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+            }
+        };
+
+        abstract long nextGapNanos(double ratePerSecond, Random random);
+    }
+
+    interface IntervalListener {
+        void onInterval(long elapsedNanos, Map<LoadOperation, OperationStats.Interval> intervals);
+    }
+
+}
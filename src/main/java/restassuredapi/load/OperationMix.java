@@ -0,0 +1,86 @@
+package restassuredapi.load;
+
+import java.util.*;
+
+/**
+ * Relative weights of the operations in a load run, written as {@code createPost=3,likePost=2,searchUser=1}.
+ * Operations left out are not run.
+ */
+public class OperationMix {
+
+    private final Map<LoadOperation, Integer> weights;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public OperationMix(Map<LoadOperation, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(new EnumMap<>(weights));
+        List<LoadOperation> weighted = new ArrayList<>();
+        for (Map.Entry<LoadOperation, Integer> entry : this.weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Weight of " + entry.getKey().getOperationName() + " is negative.");
+            }
+            if (entry.getValue() > 0) {
+                weighted.add(entry.getKey());
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix has no operation with a positive weight.");
+        }
+
+        this.operations = weighted.toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += this.weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    public static OperationMix parse(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry " + entry + " is not written as operation=weight.");
+            }
+            weights.put(LoadOperation.byName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return new OperationMix(weights);
+    }
+
+    public static OperationMix uniform() {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            weights.put(operation, 1);
+        }
+        return new OperationMix(weights);
+    }
+
+    public LoadOperation next(Random random) {
+        int draw = random.nextInt(totalWeight);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Set<LoadOperation> getOperations() {
+        return EnumSet.copyOf(Arrays.asList(operations));
+    }
+
+    public Map<LoadOperation, Integer> getWeights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        weights.forEach((operation, weight) -> joiner.add(operation.getOperationName() + "=" + weight));
+        return joiner.toString();
+    }
+
+}
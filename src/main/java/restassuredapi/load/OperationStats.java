@@ -0,0 +1,119 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import restassuredapi.HistogramCodec;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation in a load run. Response time is measured from the moment the request was due by
+ * the arrival schedule, so time spent queued behind slow requests counts, which corrects for coordinated
+ * omission. Service time is measured from the moment the request was actually sent. Only successful calls go
+ * into the histograms; failures are counted by error type.
+ */
+public class OperationStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadOperation operation;
+    private final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram totalResponseTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder errorCount = new LongAdder();
+
+    private Histogram intervalResponseTime;
+    private Histogram intervalServiceTime;
+
+    OperationStats(LoadOperation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long responseNanos, long serviceNanos) {
+        responseTime.recordValue(Math.max(0, responseNanos));
+        serviceTime.recordValue(Math.max(0, serviceNanos));
+    }
+
+    void recordError(Throwable error) {
+        errors.computeIfAbsent(error.getClass().getSimpleName(), type -> new LongAdder()).increment();
+        errorCount.increment();
+    }
+
+    // Moves what was recorded since the last call into the totals and returns it as the latest interval.
+    synchronized Interval collectInterval() {
+        intervalResponseTime = responseTime.getIntervalHistogram(intervalResponseTime);
+        intervalServiceTime = serviceTime.getIntervalHistogram(intervalServiceTime);
+        totalResponseTime.add(intervalResponseTime);
+        totalServiceTime.add(intervalServiceTime);
+        return new Interval(intervalResponseTime.copy(), intervalServiceTime.copy());
+    }
+
+    // Adds the totals another process recorded for the same operation, e.g. a worker of a distributed run.
+    synchronized void merge(Histogram responseTime, Histogram serviceTime, Map<String, Long> errorCounts) {
+        totalResponseTime.add(responseTime);
+        totalServiceTime.add(serviceTime);
+        errorCounts.forEach((type, count) -> {
+            errors.computeIfAbsent(type, key -> new LongAdder()).add(count);
+            errorCount.add(count);
+        });
+    }
+
+    public LoadOperation getOperation() {
+        return operation;
+    }
+
+    public synchronized Histogram getResponseTime() {
+        return totalResponseTime.copy();
+    }
+
+    public synchronized Histogram getServiceTime() {
+        return totalServiceTime.copy();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    JsonObject toJson(double measuredSeconds) {
+        Histogram response = getResponseTime();
+        long errorTotal = getErrorCount();
+
+        JsonObject errorCounts = new JsonObject();
+        getErrors().forEach(errorCounts::addProperty);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("operation", operation.getOperationName());
+        json.addProperty("count", response.getTotalCount());
+        json.addProperty("errorCount", errorTotal);
+        json.addProperty("throughputPerSecond", Math.round(response.getTotalCount() / measuredSeconds * 100) / 100.0);
+        json.add("responseTime", HistogramCodec.summary(response));
+        json.add("serviceTime", HistogramCodec.summary(getServiceTime()));
+        json.add("errors", errorCounts);
+        json.addProperty("histogram", HistogramCodec.encode(response));
+        return json;
+    }
+
+    static class Interval {
+
+        final Histogram responseTime;
+        final Histogram serviceTime;
+
+        Interval(Histogram responseTime, Histogram serviceTime) {
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package restassuredapi.load;
+
+import restassuredapi.AsyncWeAreApi;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.models.models.PostModel;
+import restassuredapi.models.models.UserModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk pipeline that creates public posts, each with its comments and likes, through {@link AsyncWeAreApi}.
+ * A fixed number of posts are in the making at once, so tens of thousands of them go in at the rate the server
+ * takes them without one thread per request.
+ */
+class PostSeeder extends BaseWeAreApi {
+
+    private final AsyncWeAreApi api;
+    private final List<UserModel> authors;
+    private final int commentsPerPost;
+    private final int likesPerPost;
+    private final int inFlight;
+    private int nextAuthor;
+
+    PostSeeder(AsyncWeAreApi api, List<UserModel> authors, int commentsPerPost, int likesPerPost, int inFlight) {
+        if (likesPerPost > authors.size()) {
+            throw new IllegalArgumentException(String.format("%d likes per post need at least as many users, not %d.",
+                    likesPerPost, authors.size()));
+        }
+        this.api = api;
+        this.authors = authors;
+        this.commentsPerPost = commentsPerPost;
+        this.likesPerPost = likesPerPost;
+        this.inFlight = inFlight;
+    }
+
+    // Creates count posts and returns once all of them, with their comments and likes, are in.
+    void seed(int count) {
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < count && failure.get() == null; i++) {
+                permits.acquire();
+                int author = nextAuthor++ % authors.size();
+                api.createPost(authors.get(author), true)
+                        .thenCompose(post -> decorate(post, author))
+                        .whenComplete((done, error) -> {
+                            if (error != null) {
+                                failure.compareAndSet(null, error);
+                            }
+                            permits.release();
+                        });
+            }
+            permits.acquire(inFlight);
+            permits.release(inFlight);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding posts was interrupted.", exception);
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Seeding posts failed.", failure.get());
+        }
+
+        double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        LOGGER.info(String.format("%d posts with %d comments and %d likes each seeded in %.1f s (%.1f posts/s).",
+                count, commentsPerPost, likesPerPost, seconds, count / seconds));
+    }
+
+    // Comments and likes come from the users after the author in turn, so no one likes a post twice.
+    private CompletableFuture<Void> decorate(PostModel post, int author) {
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (int i = 0; i < commentsPerPost; i++) {
+            calls.add(api.createComment(authors.get((author + 1 + i) % authors.size()), post));
+        }
+        for (int i = 0; i < likesPerPost; i++) {
+            calls.add(api.likePost(authors.get((author + 1 + i) % authors.size()), post));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]));
+    }
+
+}
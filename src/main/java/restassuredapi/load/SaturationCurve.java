@@ -0,0 +1,135 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * Latency and errors against arrival rate, one point per ramp step. The knee is the first step whose p99
+ * response time or error rate breaks the SLO; the step before it is the highest rate the server sustains.
+ */
+public class SaturationCurve {
+
+    private static final String CSV_HEADER =
+            "targetRate,throughput,p50Ms,p90Ms,p99Ms,p999Ms,maxMs,errorRate,maxQueued,withinSlo";
+
+    private final long sloP99Nanos;
+    private final double maxErrorRate;
+    private final List<LoadResult> steps = new ArrayList<>();
+
+    SaturationCurve(long sloP99Nanos, double maxErrorRate) {
+        this.sloP99Nanos = sloP99Nanos;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    void add(LoadResult step) {
+        steps.add(step);
+    }
+
+    public List<LoadResult> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    public boolean isWithinSlo(LoadResult step) {
+        return step.getResponseTime().getValueAtPercentile(99) <= sloP99Nanos && step.getErrorRate() <= maxErrorRate;
+    }
+
+    // The first step beyond the SLO, or null when every step was within it.
+    public LoadResult getKnee() {
+        return steps.stream().filter(step -> !isWithinSlo(step)).findFirst().orElse(null);
+    }
+
+    // The last step within the SLO before the knee, or null when even the first step broke it.
+    public LoadResult getSustainedStep() {
+        LoadResult sustained = null;
+        for (LoadResult step : steps) {
+            if (!isWithinSlo(step)) {
+                break;
+            }
+            sustained = step;
+        }
+        return sustained;
+    }
+
+    public String describe() {
+        LoadResult knee = getKnee();
+        LoadResult sustained = getSustainedStep();
+        if (knee == null) {
+            return String.format("Every step up to %.1f requests/s was within the SLO; no knee found.",
+                    steps.get(steps.size() - 1).getTargetRatePerSecond());
+        }
+        return String.format("Knee at %.1f requests/s (%s); highest rate within the SLO: %s.",
+                knee.getTargetRatePerSecond(), breach(knee),
+                sustained == null ? "none" : String.format("%.1f requests/s, %.1f/s achieved",
+                        sustained.getTargetRatePerSecond(), sustained.getThroughputPerSecond()));
+    }
+
+    private String breach(LoadResult step) {
+        List<String> reasons = new ArrayList<>();
+        long p99 = step.getResponseTime().getValueAtPercentile(99);
+        if (p99 > sloP99Nanos) {
+            reasons.add(String.format("p99 %.1f ms over %.1f ms", millis(p99), millis(sloP99Nanos)));
+        }
+        if (step.getErrorRate() > maxErrorRate) {
+            reasons.add(String.format("error rate %.4f over %.4f", step.getErrorRate(), maxErrorRate));
+        }
+        return String.join(", ", reasons);
+    }
+
+    public JsonObject toJson() {
+        JsonArray stepsJson = new JsonArray();
+        for (LoadResult step : steps) {
+            JsonObject json = step.toJson();
+            json.addProperty("withinSlo", isWithinSlo(step));
+            stepsJson.add(json);
+        }
+
+        LoadResult knee = getKnee();
+        LoadResult sustained = getSustainedStep();
+        JsonObject json = new JsonObject();
+        json.addProperty("sloP99", millis(sloP99Nanos));
+        json.addProperty("maxErrorRate", maxErrorRate);
+        if (knee != null) {
+            json.addProperty("kneeRate", knee.getTargetRatePerSecond());
+            json.addProperty("kneeReason", breach(knee));
+        }
+        if (sustained != null) {
+            json.addProperty("sustainedRate", sustained.getTargetRatePerSecond());
+            json.addProperty("sustainedThroughput", Math.round(sustained.getThroughputPerSecond() * 100) / 100.0);
+        }
+        json.add("steps", stepsJson);
+        return json;
+    }
+
+    public void writeCsv(Path file) {
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        for (LoadResult step : steps) {
+            Histogram responseTime = step.getResponseTime();
+            lines.add(String.format(Locale.ROOT, "%.2f,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.4f,%d,%b",
+                    step.getTargetRatePerSecond(), step.getThroughputPerSecond(),
+                    millis(responseTime.getValueAtPercentile(50)), millis(responseTime.getValueAtPercentile(90)),
+                    millis(responseTime.getValueAtPercentile(99)), millis(responseTime.getValueAtPercentile(99.9)),
+                    millis(responseTime.getMaxValue()), step.getErrorRate(), step.getMaxQueued(), isWithinSlo(step)));
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Saturation curve " + file + " could not be written.", exception);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import restassuredapi.BaseWeAreApi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stepped ramp: runs the operation mix open-loop at rising arrival rates, one step after another on the same
+ * fixture, until a number of steps break the p99 or error-rate SLO or the highest rate is reached, and writes
+ * the latency curve with its knee as JSON and CSV. Run it with
+ * {@code mvn -P load test-compile exec:exec -Dload.main=restassuredapi.load.SaturationFinder -Dload.args="..."};
+ * {@code --help} lists the options.
+ */
+public class SaturationFinder extends BaseWeAreApi {
+
+    public static void main(String[] args) {
+        SaturationOptions options;
+        try {
+            options = SaturationOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(SaturationOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            System.out.println(run(options).describe());
+        } catch (RuntimeException exception) {
+            LOGGER.error("The saturation run failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static SaturationCurve run(SaturationOptions options) {
+        LoadFixture fixture = LoadGenerator.start(options);
+        SaturationCurve curve = new SaturationCurve(options.sloP99Nanos, options.maxErrorRate);
+
+        try (LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            int breached = 0;
+            for (int stepNumber = 0; breached < options.breachedSteps; stepNumber++) {
+                double rate = options.startRate + stepNumber * options.step;
+                if (rate > options.maxRate) {
+                    break;
+                }
+                LOGGER.info(String.format("Step at %.1f requests/s for %d s.", rate,
+                        TimeUnit.NANOSECONDS.toSeconds(options.durationNanos)));
+                OpenLoopRun run = new OpenLoopRun(fixture, options.mix, options.arrivals, options.maxInFlight,
+                        options.seed + stepNumber);
+                LoadResult step = run.run(rate, options.warmupNanos, options.durationNanos,
+                        options.reportIntervalNanos, (elapsedNanos, intervals) -> log.write(intervals));
+                curve.add(step);
+
+                boolean withinSlo = curve.isWithinSlo(step);
+                LOGGER.info(String.format("Step at %.1f requests/s: %.1f/s achieved, p99 %.1f ms, error rate %.4f, %s.",
+                        rate, step.getThroughputPerSecond(), step.getResponseTime().getValueAtPercentile(99) / 1e6,
+                        step.getErrorRate(), withinSlo ? "within the SLO" : "beyond the SLO"));
+                if (!withinSlo) {
+                    breached++;
+                }
+            }
+        }
+
+        JsonObject report = curve.toJson();
+        report.addProperty("arrivals", options.arrivals.name().toLowerCase());
+        report.addProperty("maxInFlight", options.maxInFlight);
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        curve.writeCsv(options.curveFile);
+        LOGGER.info(String.format("Saturation curve written to %s and %s.", options.reportFile, options.curveFile));
+        return curve;
+    }
+
+}
@@ -0,0 +1,93 @@
+package restassuredapi.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the saturation finder: the open-loop options of {@link LoadOptions}, with the duration and
+ * warm-up applying to every step, the rates to step through and the limits a step has to meet.
+ */
+class SaturationOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: SaturationFinder [options]",
+            "  --start-rate N            requests per second of the first step (default 10)",
+            "  --step N                  requests per second added by each step (default 10)",
+            "  --max-rate N              highest rate to try (default 500)",
+            "  --duration TIME           measured time of each step (default 30s)",
+            "  --warmup TIME             unmeasured time at the start of each step (default 5s)",
+            "  --slo-p99 TIME            highest p99 response time of a step within the SLO (default 1s)",
+            "  --max-error-rate R        highest error rate of a step within the SLO (default 0.01)",
+            "  --breached-steps N        steps beyond the SLO before the ramp stops (default 1)",
+            "  --curve FILE              CSV of the curve, next to the JSON report",
+            "  --arrivals KIND           uniform or poisson (default uniform)",
+            "  --max-in-flight N         concurrent requests before requests queue (default 256)",
+            TARGET_USAGE);
+
+    double startRate = 10;
+    double step = 10;
+    double maxRate = 500;
+    long sloP99Nanos = TimeUnit.SECONDS.toNanos(1);
+    double maxErrorRate = 0.01;
+    int breachedSteps = 1;
+    Path curveFile = Paths.get(getConfigPropertyByKey("config.load.saturationCurve"));
+
+    SaturationOptions() {
+        durationNanos = TimeUnit.SECONDS.toNanos(30);
+        warmupNanos = TimeUnit.SECONDS.toNanos(5);
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.saturationReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.saturationHistogramLog"));
+    }
+
+    static SaturationOptions parse(String[] args) {
+        SaturationOptions options = new SaturationOptions();
+        options.read(args);
+        if (options.startRate <= 0 || options.step <= 0 || options.maxRate < options.startRate) {
+            throw new IllegalArgumentException("Rates need 0 < --start-rate <= --max-rate and a positive --step.");
+        }
+        if (options.breachedSteps < 1) {
+            throw new IllegalArgumentException("Option --breached-steps has to be at least 1.");
+        }
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--start-rate":
+                startRate = Double.parseDouble(value);
+                break;
+            case "--step":
+                step = Double.parseDouble(value);
+                break;
+            case "--max-rate":
+                maxRate = Double.parseDouble(value);
+                break;
+            case "--slo-p99":
+                sloP99Nanos = parseDuration(value);
+                break;
+            case "--max-error-rate":
+                maxErrorRate = Double.parseDouble(value);
+                break;
+            case "--breached-steps":
+                breachedSteps = Integer.parseInt(value);
+                break;
+            case "--curve":
+                curveFile = Paths.get(value);
+                break;
+            case "--rate":
+                throw new IllegalArgumentException("Option --rate does not apply, the steps set the rate.");
+            default:
+                super.set(name, value);
+        }
+    }
+
+}
@@ -0,0 +1,229 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.CommentApi;
+import restassuredapi.EndpointMetrics;
+import restassuredapi.EndpointMetrics.EndpointStats;
+import restassuredapi.PostApi;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * What a soak run watches over time. Every window it takes the latency histogram of each endpoint since the
+ * previous window from {@link EndpointMetrics}, and from time to time it reads the whole post feed and comment
+ * list to see how big they have grown. At the end it tests p50 and p99 of every endpoint for a trend.
+ */
+class SoakMonitor extends BaseWeAreApi {
+
+    private final long start = System.nanoTime();
+    private final Map<String, Histogram> previous = new HashMap<>();
+    private final Map<String, List<Window>> windows = new TreeMap<>();
+    private final List<PayloadSample> payloads = new ArrayList<>();
+
+    SoakMonitor() {
+        discardWindow();
+    }
+
+    // Starts the next window now, dropping what was recorded so far, e.g. during the warm-up.
+    synchronized void discardWindow() {
+        EndpointMetrics.getStats().forEach((key, stats) -> previous.put(key, stats.getLatencyNanos()));
+    }
+
+    // Latency of every endpoint since the previous call, tagged with the endpoint, for the histogram log.
+    synchronized Map<String, Histogram> collectWindow() {
+        double elapsedSeconds = seconds(System.nanoTime() - start);
+        Map<String, Histogram> latest = new TreeMap<>();
+        for (Map.Entry<String, EndpointStats> entry : EndpointMetrics.getStats().entrySet()) {
+            Histogram total = entry.getValue().getLatencyNanos();
+            Histogram window = total.copy();
+            Histogram before = previous.put(entry.getKey(), total);
+            if (before != null) {
+                window.subtract(before);
+            }
+            if (window.getTotalCount() > 0) {
+                windows.computeIfAbsent(entry.getKey(), key -> new ArrayList<>()).add(new Window(elapsedSeconds,
+                        window.getTotalCount(), window.getValueAtPercentile(50), window.getValueAtPercentile(99)));
+                latest.put(entry.getKey(), window);
+            }
+        }
+        return latest;
+    }
+
+    // Reads the feed and all comments with the API helpers, timing each call and measuring its body.
+    void samplePayloads() {
+        double elapsedSeconds = seconds(System.nanoTime() - start);
+        try {
+            long postsStart = System.nanoTime();
+            int posts = PostApi.findAllPosts().length;
+            long postsNanos = System.nanoTime() - postsStart;
+            long postsBytes = EndpointMetrics.getLastResponseBytes();
+
+            long commentsStart = System.nanoTime();
+            int comments = CommentApi.findAllComments().length;
+            long commentsNanos = System.nanoTime() - commentsStart;
+            long commentsBytes = EndpointMetrics.getLastResponseBytes();
+
+            PayloadSample sample = new PayloadSample(elapsedSeconds, posts, postsBytes, postsNanos, comments,
+                    commentsBytes, commentsNanos);
+            synchronized (this) {
+                payloads.add(sample);
+            }
+            LOGGER.info(String.format("Feed: %d posts in %d KB read in %.1f ms; comments: %d in %d KB read in %.1f ms.",
+                    posts, postsBytes / 1024, millis(postsNanos), comments, commentsBytes / 1024,
+                    millis(commentsNanos)));
+        } catch (Throwable error) {
+            LOGGER.warn("Payload sample failed: " + error);
+        }
+    }
+
+    // Endpoints whose p50 or p99 trend is significant at alpha and rises by at least minChange of its median.
+    // Falling latency, such as the JIT still warming up, is not degradation and is not flagged.
+    synchronized List<String> drifting(double alpha, double minChange) {
+        List<String> drifting = new ArrayList<>();
+        windows.forEach((endpoint, series) -> {
+            if (isDrifting(trend(series, true), series, true, alpha, minChange)
+                    || isDrifting(trend(series, false), series, false, alpha, minChange)) {
+                drifting.add(endpoint);
+            }
+        });
+        return drifting;
+    }
+
+    synchronized JsonObject toJson(double alpha, double minChange) {
+        JsonArray endpoints = new JsonArray();
+        windows.forEach((endpoint, series) -> {
+            JsonObject json = new JsonObject();
+            json.addProperty("endpoint", endpoint);
+            json.addProperty("windows", series.size());
+            json.add("p50", trendJson(series, true, alpha, minChange));
+            json.add("p99", trendJson(series, false, alpha, minChange));
+            JsonArray points = new JsonArray();
+            for (Window window : series) {
+                JsonObject point = new JsonObject();
+                point.addProperty("elapsedSeconds", Math.round(window.elapsedSeconds));
+                point.addProperty("count", window.count);
+                point.addProperty("p50", millis(window.p50Nanos));
+                point.addProperty("p99", millis(window.p99Nanos));
+                points.add(point);
+            }
+            json.add("series", points);
+            endpoints.add(json);
+        });
+
+        JsonArray samples = new JsonArray();
+        for (PayloadSample sample : payloads) {
+            JsonObject json = new JsonObject();
+            json.addProperty("elapsedSeconds", Math.round(sample.elapsedSeconds));
+            json.addProperty("posts", sample.posts);
+            json.addProperty("postsBytes", sample.postsBytes);
+            json.addProperty("postsMs", millis(sample.postsNanos));
+            json.addProperty("comments", sample.comments);
+            json.addProperty("commentsBytes", sample.commentsBytes);
+            json.addProperty("commentsMs", millis(sample.commentsNanos));
+            samples.add(json);
+        }
+
+        JsonObject json = new JsonObject();
+        json.addProperty("driftAlpha", alpha);
+        json.addProperty("minDriftChange", minChange);
+        json.add("drifting", toJsonArray(drifting(alpha, minChange)));
+        json.add("endpoints", endpoints);
+        json.add("payloads", samples);
+        return json;
+    }
+
+    private JsonObject trendJson(List<Window> series, boolean median, double alpha, double minChange) {
+        TrendTest trend = trend(series, median);
+        JsonObject json = new JsonObject();
+        if (trend == null) {
+            json.addProperty("drifting", false);
+            json.addProperty("note", "too few windows for a trend test");
+            return json;
+        }
+        json.addProperty("slopeMsPerHour", Math.round(millis((long) (trend.slopePerSecond * 3600)) * 1000) / 1000.0);
+        json.addProperty("relativeChange", Math.round(relativeChange(trend, series, median) * 10000) / 10000.0);
+        json.addProperty("z", Math.round(trend.z * 100) / 100.0);
+        json.addProperty("pValue", trend.pValue);
+        json.addProperty("drifting", isDrifting(trend, series, median, alpha, minChange));
+        return json;
+    }
+
+    private static TrendTest trend(List<Window> series, boolean median) {
+        List<Double> seconds = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (Window window : series) {
+            seconds.add(window.elapsedSeconds);
+            values.add((double) (median ? window.p50Nanos : window.p99Nanos));
+        }
+        return TrendTest.of(seconds, values);
+    }
+
+    private static boolean isDrifting(TrendTest trend, List<Window> series, boolean median, double alpha,
+                                      double minChange) {
+        return trend != null && trend.isSignificant(alpha)
+                && relativeChange(trend, series, median) >= minChange;
+    }
+
+    // Change over the whole run that the slope amounts to, relative to the median level.
+    private static double relativeChange(TrendTest trend, List<Window> series, boolean median) {
+        double[] levels = series.stream().mapToDouble(window -> median ? window.p50Nanos : window.p99Nanos)
+                .sorted().toArray();
+        double level = levels[levels.length / 2];
+        double span = series.get(series.size() - 1).elapsedSeconds - series.get(0).elapsedSeconds;
+        return level == 0 ? 0 : trend.slopePerSecond * span / level;
+    }
+
+    private static JsonArray toJsonArray(List<String> values) {
+        JsonArray array = new JsonArray();
+        values.forEach(array::add);
+        return array;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static class Window {
+
+        final double elapsedSeconds;
+        final long count;
+        final long p50Nanos;
+        final long p99Nanos;
+
+        Window(double elapsedSeconds, long count, long p50Nanos, long p99Nanos) {
+            this.elapsedSeconds = elapsedSeconds;
+            this.count = count;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+    }
+
+    private static class PayloadSample {
+
+        final double elapsedSeconds;
+        final int posts;
+        final long postsBytes;
+        final long postsNanos;
+        final int comments;
+        final long commentsBytes;
+        final long commentsNanos;
+
+        PayloadSample(double elapsedSeconds, int posts, long postsBytes, long postsNanos, int comments,
+                      long commentsBytes, long commentsNanos) {
+            this.elapsedSeconds = elapsedSeconds;
+            this.posts = posts;
+            this.postsBytes = postsBytes;
+            this.postsNanos = postsNanos;
+            this.comments = comments;
+            this.commentsBytes = commentsBytes;
+            this.commentsNanos = commentsNanos;
+        }
+    }
+
+}
@@ -0,0 +1,71 @@
+package restassuredapi.load;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the soak runner: the open-loop options of {@link LoadOptions} with soak-length defaults, the
+ * window the latency trends are taken over, how often the payloads are sampled and how strict drift detection is.
+ */
+class SoakOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: SoakRunner [options]",
+            "  --rate N                  requests per second, held for the whole run (default 20)",
+            "  --duration TIME           measured time, e.g. 8h (default 2h)",
+            "  --warmup TIME             unmeasured time before it (default 2m)",
+            "  --window TIME             latency window per endpoint, one trend point each (default 1m)",
+            "  --sample-interval TIME    how often the feed and comment payloads are read (default 10m)",
+            "  --drift-alpha P           significance level of the trend test (default 0.01)",
+            "  --min-drift R             smallest rise over the run, relative to the median, that counts as"
+                    + " drift (default 0.1)",
+            "  --arrivals KIND           uniform or poisson (default uniform)",
+            "  --max-in-flight N         concurrent requests before requests queue (default 256)",
+            TARGET_USAGE);
+
+    long sampleIntervalNanos = TimeUnit.MINUTES.toNanos(10);
+    double driftAlpha = 0.01;
+    double minDrift = 0.1;
+
+    SoakOptions() {
+        durationNanos = TimeUnit.HOURS.toNanos(2);
+        warmupNanos = TimeUnit.MINUTES.toNanos(2);
+        reportIntervalNanos = TimeUnit.MINUTES.toNanos(1);
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.soakReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.soakHistogramLog"));
+    }
+
+    static SoakOptions parse(String[] args) {
+        SoakOptions options = new SoakOptions();
+        options.read(args);
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--window":
+                reportIntervalNanos = parseDuration(value);
+                break;
+            case "--sample-interval":
+                sampleIntervalNanos = parseDuration(value);
+                break;
+            case "--drift-alpha":
+                driftAlpha = Double.parseDouble(value);
+                break;
+            case "--min-drift":
+                minDrift = Double.parseDouble(value);
+                break;
+            default:
+                super.set(name, value);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.BaseWeAreApi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soak run: holds the operation mix at a steady arrival rate for hours, keeps the latency of every endpoint per
+ * window, reads the feed and comment payloads now and then, and flags endpoints whose p50 or p99 drifts. Run it
+ * with {@code mvn -P load test-compile exec:exec -Dload.main=restassuredapi.load.SoakRunner -Dload.args="..."};
+ * {@code --help} lists the options.
+ */
+public class SoakRunner extends BaseWeAreApi {
+
+    public static void main(String[] args) {
+        SoakOptions options;
+        try {
+            options = SoakOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(SoakOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            List<String> drifting = run(options);
+            System.out.println(drifting.isEmpty() ? "No endpoint drifted."
+                    : "Drifting endpoints: " + String.join(", ", drifting) + ".");
+        } catch (RuntimeException exception) {
+            LOGGER.error("The soak run failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static List<String> run(SoakOptions options) {
+        LoadFixture fixture = LoadGenerator.start(options);
+        SoakMonitor monitor = new SoakMonitor();
+        OpenLoopRun run = new OpenLoopRun(fixture, options.mix, options.arrivals, options.maxInFlight, options.seed);
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.schedule(monitor::discardWindow, options.warmupNanos, TimeUnit.NANOSECONDS);
+        sampler.scheduleAtFixedRate(monitor::samplePayloads, 0, options.sampleIntervalNanos, TimeUnit.NANOSECONDS);
+
+        LOGGER.info(String.format("Soaking at %.1f requests/s (%s) for %d min after %d s of warm-up.",
+                options.rate, options.mix, TimeUnit.NANOSECONDS.toMinutes(options.durationNanos),
+                TimeUnit.NANOSECONDS.toSeconds(options.warmupNanos)));
+
+        LoadResult result;
+        List<String> flagged = new ArrayList<>();
+        try (LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            result = run.run(options.rate, options.warmupNanos, options.durationNanos, options.reportIntervalNanos,
+                    (elapsedNanos, intervals) -> {
+                        LOGGER.info(LoadGenerator.progress(elapsedNanos, intervals));
+                        log.write(intervals);
+                        for (Map.Entry<String, Histogram> window : monitor.collectWindow().entrySet()) {
+                            // Log tags may not contain spaces.
+                            log.write(window.getValue(), window.getKey().replace(' ', ':'));
+                        }
+                        for (String endpoint : monitor.drifting(options.driftAlpha, options.minDrift)) {
+                            if (!flagged.contains(endpoint)) {
+                                flagged.add(endpoint);
+                                LOGGER.warn(String.format("Latency of %s is drifting.", endpoint));
+                            }
+                        }
+                    });
+        } finally {
+            sampler.shutdownNow();
+        }
+        monitor.samplePayloads();
+
+        JsonObject report = result.toJson();
+        report.add("soak", monitor.toJson(options.driftAlpha, options.minDrift));
+        report.addProperty("arrivals", options.arrivals.name().toLowerCase());
+        report.addProperty("maxInFlight", options.maxInFlight);
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        LOGGER.info(String.format("Soak report written to %s, window histograms to %s.",
+                options.reportFile, options.histogramLog));
+        return monitor.drifting(options.driftAlpha, options.minDrift);
+    }
+
+}
@@ -0,0 +1,86 @@
+package restassuredapi.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monotonic trend in a time series: the Mann-Kendall test for whether there is one, and Sen's slope for how
+ * steep it is. Both work on ranks, so a few outlier windows neither fake nor hide a trend, and neither assumes
+ * the values are normally distributed, which latency percentiles are not.
+ */
+class TrendTest {
+
+    private static final int MIN_POINTS = 8;
+
+    final int points;
+    final double slopePerSecond;
+    final double z;
+    final double pValue;
+
+    private TrendTest(int points, double slopePerSecond, double z, double pValue) {
+        this.points = points;
+        this.slopePerSecond = slopePerSecond;
+        this.z = z;
+        this.pValue = pValue;
+    }
+
+    // Null when there are too few points for the normal approximation of the test.
+    static TrendTest of(List<Double> seconds, List<Double> values) {
+        int n = values.size();
+        if (n < MIN_POINTS) {
+            return null;
+        }
+
+        long s = 0;
+        List<Double> slopes = new ArrayList<>();
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += Long.signum(Double.compare(values.get(j), values.get(i)));
+                double dt = seconds.get(j) - seconds.get(i);
+                if (dt > 0) {
+                    slopes.add((values.get(j) - values.get(i)) / dt);
+                }
+            }
+        }
+
+        // Variance of S, less what tied values take off it.
+        Map<Double, Integer> ties = new HashMap<>();
+        values.forEach(value -> ties.merge(value, 1, Integer::sum));
+        double variance = n * (n - 1.0) * (2.0 * n + 5) / 18;
+        for (int t : ties.values()) {
+            variance -= t * (t - 1.0) * (2.0 * t + 5) / 18;
+        }
+
+        double z = 0;
+        if (variance > 0 && s != 0) {
+            z = (s - Long.signum(s)) / Math.sqrt(variance);
+        }
+        double pValue = 2 * (1 - normalCdf(Math.abs(z)));
+        return new TrendTest(n, median(slopes), z, pValue);
+    }
+
+    boolean isSignificant(double alpha) {
+        return pValue < alpha;
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(values);
+        int middle = values.size() / 2;
+        return values.size() % 2 == 1 ? values.get(middle) : (values.get(middle - 1) + values.get(middle)) / 2;
+    }
+
+    // Abramowitz and Stegun 7.1.26, accurate to about 1e-7, plenty for a significance level.
+    private static double normalCdf(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x) / Math.sqrt(2));
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027
+                + t * 1.061405429)))) * Math.exp(-x * x / 2);
+        return x >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+}
@@ -0,0 +1,161 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.HdrHistogram.Histogram;
+import restassuredapi.HistogramCodec;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Link between the load coordinator and one worker: one JSON message per line over a socket. The coordinator
+ * sends {@code assign} with the worker's share of the run and {@code run} once every worker is ready; the worker
+ * answers {@code ready}, then streams {@code interval} messages and ends with {@code result} or {@code failed}.
+ * Histograms travel in the compressed form of {@link HistogramCodec}, so the coordinator adds up exactly what
+ * the workers recorded.
+ */
+class WorkerConnection implements Closeable {
+
+    static final String ASSIGN = "assign";
+    static final String READY = "ready";
+    static final String RUN = "run";
+    static final String INTERVAL = "interval";
+    static final String RESULT = "result";
+    static final String FAILED = "failed";
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    WorkerConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    static JsonObject message(String type) {
+        JsonObject message = new JsonObject();
+        message.addProperty("type", type);
+        return message;
+    }
+
+    synchronized void send(JsonObject message) {
+        try {
+            writer.write(message.toString());
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Message could not be sent to " + socket.getRemoteSocketAddress() + ".",
+                    exception);
+        }
+    }
+
+    // The next message, or null once the other side has closed the connection.
+    JsonObject receive() throws IOException {
+        String line = reader.readLine();
+        return line == null ? null : JsonParser.parseString(line).getAsJsonObject();
+    }
+
+    // The next message, which has to be of the given type; a failure report of the worker is thrown instead.
+    JsonObject expect(String type) throws IOException {
+        JsonObject message = receive();
+        if (message == null) {
+            throw new EOFException("Connection to " + socket.getRemoteSocketAddress() + " closed while waiting for "
+                    + type + ".");
+        }
+        String received = message.get("type").getAsString();
+        if (received.equals(FAILED)) {
+            throw new IllegalStateException("Worker at " + socket.getRemoteSocketAddress() + " failed: "
+                    + message.get("error").getAsString());
+        }
+        if (!received.equals(type)) {
+            throw new IllegalStateException("Expected " + type + " but received " + received + ".");
+        }
+        return message;
+    }
+
+    void setReadTimeoutMillis(int timeoutMillis) throws IOException {
+        socket.setSoTimeout(timeoutMillis);
+    }
+
+    String getRemoteAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    static JsonObject encodeIntervals(Map<LoadOperation, OperationStats.Interval> intervals) {
+        JsonObject json = new JsonObject();
+        intervals.forEach((operation, interval) -> {
+            JsonObject histograms = new JsonObject();
+            histograms.addProperty("responseTime", HistogramCodec.encode(interval.responseTime));
+            histograms.addProperty("serviceTime", HistogramCodec.encode(interval.serviceTime));
+            json.add(operation.getOperationName(), histograms);
+        });
+        return json;
+    }
+
+    static Map<LoadOperation, OperationStats.Interval> decodeIntervals(JsonObject json) {
+        Map<LoadOperation, OperationStats.Interval> intervals = new EnumMap<>(LoadOperation.class);
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            JsonObject histograms = entry.getValue().getAsJsonObject();
+            intervals.put(LoadOperation.byName(entry.getKey()), new OperationStats.Interval(
+                    histogram(histograms, "responseTime"), histogram(histograms, "serviceTime")));
+        }
+        return intervals;
+    }
+
+    static JsonObject encodeResult(LoadResult result) {
+        JsonArray operations = new JsonArray();
+        result.getOperations().forEach((operation, stats) -> {
+            JsonObject errors = new JsonObject();
+            stats.getErrors().forEach(errors::addProperty);
+            JsonObject json = new JsonObject();
+            json.addProperty("operation", operation.getOperationName());
+            json.addProperty("responseTime", HistogramCodec.encode(stats.getResponseTime()));
+            json.addProperty("serviceTime", HistogramCodec.encode(stats.getServiceTime()));
+            json.add("errors", errors);
+            operations.add(json);
+        });
+
+        JsonObject json = new JsonObject();
+        json.addProperty("targetRatePerSecond", result.getTargetRatePerSecond());
+        json.addProperty("measuredSeconds", result.getMeasuredSeconds());
+        json.addProperty("issued", result.getIssued());
+        json.addProperty("maxQueued", result.getMaxQueued());
+        json.add("operations", operations);
+        return json;
+    }
+
+    static LoadResult decodeResult(JsonObject json) {
+        Map<LoadOperation, OperationStats> operations = new EnumMap<>(LoadOperation.class);
+        for (JsonElement element : json.getAsJsonArray("operations")) {
+            JsonObject operationJson = element.getAsJsonObject();
+            LoadOperation operation = LoadOperation.byName(operationJson.get("operation").getAsString());
+            Map<String, Long> errors = new TreeMap<>();
+            operationJson.getAsJsonObject("errors").entrySet()
+                    .forEach(entry -> errors.put(entry.getKey(), entry.getValue().getAsLong()));
+            OperationStats stats = new OperationStats(operation);
+            stats.merge(histogram(operationJson, "responseTime"), histogram(operationJson, "serviceTime"), errors);
+            operations.put(operation, stats);
+        }
+        return new LoadResult(json.get("targetRatePerSecond").getAsDouble(), json.get("measuredSeconds").getAsDouble(),
+                json.get("issued").getAsLong(), json.get("maxQueued").getAsInt(), operations);
+    }
+
+    private static Histogram histogram(JsonObject json, String name) {
+        return HistogramCodec.decode(json.get(name).getAsString());
+    }
+
+}
@@ -0,0 +1,124 @@
+package restassuredapi.load;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import restassuredapi.DelayDistribution;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A named traffic mix, read from a JSON file, that runs the same way against every WEare release. Users run
+ * sessions of operations drawn by weight, pausing for a think time before each one; the concurrency bounds how
+ * many sessions run at once. Weights are relative, so percentages work as well.
+ *
+ * <pre>
+ * {
+ *   "name": "social-feed",
+ *   "seed": 42,
+ *   "concurrency": 20,
+ *   "sessionLength": {"min": 5, "max": 20},
+ *   "thinkTime": {"distribution": "lognormal", "medianMs": 800, "p99Ms": 5000},
+ *   "mix": {"readFeed": 60, "likePost": 20, "createComment": 10, "connect": 5, "updateProfile": 5}
+ * }
+ * </pre>
+ */
+public class Workload {
+
+    private final String name;
+    private final long seed;
+    private final int concurrency;
+    private final int minSessionLength;
+    private final int maxSessionLength;
+    private final DelayDistribution thinkTime;
+    private final OperationMix mix;
+
+    private Workload(WorkloadFile file, Path path) {
+        this.name = file.name == null ? path.getFileName().toString().replaceFirst("\\.json$", "") : file.name;
+        this.seed = file.seed == null ? System.nanoTime() : file.seed;
+        this.concurrency = file.concurrency == null ? 10 : file.concurrency;
+        SessionLength length = file.sessionLength == null ? new SessionLength() : file.sessionLength;
+        this.minSessionLength = length.min == null ? 1 : length.min;
+        this.maxSessionLength = length.max == null ? minSessionLength : length.max;
+        this.thinkTime = DelayDistribution.of(file.thinkTime);
+        if (file.mix == null || file.mix.isEmpty()) {
+            throw new IllegalArgumentException("Workload " + path + " has no mix.");
+        }
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        file.mix.forEach((operation, weight) -> weights.put(LoadOperation.byName(operation), weight));
+        this.mix = new OperationMix(weights);
+
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Workload " + path + " needs a concurrency of at least 1.");
+        }
+        if (minSessionLength < 1 || maxSessionLength < minSessionLength) {
+            throw new IllegalArgumentException("Workload " + path + " needs 1 <= sessionLength.min <= sessionLength.max.");
+        }
+    }
+
+    public static Workload load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            WorkloadFile workloadFile = new Gson().fromJson(reader, WorkloadFile.class);
+            if (workloadFile == null) {
+                throw new IllegalArgumentException("Workload " + file + " is empty.");
+            }
+            return new Workload(workloadFile, file);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Workload " + file + " could not be read.", exception);
+        } catch (JsonParseException exception) {
+            throw new IllegalArgumentException("Workload " + file + " is not valid JSON.", exception);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public DelayDistribution getThinkTime() {
+        return thinkTime;
+    }
+
+    public OperationMix getMix() {
+        return mix;
+    }
+
+    public int drawSessionLength(Random random) {
+        return minSessionLength + random.nextInt(maxSessionLength - minSessionLength + 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s, sessions of %d-%d operations, %d at once)",
+                name, mix, minSessionLength, maxSessionLength, concurrency);
+    }
+
+    private static class WorkloadFile {
+        private String name;
+        private Long seed;
+        private Integer concurrency;
+        private SessionLength sessionLength;
+        private DelayDistribution.Settings thinkTime;
+        private Map<String, Integer> mix;
+    }
+
+    private static class SessionLength {
+        private Integer min;
+        private Integer max;
+    }
+
+}
@@ -0,0 +1,80 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.BaseWeAreApi;
+
+import java.util.concurrent.TimeUnit;
+
+import static restassuredapi.HistogramCodec.millis;
+
+/**
+ * Runs a workload file against a WEare server or the stand-in and writes a report labelled with the release it
+ * ran against, so reports of the same workload compare releases. Run it with
+ * {@code mvn -P load test-compile exec:exec -Dload.main=restassuredapi.load.WorkloadGenerator -Dload.args="..."};
+ * {@code --help} lists the options.
+ */
+public class WorkloadGenerator extends BaseWeAreApi {
+
+    public static void main(String[] args) {
+        WorkloadOptions options;
+        try {
+            options = WorkloadOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(WorkloadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            WorkloadResult result = run(options);
+            System.out.println(summary(result));
+        } catch (RuntimeException exception) {
+            LOGGER.error("The workload run failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static WorkloadResult run(WorkloadOptions options) {
+        LoadFixture fixture = LoadGenerator.start(options);
+        WorkloadRun run = new WorkloadRun(fixture, options.workload, options.effectiveConcurrency());
+
+        LOGGER.info(String.format("Running workload %s with %d sessions at once for %d s after %d s of warm-up.",
+                options.workload, options.effectiveConcurrency(), TimeUnit.NANOSECONDS.toSeconds(options.durationNanos),
+                TimeUnit.NANOSECONDS.toSeconds(options.warmupNanos)));
+
+        WorkloadResult result;
+        try (LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            result = run.run(options.warmupNanos, options.durationNanos, options.reportIntervalNanos,
+                    (elapsedNanos, intervals) -> {
+                        LOGGER.info(LoadGenerator.progress(elapsedNanos, intervals));
+                        log.write(intervals);
+                    });
+        }
+
+        JsonObject report = result.toJson();
+        report.addProperty("label", options.label);
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        LOGGER.info(String.format("Workload report written to %s, interval histograms to %s.",
+                options.reportFile, options.histogramLog));
+        return result;
+    }
+
+    static String summary(WorkloadResult result) {
+        Histogram responseTime = result.getResponseTime();
+        return String.format("Workload %s: %.1f operations/s, %d sessions, %d errors, p50 %.1f ms, p99 %.1f ms.",
+                result.getWorkload().getName(), result.getThroughputPerSecond(), result.getSessionsCompleted(),
+                result.getErrorCount(), millis(responseTime.getValueAtPercentile(50)),
+                millis(responseTime.getValueAtPercentile(99)));
+    }
+
+}
@@ -0,0 +1,74 @@
+package restassuredapi.load;
+
+import java.nio.file.Paths;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the workload generator: a workload file, the options of {@link LoadOptions} that say what to
+ * load, and a label that tells the runs of one workload against different releases apart.
+ */
+class WorkloadOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: WorkloadGenerator --workload FILE [options]",
+            "  --workload FILE           JSON workload with mix, think time, session length and concurrency",
+            "  --label TEXT              release or build the run is against, copied to the report",
+            "  --concurrency N           sessions at once, instead of the workload's",
+            "  --duration TIME           measured time, e.g. 90s or 5m (default 60s)",
+            "  --warmup TIME             unmeasured time before it (default 10s)",
+            TARGET_USAGE);
+
+    Workload workload;
+    String label = "";
+    Integer concurrency;
+
+    WorkloadOptions() {
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.workloadReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.workloadHistogramLog"));
+    }
+
+    static WorkloadOptions parse(String[] args) {
+        WorkloadOptions options = new WorkloadOptions();
+        options.read(args);
+        if (options.workload == null && !options.help) {
+            throw new IllegalArgumentException("Option --workload is required.");
+        }
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--workload":
+                workload = Workload.load(Paths.get(value));
+                mix = workload.getMix();
+                seed = workload.getSeed();
+                break;
+            case "--label":
+                label = value;
+                break;
+            case "--concurrency":
+                concurrency = Integer.parseInt(value);
+                break;
+            // The workload file sets the mix and sessions pace themselves by think time.
+            case "--mix":
+            case "--rate":
+            case "--arrivals":
+            case "--max-in-flight":
+                throw new IllegalArgumentException("Option " + name + " does not apply to workload runs.");
+            default:
+                super.set(name, value);
+        }
+    }
+
+    int effectiveConcurrency() {
+        return concurrency == null ? workload.getConcurrency() : concurrency;
+    }
+
+}
@@ -0,0 +1,84 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.HdrHistogram.Histogram;
+import restassuredapi.HistogramCodec;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of one workload run: sessions and operations completed in the measured part, with the latencies and
+ * errors of every operation, to compare one WEare release with another under the same mix.
+ */
+public class WorkloadResult {
+
+    private final Workload workload;
+    private final int concurrency;
+    private final double measuredSeconds;
+    private final long sessionsCompleted;
+    private final Map<LoadOperation, OperationStats> operations;
+
+    WorkloadResult(Workload workload, int concurrency, double measuredSeconds, long sessionsCompleted,
+                   Map<LoadOperation, OperationStats> operations) {
+        this.workload = workload;
+        this.concurrency = concurrency;
+        this.measuredSeconds = measuredSeconds;
+        this.sessionsCompleted = sessionsCompleted;
+        this.operations = Collections.unmodifiableMap(new EnumMap<>(operations));
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public double getMeasuredSeconds() {
+        return measuredSeconds;
+    }
+
+    public long getSessionsCompleted() {
+        return sessionsCompleted;
+    }
+
+    public Map<LoadOperation, OperationStats> getOperations() {
+        return operations;
+    }
+
+    public long getSuccessCount() {
+        return operations.values().stream().mapToLong(stats -> stats.getResponseTime().getTotalCount()).sum();
+    }
+
+    public long getErrorCount() {
+        return operations.values().stream().mapToLong(OperationStats::getErrorCount).sum();
+    }
+
+    public double getThroughputPerSecond() {
+        return getSuccessCount() / measuredSeconds;
+    }
+
+    public Histogram getResponseTime() {
+        Histogram combined = new Histogram(3);
+        operations.values().forEach(stats -> combined.add(stats.getResponseTime()));
+        return combined;
+    }
+
+    public JsonObject toJson() {
+        JsonArray operationsJson = new JsonArray();
+        operations.values().forEach(stats -> operationsJson.add(stats.toJson(measuredSeconds)));
+
+        long total = getSuccessCount() + getErrorCount();
+        JsonObject json = new JsonObject();
+        json.addProperty("workload", workload.getName());
+        json.addProperty("concurrency", concurrency);
+        json.addProperty("durationSeconds", measuredSeconds);
+        json.addProperty("sessionsCompleted", sessionsCompleted);
+        json.addProperty("throughputPerSecond", Math.round(getThroughputPerSecond() * 100) / 100.0);
+        json.addProperty("errorRate", total == 0 ? 0 : Math.round(getErrorCount() * 10000.0 / total) / 10000.0);
+        json.add("responseTime", HistogramCodec.summary(getResponseTime()));
+        json.add("operations", operationsJson);
+        return json;
+    }
+
+}
@@ -0,0 +1,138 @@
+package restassuredapi.load;
+
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.models.models.UserModel;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a {@link Workload} with a fixed number of session slots. Each slot runs one session after another as a
+ * random fixture user, with the workload's think time before every operation, so at most that many operations
+ * are in flight. Operations that end during the warm-up are not recorded.
+ */
+public class WorkloadRun extends BaseWeAreApi {
+
+    private static final long STOP_TIMEOUT_SECONDS = 60;
+
+    private final LoadFixture fixture;
+    private final Workload workload;
+    private final int concurrency;
+    private final Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    private final LongAdder sessionsCompleted = new LongAdder();
+
+    WorkloadRun(LoadFixture fixture, Workload workload, int concurrency) {
+        this.fixture = fixture;
+        this.workload = workload;
+        this.concurrency = concurrency;
+        for (LoadOperation operation : workload.getMix().getOperations()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    WorkloadResult run(long warmupNanos, long durationNanos, long reportIntervalNanos,
+                       OpenLoopRun.IntervalListener listener) {
+        AtomicInteger slotNumber = new AtomicInteger();
+        ExecutorService slots = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "workload-session-" + slotNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "workload-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        reporter.scheduleAtFixedRate(() -> report(start, listener), warmupNanos + reportIntervalNanos,
+                reportIntervalNanos, TimeUnit.NANOSECONDS);
+
+        // Each slot draws from its own generator, seeded from the workload, so a rerun draws the same sessions.
+        Random seeds = new Random(workload.getSeed());
+        for (int i = 0; i < concurrency; i++) {
+            Random random = new Random(seeds.nextLong());
+            slots.execute(() -> runSessions(random, measureFrom, end));
+        }
+
+        slots.shutdown();
+        try {
+            long remaining = end - System.nanoTime() + TimeUnit.SECONDS.toNanos(STOP_TIMEOUT_SECONDS);
+            if (!slots.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                LOGGER.warn(String.format("Sessions were still running %d s after the run ended.",
+                        STOP_TIMEOUT_SECONDS));
+                slots.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            slots.shutdownNow();
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        report(start, listener);
+        double measuredSeconds = durationNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return new WorkloadResult(workload, concurrency, measuredSeconds, sessionsCompleted.sum(), stats);
+    }
+
+    private void runSessions(Random random, long measureFrom, long end) {
+        while (System.nanoTime() < end) {
+            UserModel user = fixture.getUsers().get(random.nextInt(fixture.getUsers().size()));
+            int length = workload.drawSessionLength(random);
+            for (int i = 0; i < length; i++) {
+                long wakeUp = System.nanoTime() + workload.getThinkTime().drawNanos(random);
+                if (wakeUp >= end || !sleepUntil(wakeUp)) {
+                    return;
+                }
+                execute(workload.getMix().next(random), user, measureFrom);
+            }
+            if (System.nanoTime() >= measureFrom) {
+                sessionsCompleted.increment();
+            }
+        }
+    }
+
+    private void execute(LoadOperation operation, UserModel user, long measureFrom) {
+        long startedAt = System.nanoTime();
+        try {
+            operation.execute(fixture, user);
+            long completedAt = System.nanoTime();
+            if (completedAt >= measureFrom) {
+                stats.get(operation).recordSuccess(completedAt - startedAt, completedAt - startedAt);
+            }
+        } catch (Throwable error) {
+            if (System.nanoTime() >= measureFrom) {
+                stats.get(operation).recordError(error);
+            }
+        }
+    }
+
+    private synchronized void report(long start, OpenLoopRun.IntervalListener listener) {
+        long elapsedNanos = System.nanoTime() - start;
+        Map<LoadOperation, OperationStats.Interval> intervals = new EnumMap<>(LoadOperation.class);
+        stats.forEach((operation, operationStats) -> intervals.put(operation, operationStats.collectInterval()));
+        if (listener != null) {
+            listener.onInterval(elapsedNanos, intervals);
+        }
+    }
+
+    private static boolean sleepUntil(long deadline) {
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
@@ -6,7 +6,7 @@ public class CategoryModel extends BaseModel {
     private Integer id;
     private String name;
 
-    public int getId() {
+    public Integer getId() {
         return id;
     }
 
@@ -13,4 +13,12 @@ public class CountryModel extends BaseModel {
     public String getCountry() {
         return country;
     }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
 }
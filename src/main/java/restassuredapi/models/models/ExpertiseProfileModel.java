@@ -12,7 +12,7 @@ public class ExpertiseProfileModel extends BaseModel {
     private CategoryModel category;
     private double availability;
 
-    public int getId() {
+    public Integer getId() {
         return id;
     }
 
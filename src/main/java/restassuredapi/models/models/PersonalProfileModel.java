@@ -58,7 +58,7 @@ public class PersonalProfileModel extends BaseModel{
         this.picturePrivacy = picturePrivacy;
     }
 
-    public int getId() {
+    public Integer getId() {
         return id;
     }
 
@@ -69,4 +69,47 @@ public class PostModel extends BaseModel {
         return user;
     }
 
+    public void setCategory(CategoryModel category) {
+        this.category = category;
+    }
+
+    public void setComments(List<CommentModel> comments) {
+        this.comments = comments;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public void setLiked(boolean isLiked) {
+        this.isLiked = isLiked;
+    }
+
+    public void setLikes(Set<UserModel> likes) {
+        this.likes = likes;
+    }
+
+    public void setPicture(String picture) {
+        this.picture = picture;
+    }
+
+    public void setPostId(Integer postId) {
+        this.postId = postId;
+    }
+
+    public void setPublic(boolean isPublic) {
+        this.isPublic = isPublic;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public void setUser(UserModel user) {
+        this.user = user;
+    }
 }
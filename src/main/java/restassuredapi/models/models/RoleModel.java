@@ -9,4 +9,19 @@ public class RoleModel extends GrantedAuthorityModel {
     private String authority;
     private List<UserModel> users=new ArrayList<>();
 
+    public int getId() {
+        return id;
+    }
+
+    public List<UserModel> getUsers() {
+        return users;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setUsers(List<UserModel> users) {
+        this.users = users;
+    }
 }
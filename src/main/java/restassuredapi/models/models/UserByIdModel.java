@@ -63,4 +63,52 @@ public class UserByIdModel extends BaseModel {
     public String getUsername() {
         return username;
     }
+
+    public void setAuthorities(String[] authorities) {
+        this.authorities = authorities;
+    }
+
+    public void setBirthYear(String birthYear) {
+        this.birthYear = birthYear;
+    }
+
+    public void setCity(CityModel city) {
+        this.city = city;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public void setExpertise(String expertise) {
+        this.expertise = expertise;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public void setGender(String[] gender) {
+        this.gender = gender;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setLastNAme(String lastNAme) {
+        this.lastNAme = lastNAme;
+    }
+
+    public void setPersonalReview(String personalReview) {
+        this.personalReview = personalReview;
+    }
+
+    public void setSkills(SkillModel[] skills) {
+        this.skills = skills;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
 }
@@ -0,0 +1,177 @@
+package restassuredapi.standin;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import restassuredapi.DelayDistribution;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Server behaviour the stand-in imitates: latency distributions, bandwidth caps, injected error responses and
+ * dropped connections, set for all endpoints under {@code default} and overridden per endpoint. Endpoints are
+ * keyed like the endpoint latency report, as {@code "METHOD ENDPOINT"} or just {@code "ENDPOINT"}, for example
+ * {@code "POST CREATE_COMMENT"}. A setting an override leaves out is taken from {@code default}.
+ *
+ * <pre>
+ * {
+ *   "seed": 42,
+ *   "default": {"latency": {"distribution": "lognormal", "medianMs": 40, "p99Ms": 300}},
+ *   "endpoints": {
+ *     "POST CREATE_COMMENT": {"errorRate": 0.05, "errorStatus": 500},
+ *     "GET POST": {"bandwidthKbps": 512, "resetRate": 0.01, "resetPhase": "midBody"}
+ *   }
+ * }
+ * </pre>
+ */
+class StandInProfile {
+
+    static final StandInProfile NONE = new StandInProfile();
+
+    private final Behavior defaultBehavior;
+    private final Map<String, Behavior> endpointBehaviors;
+    private final Random random;
+
+    private StandInProfile() {
+        this.defaultBehavior = Behavior.resolve(null, null);
+        this.endpointBehaviors = Collections.emptyMap();
+        this.random = new Random();
+    }
+
+    private StandInProfile(ProfileFile file) {
+        this.defaultBehavior = Behavior.resolve(file.defaultSettings, null);
+        this.endpointBehaviors = new HashMap<>();
+        if (file.endpoints != null) {
+            file.endpoints.forEach((endpoint, settings) ->
+                    endpointBehaviors.put(endpoint, Behavior.resolve(settings, file.defaultSettings)));
+        }
+        this.random = file.seed == null ? new Random() : new Random(file.seed);
+    }
+
+    static StandInProfile load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ProfileFile profileFile = new Gson().fromJson(reader, ProfileFile.class);
+            if (profileFile == null) {
+                throw new IllegalArgumentException("Stand-in profile " + file + " is empty.");
+            }
+            return new StandInProfile(profileFile);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Stand-in profile " + file + " could not be read.", exception);
+        } catch (JsonParseException exception) {
+            throw new IllegalArgumentException("Stand-in profile " + file + " is not valid JSON.", exception);
+        }
+    }
+
+    Behavior behaviorFor(String method, String endpoint) {
+        Behavior behavior = endpointBehaviors.get(method + " " + endpoint);
+        if (behavior == null) {
+            behavior = endpointBehaviors.get(endpoint);
+        }
+        return behavior == null ? defaultBehavior : behavior;
+    }
+
+    Fault drawFault(Behavior behavior) {
+        double draw = random.nextDouble();
+        if (draw < behavior.resetRate) {
+            return behavior.resetPhase == ResetPhase.MID_BODY ? Fault.RESET_MID_BODY : Fault.RESET_BEFORE_RESPONSE;
+        }
+        return draw < behavior.resetRate + behavior.errorRate ? Fault.ERROR : Fault.NONE;
+    }
+
+    long drawLatencyNanos(Behavior behavior) {
+        return behavior.latency.drawNanos(random);
+    }
+
+    enum Fault {
+        NONE, ERROR, RESET_BEFORE_RESPONSE, RESET_MID_BODY
+    }
+
+    enum ResetPhase {
+        BEFORE_RESPONSE, MID_BODY;
+
+        private static ResetPhase parse(String phase) {
+            if (phase == null || phase.equals("beforeResponse")) {
+                return BEFORE_RESPONSE;
+            }
+            if (phase.equals("midBody")) {
+                return MID_BODY;
+            }
+            throw new IllegalArgumentException("Unknown reset phase " + phase + ". Use beforeResponse or midBody.");
+        }
+    }
+
+    static class Behavior {
+
+        final DelayDistribution latency;
+        final long bandwidthBytesPerSecond;
+        final double errorRate;
+        final int errorStatus;
+        final double resetRate;
+        final ResetPhase resetPhase;
+
+        private Behavior(DelayDistribution latency, long bandwidthBytesPerSecond, double errorRate, int errorStatus,
+                         double resetRate, ResetPhase resetPhase) {
+            this.latency = latency;
+            this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+            this.errorRate = checkRate(errorRate, "errorRate");
+            this.errorStatus = errorStatus;
+            this.resetRate = checkRate(resetRate, "resetRate");
+            this.resetPhase = resetPhase;
+            if (errorRate + resetRate > 1) {
+                throw new IllegalArgumentException("errorRate and resetRate add up to more than 1.");
+            }
+        }
+
+        boolean isPassThrough() {
+            return latency.isZero() && bandwidthBytesPerSecond <= 0 && errorRate == 0 && resetRate == 0;
+        }
+
+        private static Behavior resolve(Settings settings, Settings fallback) {
+            Settings own = settings == null ? new Settings() : settings;
+            Settings inherited = fallback == null ? new Settings() : fallback;
+            DelayDistribution.Settings latency = own.latency != null ? own.latency : inherited.latency;
+            Integer bandwidthKbps = own.bandwidthKbps != null ? own.bandwidthKbps : inherited.bandwidthKbps;
+            Double errorRate = own.errorRate != null ? own.errorRate : inherited.errorRate;
+            Integer errorStatus = own.errorStatus != null ? own.errorStatus : inherited.errorStatus;
+            Double resetRate = own.resetRate != null ? own.resetRate : inherited.resetRate;
+            String resetPhase = own.resetPhase != null ? own.resetPhase : inherited.resetPhase;
+
+            return new Behavior(DelayDistribution.of(latency),
+                    bandwidthKbps == null ? 0 : bandwidthKbps * 1000L / 8,
+                    errorRate == null ? 0 : errorRate,
+                    errorStatus == null ? 500 : errorStatus,
+                    resetRate == null ? 0 : resetRate,
+                    ResetPhase.parse(resetPhase));
+        }
+
+        private static double checkRate(double rate, String name) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1, but was " + rate + ".");
+            }
+            return rate;
+        }
+    }
+
+    private static class ProfileFile {
+        private Long seed;
+        @SerializedName("default")
+        private Settings defaultSettings;
+        private Map<String, Settings> endpoints;
+    }
+
+    private static class Settings {
+        private DelayDistribution.Settings latency;
+        private Integer bandwidthKbps;
+        private Double errorRate;
+        private Integer errorStatus;
+        private Double resetRate;
+        private String resetPhase;
+    }
+
+}
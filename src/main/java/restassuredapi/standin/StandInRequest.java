@@ -0,0 +1,118 @@
+package restassuredapi.standin;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import restassuredapi.standin.StandInStore.StoredUser;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * One request to the stand-in after routing: the path parameters, the decoded query and form parameters,
+ * the JSON body and the user of the session cookie, if any.
+ */
+class StandInRequest {
+
+    private final Matcher path;
+    private final Map<String, String> query;
+    private final Map<String, String> form;
+    private final String body;
+    private final StoredUser user;
+
+    StandInRequest(Matcher path, String rawQuery, String contentType, String body, StoredUser user) {
+        this.path = path;
+        this.query = decodeParameters(rawQuery);
+        boolean formBody = contentType != null && contentType.startsWith("application/x-www-form-urlencoded");
+        this.form = formBody ? decodeParameters(body) : Collections.emptyMap();
+        this.body = body;
+        this.user = user;
+    }
+
+    StoredUser user() {
+        return user;
+    }
+
+    int pathInt(int group) {
+        return parseInt(path.group(group), "path segment " + group);
+    }
+
+    String query(String name) {
+        return query.get(name);
+    }
+
+    int queryInt(String name) {
+        return parseInt(query.get(name), "query parameter " + name);
+    }
+
+    String form(String name) {
+        return form.get(name);
+    }
+
+    JsonObject json() {
+        if (body == null || body.trim().isEmpty()) {
+            return new JsonObject();
+        }
+        JsonElement element = JsonParser.parseString(body);
+        if (!element.isJsonObject()) {
+            throw new IllegalArgumentException("Request body is not a JSON object.");
+        }
+        return element.getAsJsonObject();
+    }
+
+    static String string(JsonObject json, String name) {
+        JsonElement element = json.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    static int integer(JsonObject json, String name) {
+        JsonElement element = json.get(name);
+        return element == null || element.isJsonNull() ? 0 : element.getAsInt();
+    }
+
+    static boolean bool(JsonObject json, String name) {
+        JsonElement element = json.get(name);
+        return element != null && !element.isJsonNull() && element.getAsBoolean();
+    }
+
+    static JsonObject object(JsonObject json, String name) {
+        JsonElement element = json.get(name);
+        return element != null && element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value, exception);
+        }
+    }
+
+    private static Map<String, String> decodeParameters(String encoded) {
+        Map<String, String> parameters = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.putIfAbsent(decode(name), decode(value));
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+}
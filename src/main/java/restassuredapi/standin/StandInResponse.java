@@ -0,0 +1,93 @@
+package restassuredapi.standin;
+
+import com.google.gson.JsonObject;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import restassuredapi.JsonCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Status, headers and body the stand-in answers with. JSON bodies are written with the shared {@link JsonCodec},
+ * so they carry exactly the field names the API helpers read.
+ */
+class StandInResponse {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final int statusCode;
+    private final byte[] body;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    private StandInResponse(int statusCode, String contentType, byte[] body) {
+        this.statusCode = statusCode;
+        this.body = body;
+        if (contentType != null) {
+            headers.put("Content-Type", contentType);
+        }
+    }
+
+    static StandInResponse ok() {
+        return new StandInResponse(SC_OK, null, NO_BODY);
+    }
+
+    static StandInResponse json(Object model) {
+        return new StandInResponse(SC_OK, "application/json",
+                JsonCodec.toJson(model).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StandInResponse text(String text) {
+        return status(SC_OK, text);
+    }
+
+    static StandInResponse status(int statusCode, String text) {
+        return new StandInResponse(statusCode, "text/plain;charset=UTF-8", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The error body Spring Boot answers with.
+    static StandInResponse error(int statusCode, String path) {
+        JsonObject error = new JsonObject();
+        error.addProperty("timestamp", Instant.now().toString());
+        error.addProperty("status", statusCode);
+        error.addProperty("error", EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH));
+        error.addProperty("path", path);
+        return new StandInResponse(statusCode, "application/json", error.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StandInResponse notFound(String entity, int id) {
+        return status(SC_NOT_FOUND, String.format("%s with id %d not found", entity, id));
+    }
+
+    static StandInResponse forbidden() {
+        return status(SC_FORBIDDEN, "Access denied");
+    }
+
+    static StandInResponse redirect(String location) {
+        StandInResponse response = new StandInResponse(SC_MOVED_TEMPORARILY, null, NO_BODY);
+        response.headers.put("Location", location);
+        return response;
+    }
+
+    StandInResponse header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    int statusCode() {
+        return statusCode;
+    }
+
+    byte[] body() {
+        return body;
+    }
+
+    Map<String, String> headers() {
+        return headers;
+    }
+
+}
@@ -0,0 +1,574 @@
+package restassuredapi.standin;
+
+import restassuredapi.models.models.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.telerikacademy.testframework.utils.UserRoles.ROLE_ADMIN;
+import static com.telerikacademy.testframework.utils.UserRoles.ROLE_USER;
+
+/**
+ * In-memory data of the WEare stand-in. Every operation takes the store lock, so concurrent requests see the
+ * same ordering the real server's transactions would give them. Entities are returned as fresh models.
+ */
+class StandInStore {
+
+    static final int DEFAULT_CATEGORY_ID = 100;
+    static final String DEFAULT_CATEGORY_NAME = "All";
+
+    private final AtomicInteger userIds = new AtomicInteger();
+    private final AtomicInteger profileIds = new AtomicInteger();
+    private final AtomicInteger postIds = new AtomicInteger();
+    private final AtomicInteger commentIds = new AtomicInteger();
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private final AtomicInteger skillIds = new AtomicInteger();
+
+    private final Map<Integer, StoredUser> users = new LinkedHashMap<>();
+    private final Map<String, StoredUser> usersByName = new HashMap<>();
+    private final Map<Integer, StoredPost> posts = new LinkedHashMap<>();
+    private final Map<Integer, StoredComment> comments = new LinkedHashMap<>();
+    // The comments of each post, so a post is built without scanning every comment of the store.
+    private final Map<Integer, Map<Integer, StoredComment>> commentsByPost = new HashMap<>();
+    private final Map<Integer, StoredRequest> requests = new LinkedHashMap<>();
+    private final Map<Integer, SkillModel> skills = new LinkedHashMap<>();
+
+    // Users
+
+    synchronized StoredUser register(String username, String password, String email, boolean admin,
+                                     int categoryId, String categoryName) {
+        if (usersByName.containsKey(username)) {
+            return null;
+        }
+        StoredUser user = new StoredUser(userIds.incrementAndGet(), username, password, email, admin);
+        user.personalProfile.setId(profileIds.incrementAndGet());
+        user.expertiseProfile.setId(user.personalProfile.getId());
+        user.expertiseProfile.setCategory(category(categoryId, categoryName));
+        users.put(user.id, user);
+        usersByName.put(username, user);
+        return user;
+    }
+
+    synchronized StoredUser findUser(int userId) {
+        return users.get(userId);
+    }
+
+    synchronized StoredUser findUser(String username) {
+        return usersByName.get(username);
+    }
+
+    synchronized StoredUser authenticate(String username, String password) {
+        StoredUser user = usersByName.get(username);
+        return user != null && user.enabled && user.password.equals(password) ? user : null;
+    }
+
+    synchronized void setEnabled(int userId, boolean enabled) {
+        StoredUser user = users.get(userId);
+        if (user != null) {
+            user.enabled = enabled;
+        }
+    }
+
+    synchronized PersonalProfileModel updatePersonalProfile(int userId, PersonalProfileModel update) {
+        StoredUser user = users.get(userId);
+        if (user == null) {
+            return null;
+        }
+        PersonalProfileModel profile = user.personalProfile;
+        profile.setFirstName(update.getFirstName());
+        profile.setLastName(update.getLastName());
+        profile.setBirthYear(update.getBirthYear());
+        profile.setSex(update.getSex());
+        profile.setPersonalReview(update.getPersonalReview());
+        profile.setPicture(update.getPicture());
+        profile.setPicturePrivacy(update.getPicturePrivacy());
+        if (update.getLocation() != null && update.getLocation().getCity() != null) {
+            profile.getLocation().getCity().setCity(update.getLocation().getCity().getCity());
+        }
+        if (profile.getMemberSince() == null) {
+            profile.setMemberSince(LocalDateTime.now().toLocalDate().toString());
+        }
+        return copy(profile);
+    }
+
+    synchronized ExpertiseProfileModel updateExpertiseProfile(int userId, double availability, int categoryId,
+                                                              String categoryName, List<String> skillNames) {
+        StoredUser user = users.get(userId);
+        if (user == null) {
+            return null;
+        }
+        ExpertiseProfileModel profile = user.expertiseProfile;
+        profile.setAvailability(availability);
+        profile.setCategory(category(categoryId, categoryName));
+        List<SkillModel> profileSkills = new ArrayList<>();
+        for (String skillName : skillNames) {
+            profileSkills.add(findOrCreateSkill(skillName, profile.getCategory()));
+        }
+        profile.setSkills(profileSkills);
+        return copy(profile);
+    }
+
+    synchronized List<UserBySearchModel> searchUsers(String expertise, String firstName, int index, int size) {
+        List<UserBySearchModel> found = users.values().stream()
+                .filter(user -> matches(user.expertiseProfile.getCategory().getName(), expertise))
+                .filter(user -> matches(user.personalProfile.getFirstName(), firstName))
+                .map(this::toSearchModel)
+                .collect(Collectors.toList());
+        return page(found, index, size);
+    }
+
+    synchronized UserByIdModel toUserByIdModel(StoredUser user) {
+        UserByIdModel model = new UserByIdModel();
+        model.setId(user.id);
+        model.setUsername(user.username);
+        model.setEmail(user.email);
+        model.setAuthorities(user.admin
+                ? new String[]{ROLE_USER.toString(), ROLE_ADMIN.toString()}
+                : new String[]{ROLE_USER.toString()});
+        model.setFirstName(user.personalProfile.getFirstName());
+        model.setLastNAme(user.personalProfile.getLastName());
+        model.setBirthYear(user.personalProfile.getBirthYear());
+        model.setPersonalReview(user.personalProfile.getPersonalReview());
+        model.setCity(user.personalProfile.getLocation().getCity());
+        model.setGender(user.personalProfile.getSex() == null ? new String[0] : new String[]{user.personalProfile.getSex()});
+        model.setExpertise(user.expertiseProfile.getCategory().getName());
+        model.setSkills(user.expertiseProfile.getSkills().toArray(new SkillModel[0]));
+        return model;
+    }
+
+    // Posts
+
+    synchronized PostModel createPost(StoredUser author, String content, String picture, boolean isPublic) {
+        StoredPost post = new StoredPost(postIds.incrementAndGet(), author.id, content, picture, isPublic);
+        posts.put(post.id, post);
+        return toPostModel(post);
+    }
+
+    synchronized StoredPost findPost(int postId) {
+        return posts.get(postId);
+    }
+
+    synchronized boolean editPost(StoredUser editor, int postId, String content, String picture, boolean isPublic) {
+        StoredPost post = posts.get(postId);
+        if (post == null || !canManage(editor, post.authorId)) {
+            return false;
+        }
+        post.content = content;
+        post.picture = picture;
+        post.isPublic = isPublic;
+        return true;
+    }
+
+    synchronized PostModel likePost(StoredUser user, int postId) {
+        StoredPost post = posts.get(postId);
+        if (post == null) {
+            return null;
+        }
+        if (!post.likes.remove(user.id)) {
+            post.likes.add(user.id);
+        }
+        return toPostModel(post);
+    }
+
+    synchronized boolean deletePost(StoredUser user, int postId) {
+        StoredPost post = posts.get(postId);
+        if (post == null || !canManage(user, post.authorId)) {
+            return false;
+        }
+        posts.remove(postId);
+        Map<Integer, StoredComment> postComments = commentsByPost.remove(postId);
+        if (postComments != null) {
+            comments.keySet().removeAll(postComments.keySet());
+        }
+        return true;
+    }
+
+    synchronized List<PostModel> publicPosts() {
+        List<PostModel> feed = new ArrayList<>();
+        for (StoredPost post : posts.values()) {
+            if (post.isPublic) {
+                feed.add(toPostModel(post));
+            }
+        }
+        Collections.reverse(feed);
+        return feed;
+    }
+
+    synchronized List<PostModel> profilePosts(StoredUser viewer, int authorId, int index, int size) {
+        boolean seesPrivate = viewer.id == authorId || viewer.admin || isConnected(viewer.id, authorId);
+        List<PostModel> found = new ArrayList<>();
+        for (StoredPost post : posts.values()) {
+            if (post.authorId == authorId && (post.isPublic || seesPrivate)) {
+                found.add(toPostModel(post));
+            }
+        }
+        Collections.reverse(found);
+        return page(found, index, size);
+    }
+
+    // Comments
+
+    synchronized CommentModel createComment(StoredUser author, int postId, String content) {
+        StoredPost post = posts.get(postId);
+        if (post == null || !post.isPublic && author.id != post.authorId && !author.admin
+                && !isConnected(author.id, post.authorId)) {
+            return null;
+        }
+        StoredComment comment = new StoredComment(commentIds.incrementAndGet(), postId, author.id, content);
+        comments.put(comment.id, comment);
+        commentsByPost.computeIfAbsent(postId, id -> new LinkedHashMap<>()).put(comment.id, comment);
+        return toCommentModel(comment, true);
+    }
+
+    synchronized CommentModel findComment(int commentId) {
+        StoredComment comment = comments.get(commentId);
+        return comment == null ? null : toCommentModel(comment, true);
+    }
+
+    synchronized boolean editComment(StoredUser editor, int commentId, String content) {
+        StoredComment comment = comments.get(commentId);
+        if (comment == null || !canManage(editor, comment.authorId)) {
+            return false;
+        }
+        comment.content = content;
+        return true;
+    }
+
+    synchronized boolean likeComment(StoredUser user, int commentId) {
+        StoredComment comment = comments.get(commentId);
+        if (comment == null) {
+            return false;
+        }
+        if (!comment.likes.remove(user.id)) {
+            comment.likes.add(user.id);
+        }
+        return true;
+    }
+
+    synchronized boolean deleteComment(StoredUser user, int commentId) {
+        StoredComment comment = comments.get(commentId);
+        if (comment == null || !canManage(user, comment.authorId)) {
+            return false;
+        }
+        comments.remove(commentId);
+        commentsByPost.get(comment.postId).remove(commentId);
+        return true;
+    }
+
+    synchronized List<CommentModel> allComments() {
+        return comments.values().stream().map(comment -> toCommentModel(comment, true)).collect(Collectors.toList());
+    }
+
+    synchronized List<CommentModel> commentsOfPost(int postId) {
+        return commentsByPost.getOrDefault(postId, Collections.emptyMap()).values().stream()
+                .map(comment -> toCommentModel(comment, false))
+                .collect(Collectors.toList());
+    }
+
+    // Connections
+
+    // Sends a request, or disconnects users who are already connected, as the WEare endpoint does.
+    synchronized boolean requestOrDisconnect(StoredUser sender, StoredUser receiver) {
+        if (isConnected(sender.id, receiver.id)) {
+            sender.connections.remove(receiver.id);
+            receiver.connections.remove(sender.id);
+            requests.values().removeIf(request -> request.approved && request.connects(sender.id, receiver.id));
+            return false;
+        }
+        StoredRequest request = new StoredRequest(requestIds.incrementAndGet(), sender.id, receiver.id);
+        requests.put(request.id, request);
+        return true;
+    }
+
+    synchronized List<RequestModel> pendingRequests(int receiverId) {
+        List<RequestModel> pending = new ArrayList<>();
+        for (StoredRequest request : requests.values()) {
+            if (request.receiverId == receiverId && !request.approved) {
+                pending.add(toRequestModel(request));
+            }
+        }
+        Collections.reverse(pending);
+        return pending;
+    }
+
+    synchronized StoredRequest approveRequest(int receiverId, int requestId) {
+        StoredRequest request = requests.get(requestId);
+        if (request == null || request.receiverId != receiverId || request.approved) {
+            return null;
+        }
+        request.approved = true;
+        request.seen = true;
+        users.get(request.senderId).connections.add(request.receiverId);
+        users.get(request.receiverId).connections.add(request.senderId);
+        return request;
+    }
+
+    // Skills
+
+    synchronized SkillModel createSkill(String name, int categoryId, String categoryName) {
+        SkillModel skill = new SkillModel();
+        skill.setSkillId(skillIds.incrementAndGet());
+        skill.setSkill(name);
+        skill.setCategory(category(categoryId, categoryName));
+        skills.put(skill.getSkillId(), skill);
+        return copy(skill);
+    }
+
+    synchronized SkillModel findSkill(int skillId) {
+        SkillModel skill = skills.get(skillId);
+        return skill == null ? null : copy(skill);
+    }
+
+    synchronized boolean editSkill(int skillId, String name) {
+        SkillModel skill = skills.get(skillId);
+        if (skill == null) {
+            return false;
+        }
+        skill.setSkill(name);
+        return true;
+    }
+
+    synchronized boolean deleteSkill(int skillId) {
+        return skills.remove(skillId) != null;
+    }
+
+    synchronized List<SkillModel> allSkills() {
+        return skills.values().stream().map(StandInStore::copy).collect(Collectors.toList());
+    }
+
+    // Model conversion
+
+    private boolean isConnected(int userId, int otherUserId) {
+        StoredUser user = users.get(userId);
+        return user != null && user.connections.contains(otherUserId);
+    }
+
+    private static boolean canManage(StoredUser user, int ownerId) {
+        return user.id == ownerId || user.admin;
+    }
+
+    private static boolean matches(String value, String searchParam) {
+        return searchParam == null || searchParam.isEmpty()
+                || value != null && value.toLowerCase(Locale.ROOT).contains(searchParam.toLowerCase(Locale.ROOT));
+    }
+
+    private static <T> List<T> page(List<T> items, int index, int size) {
+        if (size <= 0) {
+            return items;
+        }
+        int from = (int) Math.min(items.size(), (long) index * size);
+        int to = Math.min(items.size(), from + size);
+        return new ArrayList<>(items.subList(from, to));
+    }
+
+    private SkillModel findOrCreateSkill(String name, CategoryModel category) {
+        for (SkillModel skill : skills.values()) {
+            if (skill.getSkill().equals(name)) {
+                return copy(skill);
+            }
+        }
+        return createSkill(name, category.getId(), category.getName());
+    }
+
+    private UserModel toUserModel(StoredUser user) {
+        UserModel model = new UserModel();
+        model.setId(user.id);
+        model.setUsername(user.username);
+        model.setEmail(user.email);
+        model.setEnabled(user.enabled);
+        model.setPersonalProfile(copy(user.personalProfile));
+        model.setExpertiseProfile(copy(user.expertiseProfile));
+        List<GrantedAuthorityModel> authorities = new ArrayList<>();
+        authorities.add(authority(ROLE_USER.toString()));
+        if (user.admin) {
+            authorities.add(authority(ROLE_ADMIN.toString()));
+        }
+        model.setAuthorities(authorities);
+        return model;
+    }
+
+    private UserBySearchModel toSearchModel(StoredUser user) {
+        UserBySearchModel model = new UserBySearchModel(user.id, user.personalProfile.getFirstName());
+        model.setUserId(user.id);
+        model.setUsername(user.username);
+        model.setExpertiseProfile(copy(user.expertiseProfile));
+        model.setEnabled(user.enabled);
+        model.setAccountNonExpired(true);
+        model.setAccountNonLocked(true);
+        model.setCredentialsNonExpired(true);
+        return model;
+    }
+
+    private PostModel toPostModel(StoredPost post) {
+        StoredUser author = users.get(post.authorId);
+        PostModel model = new PostModel();
+        model.setPostId(post.id);
+        model.setContent(post.content);
+        model.setPicture(post.picture);
+        model.setPublic(post.isPublic);
+        model.setDate(post.date);
+        model.setUser(toUserModel(author));
+        model.setCategory(copy(author.expertiseProfile.getCategory()));
+        model.setLikes(post.likes.stream().map(users::get).map(this::toUserModel)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        model.setComments(commentsOfPost(post.id));
+        model.setRank(post.likes.size());
+        return model;
+    }
+
+    private CommentModel toCommentModel(StoredComment comment, boolean withPost) {
+        CommentModel model = new CommentModel();
+        model.setCommentId(comment.id);
+        model.setContent(comment.content);
+        model.setDate(comment.date);
+        model.setUser(toUserModel(users.get(comment.authorId)));
+        model.setLikes(comment.likes.stream().map(users::get).map(this::toUserModel)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        if (withPost) {
+            PostModel post = toPostModel(posts.get(comment.postId));
+            post.setComments(null);
+            model.setPost(post);
+        }
+        return model;
+    }
+
+    private RequestModel toRequestModel(StoredRequest request) {
+        RequestModel model = new RequestModel();
+        model.setId(request.id);
+        model.setSender(toUserModel(users.get(request.senderId)));
+        model.setReceiver(toUserModel(users.get(request.receiverId)));
+        model.setApproved(request.approved);
+        model.setSeen(request.seen);
+        model.setTimeStamp(request.timeStamp);
+        return model;
+    }
+
+    private static CategoryModel category(int id, String name) {
+        CategoryModel category = new CategoryModel();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static GrantedAuthorityModel authority(String name) {
+        GrantedAuthorityModel authority = new GrantedAuthorityModel();
+        authority.setAuthority(name);
+        return authority;
+    }
+
+    private static CategoryModel copy(CategoryModel category) {
+        return category == null ? null : category(category.getId(), category.getName());
+    }
+
+    private static SkillModel copy(SkillModel skill) {
+        SkillModel copy = new SkillModel();
+        copy.setSkillId(skill.getSkillId());
+        copy.setSkill(skill.getSkill());
+        copy.setCategory(copy(skill.getCategory()));
+        return copy;
+    }
+
+    private static PersonalProfileModel copy(PersonalProfileModel profile) {
+        PersonalProfileModel copy = new PersonalProfileModel();
+        copy.setId(profile.getId());
+        copy.setFirstName(profile.getFirstName());
+        copy.setLastName(profile.getLastName());
+        copy.setBirthYear(profile.getBirthYear());
+        copy.setSex(profile.getSex());
+        copy.setPersonalReview(profile.getPersonalReview());
+        copy.setPicture(profile.getPicture());
+        copy.setPicturePrivacy(profile.getPicturePrivacy());
+        copy.setMemberSince(profile.getMemberSince());
+        copy.getLocation().getCity().setCity(profile.getLocation().getCity().getCity());
+        return copy;
+    }
+
+    private static ExpertiseProfileModel copy(ExpertiseProfileModel profile) {
+        ExpertiseProfileModel copy = new ExpertiseProfileModel();
+        copy.setId(profile.getId());
+        copy.setAvailability(profile.getAvailability());
+        copy.setCategory(copy(profile.getCategory()));
+        copy.setSkills(profile.getSkills().stream().map(StandInStore::copy).collect(Collectors.toList()));
+        return copy;
+    }
+
+    static class StoredUser {
+
+        final int id;
+        final String username;
+        final String password;
+        final String email;
+        final boolean admin;
+        final PersonalProfileModel personalProfile = new PersonalProfileModel();
+        final ExpertiseProfileModel expertiseProfile = new ExpertiseProfileModel();
+        final Set<Integer> connections = new HashSet<>();
+        boolean enabled = true;
+
+        private StoredUser(int id, String username, String password, String email, boolean admin) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.email = email;
+            this.admin = admin;
+        }
+    }
+
+    static class StoredPost {
+
+        final int id;
+        final int authorId;
+        final String date = LocalDateTime.now().toString();
+        final Set<Integer> likes = new LinkedHashSet<>();
+        String content;
+        String picture;
+        boolean isPublic;
+
+        private StoredPost(int id, int authorId, String content, String picture, boolean isPublic) {
+            this.id = id;
+            this.authorId = authorId;
+            this.content = content;
+            this.picture = picture;
+            this.isPublic = isPublic;
+        }
+    }
+
+    static class StoredComment {
+
+        final int id;
+        final int postId;
+        final int authorId;
+        final String date = LocalDateTime.now().toString();
+        final Set<Integer> likes = new LinkedHashSet<>();
+        String content;
+
+        private StoredComment(int id, int postId, int authorId, String content) {
+            this.id = id;
+            this.postId = postId;
+            this.authorId = authorId;
+            this.content = content;
+        }
+    }
+
+    static class StoredRequest {
+
+        final int id;
+        final int senderId;
+        final int receiverId;
+        final String timeStamp = LocalDateTime.now().toString();
+        boolean approved;
+        boolean seen;
+
+        private StoredRequest(int id, int senderId, int receiverId) {
+            this.id = id;
+            this.senderId = senderId;
+            this.receiverId = receiverId;
+        }
+
+        private boolean connects(int userId, int otherUserId) {
+            return senderId == userId && receiverId == otherUserId || senderId == otherUserId && receiverId == userId;
+        }
+    }
+
+}
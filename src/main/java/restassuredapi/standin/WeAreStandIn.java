@@ -0,0 +1,635 @@
+package restassuredapi.standin;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.telerikacademy.testframework.utils.Endpoints;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.EndpointMetrics;
+import restassuredapi.JsonCodec;
+import restassuredapi.models.models.*;
+import restassuredapi.standin.StandInProfile.Behavior;
+import restassuredapi.standin.StandInProfile.Fault;
+import restassuredapi.standin.StandInStore.StoredPost;
+import restassuredapi.standin.StandInStore.StoredRequest;
+import restassuredapi.standin.StandInStore.StoredUser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.telerikacademy.testframework.utils.Constants.API;
+import static com.telerikacademy.testframework.utils.Endpoints.*;
+import static com.telerikacademy.testframework.utils.UserRoles.ROLE_ADMIN;
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+import static org.apache.http.HttpStatus.*;
+import static restassuredapi.SessionStore.SESSION_COOKIE;
+import static restassuredapi.standin.StandInRequest.*;
+
+/**
+ * In-process stand-in for the WEare REST API, so the API suite can run offline and without shared server state.
+ * It serves the endpoints the API helpers call with the same status codes, redirects, session cookie and
+ * response texts as the real server, on top of an in-memory {@link StandInStore}. The data starts empty on
+ * every {@link #start()}. Enabled with {@code config.standIn.enabled}, which a system property of the same name
+ * overrides. {@code config.standIn.profile} names an optional {@link StandInProfile} file with the latency,
+ * bandwidth and faults to imitate.
+ */
+public class WeAreStandIn extends BaseWeAreApi {
+
+    private static final String ENABLED_KEY = "config.standIn.enabled";
+    private static final String PROFILE_KEY = "config.standIn.profile";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final int PORT = Integer.parseInt(getConfigPropertyByKey("config.standIn.port"));
+    private static final int THREADS = Integer.parseInt(getConfigPropertyByKey("config.standIn.threads"));
+    private static final long THROTTLE_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String PUT = "PUT";
+    private static final String DELETE = "DELETE";
+
+    private static final List<Route> routes = new ArrayList<>();
+    private static final Map<String, Integer> sessions = new ConcurrentHashMap<>();
+
+    private static StandInStore store;
+    private static volatile StandInProfile profile = StandInProfile.NONE;
+    private static HttpServer server;
+    private static ExecutorService workers;
+    private static ScheduledExecutorService deliveries;
+
+    static {
+        route(POST, AUTHENTICATE, false, WeAreStandIn::authenticate);
+        route(POST, ADMIN_STATUS, true, WeAreStandIn::changeUserStatus);
+
+        route(POST, API + REGISTER_USER, false, WeAreStandIn::registerUser);
+        route(POST, API + USERS, false, WeAreStandIn::searchUsers);
+        route(GET, API + USER_BY_ID, false, WeAreStandIn::getUserById);
+        route(POST, API + UPGRADE_USER_PERSONAL_WITH_ID, true, WeAreStandIn::upgradePersonalProfile);
+        route(POST, API + UPGRADE_USER_EXPERTISE_WITH_ID, true, WeAreStandIn::upgradeExpertiseProfile);
+        route(GET, API + USER_POSTS_WITH_ID, true, WeAreStandIn::getProfilePosts);
+
+        route(GET, API + Endpoints.POST, false, request -> StandInResponse.json(store.publicPosts()));
+        route(POST, API + CREATE_POST, true, WeAreStandIn::createPost);
+        route(PUT, API + EDIT_POST, true, WeAreStandIn::editPost);
+        route(POST, API + LIKE_POST, true, WeAreStandIn::likePost);
+        route(DELETE, API + DELETE_POST, true, WeAreStandIn::deletePost);
+        route(GET, API + COMMENTS_OF_POST, false, WeAreStandIn::getCommentsOfPost);
+
+        route(GET, API + COMMENT_ALL, false, request -> StandInResponse.json(store.allComments()));
+        route(POST, API + CREATE_COMMENT, true, WeAreStandIn::createComment);
+        route(PUT, API + EDIT_COMMENT, true, WeAreStandIn::editComment);
+        route(POST, API + LIKE_COMMENT, true, WeAreStandIn::likeComment);
+        route(DELETE, API + DELETE_COMMENT, true, WeAreStandIn::deleteComment);
+        route(GET, API + COMMENT_BY_POST, true, WeAreStandIn::getCommentsOfPost);
+        route(GET, API + COMMENT_SINGLE, true, WeAreStandIn::getComment);
+
+        route(POST, API + REQUEST, true, WeAreStandIn::sendRequest);
+        route(GET, API + USER_REQUEST_WITH_ID, true, WeAreStandIn::getUserRequests);
+        route(POST, API + APPROVE_REQUEST_WITH_ID, true, WeAreStandIn::approveRequest);
+
+        route(GET, API + FIND_SKILL, false, request -> StandInResponse.json(store.allSkills()));
+        route(POST, API + CREATE_SKILL, true, WeAreStandIn::createSkill);
+        route(PUT, API + DELETE_SKILL, false, WeAreStandIn::deleteSkill);
+        route(GET, API + GET_ONE_SKILL, false, WeAreStandIn::getSkill);
+        route(PUT, API + EDIT_SKILL, false, WeAreStandIn::editSkill);
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(setting(ENABLED_KEY));
+    }
+
+    public static synchronized String start() {
+        if (server != null) {
+            return getBaseUri();
+        }
+
+        String profileFile = setting(PROFILE_KEY);
+        profile = profileFile.isEmpty() ? StandInProfile.NONE : StandInProfile.load(Paths.get(profileFile));
+        store = new StandInStore();
+        sessions.clear();
+
+        workers = Executors.newFixedThreadPool(THREADS, daemonThreads("weare-stand-in-"));
+        deliveries = Executors.newScheduledThreadPool(THREADS, daemonThreads("weare-stand-in-delivery-"));
+
+        // Headers and body are written separately, so Nagle's algorithm would delay every response by an ACK.
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT), 0);
+        } catch (IOException exception) {
+            workers.shutdown();
+            deliveries.shutdown();
+            throw new UncheckedIOException("WEare stand-in could not listen on port " + PORT + ".", exception);
+        }
+        server.createContext("/", WeAreStandIn::handle);
+        server.setExecutor(workers);
+        server.start();
+
+        LOGGER.info(String.format("WEare stand-in listening on %s%s.", getBaseUri(),
+                profileFile.isEmpty() ? "" : " with profile " + profileFile));
+        return getBaseUri();
+    }
+
+    // Swaps the latency and fault profile of the running stand-in, e.g. once a load run has set up its data.
+    public static synchronized void useProfile(Path profileFile) {
+        if (server == null) {
+            throw new IllegalStateException("WEare stand-in is not running.");
+        }
+        profile = profileFile == null ? StandInProfile.NONE : StandInProfile.load(profileFile);
+        LOGGER.info(profileFile == null ? "WEare stand-in profile cleared."
+                : "WEare stand-in switched to profile " + profileFile + ".");
+    }
+
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        deliveries.shutdownNow();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        workers = null;
+        deliveries = null;
+        store = null;
+        profile = StandInProfile.NONE;
+        sessions.clear();
+        LOGGER.info("WEare stand-in stopped.");
+    }
+
+    public static synchronized String getBaseUri() {
+        if (server == null) {
+            throw new IllegalStateException("WEare stand-in is not running.");
+        }
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    // System properties override the config file, so a run can switch the stand-in and its profile on.
+    private static String setting(String key) {
+        return System.getProperty(key, getConfigPropertyByKey(key));
+    }
+
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Dispatch
+
+    private static void route(String method, String template, boolean authenticated, Handler handler) {
+        routes.add(new Route(method, template, authenticated, handler));
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Behavior behavior = profile.behaviorFor(method, EndpointMetrics.resolveEndpoint(path));
+        Fault fault = behavior.isPassThrough() ? Fault.NONE : profile.drawFault(behavior);
+
+        // Requests whose connection is dropped are still processed, as a client cannot tell whether they were.
+        StandInResponse response;
+        try {
+            String body = new String(readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+            response = fault == Fault.ERROR
+                    ? StandInResponse.error(behavior.errorStatus, path)
+                    : dispatch(exchange, method, path, body);
+        } catch (RuntimeException exception) {
+            LOGGER.error("WEare stand-in failed to answer " + exchange.getRequestURI(), exception);
+            response = StandInResponse.error(SC_INTERNAL_SERVER_ERROR, path);
+        }
+
+        Delivery delivery = new Delivery(exchange, response, behavior.bandwidthBytesPerSecond, fault);
+        if (behavior.isPassThrough()) {
+            delivery.run();
+            return;
+        }
+        try {
+            deliveries.schedule(delivery, profile.drawLatencyNanos(behavior), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException stopping) {
+            exchange.close();
+        }
+    }
+
+    private static StandInResponse dispatch(HttpExchange exchange, String method, String path, String body) {
+        boolean pathMatched = false;
+        for (Route route : routes) {
+            Matcher matcher = route.pattern.matcher(path);
+            if (!matcher.matches()) {
+                continue;
+            }
+            pathMatched = true;
+            if (!route.method.equals(method)) {
+                continue;
+            }
+
+            StoredUser user = sessionUser(exchange.getRequestHeaders());
+            if (route.authenticated && user == null) {
+                return StandInResponse.redirect(LOGIN);
+            }
+
+            StandInRequest request = new StandInRequest(matcher, exchange.getRequestURI().getRawQuery(),
+                    exchange.getRequestHeaders().getFirst("Content-Type"), body, user);
+            try {
+                return route.handler.handle(request);
+            } catch (IllegalArgumentException | IllegalStateException | JsonParseException exception) {
+                return StandInResponse.status(SC_BAD_REQUEST, String.valueOf(exception.getMessage()));
+            }
+        }
+
+        return pathMatched
+                ? StandInResponse.status(SC_METHOD_NOT_ALLOWED, method + " is not supported for " + path)
+                : StandInResponse.status(SC_NOT_FOUND, path + " not found");
+    }
+
+    private static StoredUser sessionUser(Headers headers) {
+        List<String> cookieHeaders = headers.get("Cookie");
+        if (cookieHeaders == null) {
+            return null;
+        }
+        for (String cookieHeader : cookieHeaders) {
+            for (String cookie : cookieHeader.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                    Integer userId = sessions.get(pair[1]);
+                    StoredUser user = userId == null ? null : store.findUser(userId);
+                    return user != null && user.enabled ? user : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        for (int read = input.read(chunk); read != -1; read = input.read(chunk)) {
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+
+    // Authentication and administration
+
+    private static StandInResponse authenticate(StandInRequest request) {
+        StoredUser user = store.authenticate(request.form("username"), String.valueOf(request.form("password")));
+        if (user == null) {
+            return StandInResponse.redirect(LOGIN + "?error");
+        }
+        String sessionId = UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ROOT);
+        sessions.put(sessionId, user.id);
+        return StandInResponse.redirect("/")
+                .header("Set-Cookie", SESSION_COOKIE + "=" + sessionId + "; Path=/; HttpOnly");
+    }
+
+    private static StandInResponse changeUserStatus(StandInRequest request) {
+        if (!request.user().admin) {
+            return StandInResponse.forbidden();
+        }
+        int userId = request.queryInt("userId");
+        if (store.findUser(userId) == null) {
+            return StandInResponse.notFound("User", userId);
+        }
+        boolean enable = Boolean.parseBoolean(request.form("enable"));
+        store.setEnabled(userId, enable);
+        if (!enable) {
+            sessions.values().removeIf(sessionUserId -> sessionUserId == userId);
+        }
+        return StandInResponse.redirect(ADMIN);
+    }
+
+    // Users
+
+    private static StandInResponse registerUser(StandInRequest request) {
+        JsonObject json = request.json();
+        String username = string(json, "username");
+        String password = string(json, "password");
+        if (username == null || username.isEmpty() || password == null || password.isEmpty()) {
+            return StandInResponse.status(SC_BAD_REQUEST, "Username and password are required");
+        }
+        if (!password.equals(string(json, "confirmPassword"))) {
+            return StandInResponse.status(SC_BAD_REQUEST, "Password does not match");
+        }
+
+        boolean admin = false;
+        JsonElement authorities = json.get("authorities");
+        if (authorities != null && authorities.isJsonArray()) {
+            for (JsonElement authority : authorities.getAsJsonArray()) {
+                admin |= ROLE_ADMIN.toString().equals(authority.getAsString());
+            }
+        }
+        JsonObject category = object(json, "category");
+        int categoryId = category.has("id") ? integer(category, "id") : StandInStore.DEFAULT_CATEGORY_ID;
+        String categoryName = category.has("name") ? string(category, "name") : StandInStore.DEFAULT_CATEGORY_NAME;
+
+        StoredUser user = store.register(username, password, string(json, "email"), admin, categoryId, categoryName);
+        if (user == null) {
+            return StandInResponse.status(SC_BAD_REQUEST, "User with this username already exist");
+        }
+        return StandInResponse.text(String.format("User with name %s and id %d was created", username, user.id));
+    }
+
+    private static StandInResponse getUserById(StandInRequest request) {
+        int userId = request.pathInt(1);
+        StoredUser user = store.findUser(userId);
+        return user == null ? StandInResponse.notFound("User", userId) : StandInResponse.json(store.toUserByIdModel(user));
+    }
+
+    private static StandInResponse searchUsers(StandInRequest request) {
+        JsonObject json = request.json();
+        return StandInResponse.json(store.searchUsers(string(json, "searchParam1"), string(json, "searchParam2"),
+                integer(json, "index"), integer(json, "size")));
+    }
+
+    private static StandInResponse upgradePersonalProfile(StandInRequest request) {
+        int userId = request.pathInt(1);
+        if (!canActFor(request.user(), userId)) {
+            return StandInResponse.forbidden();
+        }
+        PersonalProfileModel update = JsonCodec.fromJson(request.json(), PersonalProfileModel.class);
+        PersonalProfileModel profile = store.updatePersonalProfile(userId, update);
+        return profile == null ? StandInResponse.notFound("User", userId) : StandInResponse.json(profile);
+    }
+
+    private static StandInResponse upgradeExpertiseProfile(StandInRequest request) {
+        int userId = request.pathInt(1);
+        if (!canActFor(request.user(), userId)) {
+            return StandInResponse.forbidden();
+        }
+        JsonObject json = request.json();
+        List<String> skills = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            String skill = string(json, "skill" + i);
+            if (skill != null && !skill.isEmpty()) {
+                skills.add(skill);
+            }
+        }
+        JsonObject category = object(json, "category");
+        double availability = json.has("availability") ? json.get("availability").getAsDouble() : 0;
+        ExpertiseProfileModel profile = store.updateExpertiseProfile(userId, availability, integer(category, "id"),
+                string(category, "name"), skills);
+        return profile == null ? StandInResponse.notFound("User", userId) : StandInResponse.json(profile);
+    }
+
+    private static StandInResponse getProfilePosts(StandInRequest request) {
+        int userId = request.pathInt(1);
+        if (store.findUser(userId) == null) {
+            return StandInResponse.notFound("User", userId);
+        }
+        JsonObject json = request.json();
+        return StandInResponse.json(store.profilePosts(request.user(), userId, integer(json, "index"),
+                integer(json, "size")));
+    }
+
+    private static boolean canActFor(StoredUser user, int userId) {
+        return user.id == userId || user.admin;
+    }
+
+    // Posts
+
+    private static StandInResponse createPost(StandInRequest request) {
+        JsonObject json = request.json();
+        return StandInResponse.json(store.createPost(request.user(), string(json, "content"),
+                string(json, "picture"), bool(json, "public")));
+    }
+
+    private static StandInResponse editPost(StandInRequest request) {
+        int postId = request.queryInt("postId");
+        if (store.findPost(postId) == null) {
+            return StandInResponse.notFound("Post", postId);
+        }
+        JsonObject json = request.json();
+        return store.editPost(request.user(), postId, string(json, "content"), string(json, "picture"),
+                bool(json, "public")) ? StandInResponse.ok() : StandInResponse.forbidden();
+    }
+
+    private static StandInResponse likePost(StandInRequest request) {
+        int postId = request.queryInt("postId");
+        PostModel post = store.likePost(request.user(), postId);
+        return post == null ? StandInResponse.notFound("Post", postId) : StandInResponse.json(post);
+    }
+
+    private static StandInResponse deletePost(StandInRequest request) {
+        int postId = request.queryInt("postId");
+        if (store.findPost(postId) == null) {
+            return StandInResponse.notFound("Post", postId);
+        }
+        return store.deletePost(request.user(), postId) ? StandInResponse.ok() : StandInResponse.forbidden();
+    }
+
+    private static StandInResponse getCommentsOfPost(StandInRequest request) {
+        int postId = request.queryInt("postId");
+        StoredPost post = store.findPost(postId);
+        return post == null ? StandInResponse.notFound("Post", postId) : StandInResponse.json(store.commentsOfPost(postId));
+    }
+
+    // Comments
+
+    private static StandInResponse createComment(StandInRequest request) {
+        JsonObject json = request.json();
+        int postId = integer(json, "postId");
+        if (store.findPost(postId) == null) {
+            return StandInResponse.notFound("Post", postId);
+        }
+        CommentModel comment = store.createComment(request.user(), postId, string(json, "content"));
+        // The real server fails with 500 when a private post is commented by a user who is not connected.
+        return comment == null
+                ? StandInResponse.status(SC_INTERNAL_SERVER_ERROR, "Post is private")
+                : StandInResponse.json(comment);
+    }
+
+    private static StandInResponse editComment(StandInRequest request) {
+        int commentId = request.queryInt("commentId");
+        if (store.findComment(commentId) == null) {
+            return StandInResponse.notFound("Comment", commentId);
+        }
+        return store.editComment(request.user(), commentId, request.query("content"))
+                ? StandInResponse.ok() : StandInResponse.forbidden();
+    }
+
+    private static StandInResponse likeComment(StandInRequest request) {
+        int commentId = request.queryInt("commentId");
+        return store.likeComment(request.user(), commentId)
+                ? StandInResponse.ok() : StandInResponse.notFound("Comment", commentId);
+    }
+
+    private static StandInResponse deleteComment(StandInRequest request) {
+        int commentId = request.queryInt("commentId");
+        if (store.findComment(commentId) == null) {
+            return StandInResponse.notFound("Comment", commentId);
+        }
+        return store.deleteComment(request.user(), commentId) ? StandInResponse.ok() : StandInResponse.forbidden();
+    }
+
+    private static StandInResponse getComment(StandInRequest request) {
+        int commentId = request.queryInt("commentId");
+        CommentModel comment = store.findComment(commentId);
+        return comment == null ? StandInResponse.notFound("Comment", commentId) : StandInResponse.json(comment);
+    }
+
+    // Connection requests
+
+    private static StandInResponse sendRequest(StandInRequest request) {
+        int receiverId = integer(request.json(), "id");
+        StoredUser receiver = store.findUser(receiverId);
+        if (receiver == null) {
+            return StandInResponse.notFound("User", receiverId);
+        }
+        StoredUser sender = request.user();
+        return store.requestOrDisconnect(sender, receiver)
+                ? StandInResponse.text(String.format("%s send friend request to %s", sender.username, receiver.username))
+                : StandInResponse.text(String.format("%s disconnected from %s", sender.username, receiver.username));
+    }
+
+    private static StandInResponse getUserRequests(StandInRequest request) {
+        int userId = request.pathInt(1);
+        return canActFor(request.user(), userId)
+                ? StandInResponse.json(store.pendingRequests(userId)) : StandInResponse.forbidden();
+    }
+
+    private static StandInResponse approveRequest(StandInRequest request) {
+        int userId = request.pathInt(1);
+        if (!canActFor(request.user(), userId)) {
+            return StandInResponse.forbidden();
+        }
+        int requestId = request.queryInt("requestId");
+        StoredRequest approved = store.approveRequest(userId, requestId);
+        if (approved == null) {
+            return StandInResponse.notFound("Request", requestId);
+        }
+        return StandInResponse.text(String.format("%s approved request of %s",
+                store.findUser(approved.receiverId).username, store.findUser(approved.senderId).username));
+    }
+
+    // Skills
+
+    private static StandInResponse createSkill(StandInRequest request) {
+        JsonObject json = request.json();
+        JsonObject category = object(json, "category");
+        return StandInResponse.json(store.createSkill(string(json, "skill"), integer(category, "id"),
+                string(category, "name")));
+    }
+
+    private static StandInResponse deleteSkill(StandInRequest request) {
+        int skillId = request.queryInt("skillId");
+        return store.deleteSkill(skillId) ? StandInResponse.ok() : StandInResponse.notFound("Skill", skillId);
+    }
+
+    private static StandInResponse getSkill(StandInRequest request) {
+        int skillId = request.queryInt("skillId");
+        SkillModel skill = store.findSkill(skillId);
+        return skill == null ? StandInResponse.notFound("Skill", skillId) : StandInResponse.json(skill);
+    }
+
+    private static StandInResponse editSkill(StandInRequest request) {
+        int skillId = request.queryInt("skillId");
+        return store.editSkill(skillId, request.query("skill"))
+                ? StandInResponse.ok() : StandInResponse.notFound("Skill", skillId);
+    }
+
+    // Writes a response after its injected latency, in chunks paced to the bandwidth cap, or drops the connection.
+    private static class Delivery implements Runnable {
+
+        private final HttpExchange exchange;
+        private final StandInResponse response;
+        private final Fault fault;
+        private final int chunkSize;
+        private final int limit;
+        private int written = -1;
+
+        private Delivery(HttpExchange exchange, StandInResponse response, long bandwidthBytesPerSecond, Fault fault) {
+            this.exchange = exchange;
+            this.response = response;
+            this.fault = fault;
+            this.chunkSize = bandwidthBytesPerSecond <= 0 ? Integer.MAX_VALUE
+                    : (int) Math.max(1, bandwidthBytesPerSecond * THROTTLE_TICK_NANOS / TimeUnit.SECONDS.toNanos(1));
+            int length = response.body().length;
+            this.limit = fault == Fault.RESET_MID_BODY ? length / 2 : length;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (written < 0) {
+                    // Closing the exchange before any response makes the server drop the connection.
+                    if (fault == Fault.RESET_BEFORE_RESPONSE || fault == Fault.RESET_MID_BODY && limit == 0) {
+                        exchange.close();
+                        return;
+                    }
+                    response.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+                    byte[] body = response.body();
+                    exchange.sendResponseHeaders(response.statusCode(), body.length == 0 ? -1 : body.length);
+                    written = 0;
+                }
+                int end = (int) Math.min(limit, (long) written + chunkSize);
+                if (end > written) {
+                    OutputStream output = exchange.getResponseBody();
+                    output.write(response.body(), written, end - written);
+                    output.flush();
+                    written = end;
+                }
+                if (written < limit) {
+                    deliveries.schedule(this, THROTTLE_TICK_NANOS, TimeUnit.NANOSECONDS);
+                    return;
+                }
+            } catch (IOException | RejectedExecutionException ignored) {
+                // The client went away or the stand-in is stopping, either way the exchange is done.
+            }
+            // A body shorter than its Content-Length makes the server drop the connection after it.
+            exchange.close();
+        }
+    }
+
+    private interface Handler {
+        StandInResponse handle(StandInRequest request);
+    }
+
+    private static class Route {
+
+        private final String method;
+        private final Pattern pattern;
+        private final boolean authenticated;
+        private final Handler handler;
+
+        private Route(String method, String template, boolean authenticated, Handler handler) {
+            this.method = method;
+            this.authenticated = authenticated;
+            this.handler = handler;
+
+            StringBuilder regex = new StringBuilder();
+            String[] literals = template.split("%[sd]", -1);
+            for (int i = 0; i < literals.length; i++) {
+                if (i > 0) {
+                    regex.append("(\\d+)");
+                }
+                regex.append(Pattern.quote(literals[i]));
+            }
+            this.pattern = Pattern.compile(regex.toString());
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.telerikacademy.testframework;
+
+import org.openqa.selenium.By;
+import org.testng.annotations.*;
+
+import java.util.Properties;
+
+import static org.testng.Assert.*;
+
+// In the package of LocatorManager, as the templates are checked without going through the compiled map.
+public class LocatorManagerTest {
+
+    private final LocatorManager.LocatorManagerEnum locators = LocatorManager.LocatorManagerEnum.INSTANCE;
+
+    @Test
+    public void everyLocatorBindsAsStringFormat_When_MapCompiled() {
+
+        Properties mappings = PropertiesManager.PropertiesManagerEnum.INSTANCE.getUiMappings();
+        assertFalse(mappings.isEmpty(), "ui_map.properties has no locators.");
+
+        for (String key : mappings.stringPropertyNames()) {
+            String xpath = mappings.getProperty(key).trim();
+            LocatorManager.Template template = new LocatorManager.Template(key, xpath);
+            Object[] arguments = new Object[template.placeholders.size()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = template.placeholders.get(i) == 'd' ? (Object) (1000 + i) : "value " + i;
+            }
+
+            assertEquals(template.bind(arguments), String.format(xpath, arguments), key + " binds differently.");
+            assertEquals(locators.getXpath(key, arguments), String.format(xpath, arguments),
+                    key + " binds differently through the map.");
+            assertEquals(locators.getMapping(key), xpath, key + " is not the mapping as written.");
+        }
+    }
+
+    @Test
+    public void literalPercentKept_When_Escaped() {
+
+        LocatorManager.Template template = new LocatorManager.Template("percent", "//span[text()='%s of 100%%']");
+
+        assertEquals(template.bind(new Object[]{"50"}), String.format("//span[text()='%s of 100%%']", "50"),
+                "An escaped percent sign binds differently.");
+    }
+
+    @Test
+    public void sameLocatorReturned_When_BoundTwice() {
+
+        By first = locators.getLocator("weare.latestPostsPage.likesCount", "12", 3);
+        By second = locators.getLocator("weare.latestPostsPage.likesCount", "12", 3);
+
+        assertSame(second, first, "A bound locator was not reused.");
+        assertEquals(first, By.xpath("//span[@id='like-count12' and text()='Likes: 3']"), "Wrong locator bound.");
+        assertSame(locators.getLocator("weare.loginPage.username"), locators.getLocator("weare.loginPage.username"),
+                "A locator without placeholders was built twice.");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*no locator.*")
+    public void lookupFails_When_KeyUnknown() {
+        locators.getLocator("weare.noSuchPage.noSuchElement");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*takes 1 arguments, not 2.*")
+    public void lookupFails_When_TooManyArguments() {
+        locators.getLocator("weare.latestPostsPage.postMessage", "one", "two");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*takes 0 arguments, not 1.*")
+    public void lookupFails_When_ArgumentsGivenToPlainLocator() {
+        locators.getLocator("weare.loginPage.username", "one");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*has to be an integer.*")
+    public void lookupFails_When_NumberPlaceholderGetsText() {
+        locators.getLocator("weare.latestPostsPage.likesCount", "12", "three");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*other than %s and %d.*")
+    public void compileFails_When_ConversionUnsupported() {
+        new LocatorManager.Template("bad", "//div[@id='%x']");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*lone %.*")
+    public void compileFails_When_PercentSignLone() {
+        new LocatorManager.Template("bad", "//div%");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*not a valid XPath.*")
+    public void compileFails_When_XpathInvalid() {
+        new LocatorManager.Template("bad", "//div[@id='%s'");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = ".*is empty.*")
+    public void compileFails_When_LocatorEmpty() {
+        new LocatorManager.Template("bad", "");
+    }
+
+}
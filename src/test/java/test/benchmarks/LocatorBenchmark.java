@@ -0,0 +1,70 @@
+package test.benchmarks;
+
+import com.telerikacademy.testframework.LocatorManager;
+import com.telerikacademy.testframework.PropertiesManager;
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.By;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up a ui_map.properties locator the way UserActions used to, formatting the raw mapping and building a
+ * new By on every call, and through the compiled {@link LocatorManager}. With many distinct post ids the bound
+ * locators no longer fit the cache, which shows what a miss costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocatorBenchmark {
+
+    private static final String PLAIN_KEY = "weare.loginPage.username";
+    private static final String TEMPLATE_KEY = "weare.latestPostsPage.likesCount";
+
+    @Param({"1", "100000"})
+    public int distinctPostIds;
+
+    private final LocatorManager.LocatorManagerEnum locators = LocatorManager.LocatorManagerEnum.INSTANCE;
+    private Properties mappings;
+    private String[] postIds;
+    private int next;
+
+    @Setup
+    public void loadMappings() {
+        mappings = PropertiesManager.PropertiesManagerEnum.INSTANCE.getUiMappings();
+        postIds = new String[distinctPostIds];
+        for (int i = 0; i < distinctPostIds; i++) {
+            postIds[i] = String.valueOf(1000 + i);
+        }
+    }
+
+    @Benchmark
+    public By plainFormatted() {
+        return By.xpath(String.format(mappings.getProperty(PLAIN_KEY)));
+    }
+
+    @Benchmark
+    public By plainCompiled() {
+        return locators.getLocator(PLAIN_KEY);
+    }
+
+    @Benchmark
+    public By templateFormatted() {
+        return By.xpath(String.format(mappings.getProperty(TEMPLATE_KEY), nextPostId(), 1));
+    }
+
+    @Benchmark
+    public By templateCompiled() {
+        return locators.getLocator(TEMPLATE_KEY, nextPostId(), 1);
+    }
+
+    private String nextPostId() {
+        String postId = postIds[next];
+        next = next + 1 == postIds.length ? 0 : next + 1;
+        return postId;
+    }
+
+}
@@ -0,0 +1,118 @@
+package test.benchmarks;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import restassuredapi.JsonCodec;
+import restassuredapi.models.models.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserializes a public post feed the way the API helpers used to, with a new reflective Gson per response,
+ * and with the shared {@link JsonCodec}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PostFeedBenchmark {
+
+    @Param({"10", "10000"})
+    public int feedSize;
+
+    private String feed;
+    private byte[] feedBytes;
+
+    @Setup
+    public void generateFeed() {
+        feed = JsonCodec.toJson(generatePosts(feedSize));
+        feedBytes = feed.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public PostModel[] reflectiveGsonPerResponse() {
+        return new Gson().fromJson(feed, PostModel[].class);
+    }
+
+    @Benchmark
+    public PostModel[] sharedCodecFromString() {
+        return JsonCodec.fromJson(feed, PostModel[].class);
+    }
+
+    @Benchmark
+    public PostModel[] sharedCodecFromBytes() {
+        return JsonCodec.fromJson(new ByteArrayInputStream(feedBytes), PostModel[].class);
+    }
+
+    public static PostModel[] generatePosts(int count) {
+        Random random = new Random(42);
+        PostModel[] posts = new PostModel[count];
+        for (int i = 0; i < count; i++) {
+            UserModel author = generateUser(random.nextInt(1000));
+            PostModel post = new PostModel();
+            post.setPostId(i + 1);
+            post.setContent("Post number " + i + " about \"something\" worth sharing.");
+            post.setPicture("");
+            post.setDate(String.format("2023-%02d-%02dT10:15:30", random.nextInt(12) + 1, random.nextInt(28) + 1));
+            post.setPublic(true);
+            post.setRank(random.nextInt(100));
+            post.setUser(author);
+            post.setCategory(author.getExpertiseProfile().getCategory());
+
+            Set<UserModel> likes = new LinkedHashSet<>();
+            for (int like = random.nextInt(4); like > 0; like--) {
+                likes.add(generateUser(random.nextInt(1000)));
+            }
+            post.setLikes(likes);
+
+            List<CommentModel> comments = new ArrayList<>();
+            for (int c = random.nextInt(3); c > 0; c--) {
+                CommentModel comment = new CommentModel();
+                comment.setCommentId(i * 10 + c);
+                comment.setContent("Comment " + c + " on post " + i);
+                comment.setDate(post.getDate());
+                comment.setUser(generateUser(random.nextInt(1000)));
+                comments.add(comment);
+            }
+            post.setComments(comments);
+            posts[i] = post;
+        }
+        return posts;
+    }
+
+    private static UserModel generateUser(int id) {
+        CategoryModel category = new CategoryModel();
+        category.setId(100 + id % 20);
+        category.setName("Category " + id % 20);
+
+        ExpertiseProfileModel expertiseProfile = new ExpertiseProfileModel();
+        expertiseProfile.setId(id);
+        expertiseProfile.setCategory(category);
+        expertiseProfile.setAvailability(id % 8 * 0.5);
+
+        PersonalProfileModel personalProfile = new PersonalProfileModel();
+        personalProfile.setId(id);
+        personalProfile.setFirstName("First" + id);
+        personalProfile.setLastName("Last" + id);
+        personalProfile.setBirthYear("1990");
+        personalProfile.getLocation().getCity().setCity("Sofia");
+
+        GrantedAuthorityModel authority = new GrantedAuthorityModel();
+        authority.setAuthority("ROLE_USER");
+
+        UserModel user = new UserModel();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setAuthorities(Collections.singletonList(authority));
+        user.setExpertiseProfile(expertiseProfile);
+        user.setPersonalProfile(personalProfile);
+        return user;
+    }
+
+}
@@ -0,0 +1,83 @@
+package test.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import restassuredapi.RequestBodies;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming request body writer with the String.format templates it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestBodyBenchmark {
+
+    private static final String userTemplate = "{\n" +
+            "  \"authorities\": [\n" +
+            "    %s\n" +
+            "  ],\n" +
+            "  \"category\": {\n" +
+            "    \"id\": %s,\n" +
+            "    \"name\": \"%s\"\n" +
+            "  },\n" +
+            "  \"confirmPassword\": \"" + "%s" + "\",\n" +
+            "  \"email\": \"" + "%s" + "\",\n" +
+            "  \"password\": \"" + "%s" + "\",\n" +
+            "  \"username\": \"" + "%s" + "\"\n" +
+            "}";
+    private static final String postTemplate = "{\n" +
+            "  \"content\": \"" + "%s" + "\",\n" +
+            "  \"picture\": \"" + "%s" + "\",\n" +
+            "  \"public\": " + "%s" + "\n" +
+            "}";
+    private static final String commentTemplate = "{\n" +
+            "  \"commentId\": 0,\n" +
+            "  \"content\": \"%s\",\n" +
+            "  \"deletedConfirmed\": %s,\n" +
+            "  \"postId\": %s,\n" +
+            "  \"userId\": %s\n" +
+            "}";
+
+    private final String[] authorities = {"ROLE_USER", "ROLE_ADMIN"};
+    private final String username = "benchmarkUser";
+    private final String password = "Password1!";
+    private final String email = "benchmark.user@example.com";
+    private final String content = "A post about the weather in Sofia, written for the body benchmark.";
+    private final String picture = "https://example.com/picture.png";
+
+    @Benchmark
+    public String userTemplate() {
+        String bodyAuthority = String.format("\"%s\", \"%s\"", authorities[0], authorities[1]);
+        return String.format(userTemplate, bodyAuthority, 100, "All", password, email, password, username);
+    }
+
+    @Benchmark
+    public String userWriter() {
+        return RequestBodies.user(authorities, 100, "All", email, password, username);
+    }
+
+    @Benchmark
+    public String postTemplate() {
+        return String.format(postTemplate, content, picture, true);
+    }
+
+    @Benchmark
+    public String postWriter() {
+        return RequestBodies.post(content, picture, true);
+    }
+
+    @Benchmark
+    public String commentTemplate() {
+        return String.format(commentTemplate, content, false, 42, 7);
+    }
+
+    @Benchmark
+    public String commentWriter() {
+        return RequestBodies.comment(content, false, 42, 7);
+    }
+
+}
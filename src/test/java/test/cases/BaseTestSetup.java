@@ -2,27 +2,81 @@ package test.cases;
 
 import io.restassured.RestAssured;
 import io.restassured.config.EncoderConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.mapper.ObjectMapperType;
 import org.testng.*;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeSuite;
+import restassuredapi.EndpointMetrics;
+import restassuredapi.JsonCodec;
+import restassuredapi.PooledHttpTransport;
+import restassuredapi.UserPool;
+import restassuredapi.models.models.UserModel;
+import restassuredapi.standin.WeAreStandIn;
+
+import java.util.stream.Stream;
 
 import static com.telerikacademy.testframework.utils.Constants.BASE_URL;
 
 public class BaseTestSetup {
 
+    @BeforeSuite
+    public void setUpHttpTransport() {
+        PooledHttpTransport.install();
+        EndpointMetrics.install();
+        if (WeAreStandIn.isEnabled()) {
+            // The stand-in starts empty, so users pooled against it by an earlier run no longer exist.
+            UserPool.removeAll(WeAreStandIn.start());
+        }
+    }
+
     @BeforeClass
     public void setup(ITestContext ctx) {
 
         EncoderConfig encoderConfig = RestAssured.config().getEncoderConfig()
                 .appendDefaultContentCharsetToContentTypeIfUndefined(false);
 
-        RestAssured.config = RestAssured.config().encoderConfig(encoderConfig);
+        ObjectMapperConfig objectMapperConfig = ObjectMapperConfig.objectMapperConfig()
+                .defaultObjectMapperType(ObjectMapperType.GSON)
+                .gsonObjectMapperFactory((type, charset) -> JsonCodec.gson());
 
-        RestAssured.baseURI = BASE_URL;
+        RestAssured.config = RestAssured.config().encoderConfig(encoderConfig).objectMapperConfig(objectMapperConfig);
+
+        RestAssured.baseURI = WeAreStandIn.isEnabled() ? WeAreStandIn.start() : BASE_URL;
 
         TestRunner runner = (TestRunner) ctx;
         runner.setOutputDirectory("/target");
 
     }
 
+    // Tests clean up after their assertions, so a class that failed may leave posts, requests or connections
+    // on its users. Those users are disabled and leave the pool instead of carrying that state into later
+    // classes and runs; the admin user disables the others and then itself.
+    protected void returnToPool(ITestContext ctx, UserModel adminUser, UserModel... users) {
+        if (hasFailures(ctx)) {
+            for (UserModel user : users) {
+                UserPool.remove(adminUser, user);
+            }
+            UserPool.remove(adminUser, adminUser);
+        } else {
+            UserPool.release(users);
+            UserPool.release(adminUser);
+        }
+    }
+
+    private boolean hasFailures(ITestContext ctx) {
+        return Stream.of(ctx.getFailedTests(), ctx.getFailedConfigurations(), ctx.getSkippedTests(),
+                        ctx.getFailedButWithinSuccessPercentageTests())
+                .flatMap(results -> results.getAllResults().stream())
+                .anyMatch(result -> result.getTestClass().getRealClass() == getClass());
+    }
+
+    @AfterSuite
+    public void tearDownHttpTransport() {
+        EndpointMetrics.shutdown();
+        PooledHttpTransport.shutdown();
+        WeAreStandIn.stop();
+    }
+
 }
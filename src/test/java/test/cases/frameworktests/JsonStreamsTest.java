@@ -0,0 +1,71 @@
+package test.cases.frameworktests;
+
+import org.testng.annotations.*;
+import restassuredapi.JsonStreams;
+import restassuredapi.models.models.CommentModel;
+import restassuredapi.models.models.PostModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
+
+public class JsonStreamsTest {
+
+    // The first post carries the second post's id only in a nested comment, ahead of its own id.
+    private static final String POSTS = "["
+            + "{\"comments\":[{\"commentId\":7,\"post\":{\"postId\":2,\"content\":\"nested\"},\"content\":\"first\"}],"
+            + "\"likes\":[],\"content\":\"first post\",\"postId\":1},"
+            + "{\"category\":{\"id\":3,\"name\":\"Marketing\"},\"comments\":[{\"commentId\":8,\"content\":\"a \\\"quoted\\\" reply\"}],"
+            + "\"content\":\"second post\",\"isPublic\":true,\"rank\":15,\"picture\":null,\"postId\":2},"
+            + "{\"postId\":3,\"comments\":[{\"post\":{\"postId\":4}}],\"content\":\"third post\"}"
+            + "]";
+
+    @Test
+    public void matchingPostFound_When_NestedObjectsCarryTheSameIdField() {
+
+        PostModel post = JsonStreams.findById(body(POSTS), "postId", 2, PostModel.class);
+
+        assertNotNull(post, "The post was not found.");
+        assertEquals(post.getPostId(), 2, "Another post was returned.");
+        assertEquals(post.getContent(), "second post", "The post content was not read.");
+        assertEquals(post.getCategory().getName(), "Marketing", "The category was not read.");
+        assertEquals(post.getComments().size(), 1, "The comments were not read.");
+        CommentModel comment = post.getComments().get(0);
+        assertEquals(comment.getContent(), "a \"quoted\" reply", "The comment content was not read.");
+        assertTrue(post.isPublic(), "The visibility was not read.");
+    }
+
+    @Test
+    public void firstPostFound_When_IdComesFirst() {
+
+        PostModel post = JsonStreams.findById(body(POSTS), "postId", 3, PostModel.class);
+
+        assertNotNull(post, "The post was not found.");
+        assertEquals(post.getContent(), "third post", "Another post was returned.");
+    }
+
+    @Test
+    public void nothingFound_When_IdOnlyNested() {
+
+        assertNull(JsonStreams.findById(body(POSTS), "postId", 4, PostModel.class),
+                "A post was returned for an id that only a nested post has.");
+        assertFalse(JsonStreams.containsId(body(POSTS), "postId", 4),
+                "An id that only a nested post has was reported.");
+    }
+
+    @Test
+    public void idFound_When_PostExists() {
+
+        for (int postId = 1; postId <= 3; postId++) {
+            assertTrue(JsonStreams.containsId(body(POSTS), "postId", postId), "Post " + postId + " was not found.");
+        }
+        assertFalse(JsonStreams.containsId(body("[]"), "postId", 1), "An empty list reported a post.");
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
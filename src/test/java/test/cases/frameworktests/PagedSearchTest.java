@@ -0,0 +1,120 @@
+package test.cases.frameworktests;
+
+import org.testng.annotations.*;
+import restassuredapi.PagedSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+import static org.testng.Assert.*;
+
+public class PagedSearchTest {
+
+    private static final int PAGE_SIZE = 3;
+    private static final int MAX_PAGES = Integer.parseInt(getConfigPropertyByKey("config.search.maxPages"));
+
+    @Test
+    public void searchEnds_When_LastPageShort() {
+
+        PagedSearch<Integer> search = search(pagesOf(8));
+
+        assertEquals(items(search), range(8), "Wrong items found.");
+        assertEquals(search.getPagesFetched(), 3, "Wrong number of pages fetched.");
+    }
+
+    @Test
+    public void searchEnds_When_FullLastPageFollowedByEmptyPage() {
+
+        PagedSearch<Integer> search = search(pagesOf(6));
+
+        assertEquals(items(search), range(6), "Wrong items found.");
+        assertEquals(search.getPagesFetched(), 3, "Wrong number of pages fetched.");
+    }
+
+    @Test
+    public void searchEnds_When_PageRepeated() {
+
+        PagedSearch<Integer> search = search((index, size) -> new Integer[]{0, 1, 2});
+
+        assertEquals(items(search), range(3), "The repeated page was yielded again.");
+        assertEquals(search.getPagesFetched(), 2, "Wrong number of pages fetched.");
+    }
+
+    @Test
+    public void searchStops_When_MatchFound() {
+
+        List<Integer> requested = new ArrayList<>();
+        PagedSearch<Integer> search = search((index, size) -> {
+            requested.add(index);
+            return pagesOf(100).apply(index, size);
+        });
+
+        assertEquals(search.findFirst(item -> item == 4), Integer.valueOf(4), "The match was not found.");
+        assertEquals(requested.size(), 2, "Pages past the match were fetched.");
+        assertNull(search.findFirst(item -> item == 1000), "An item that does not exist was found.");
+        assertEquals(search.getPagesFetched(), 34, "Wrong number of pages fetched.");
+    }
+
+    @Test
+    public void pagesCountedPerIteration_When_SearchRepeated() {
+
+        PagedSearch<Integer> search = search(pagesOf(8));
+        long lookupsBefore = PagedSearch.getLookupCount();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(search.findFirst(item -> item == 7), Integer.valueOf(7), "The match was not found.");
+            assertEquals(search.getPagesFetched(), 3, "Pages of an earlier search were counted again.");
+        }
+        assertEquals(PagedSearch.getLookupCount() - lookupsBefore, 3, "Wrong number of lookups recorded.");
+    }
+
+    @Test
+    public void searchFails_When_PagesNeverEnd() {
+
+        PagedSearch<Integer> search = search((index, size) -> page(index * size, size));
+
+        try {
+            search.findFirst(item -> false);
+            fail("A search that never ends did not fail.");
+        } catch (IllegalStateException exception) {
+            assertTrue(exception.getMessage().contains(MAX_PAGES + " pages"), exception.getMessage());
+        }
+        assertEquals(search.getPagesFetched(), MAX_PAGES, "Wrong number of pages fetched.");
+    }
+
+    private static PagedSearch<Integer> search(BiFunction<Integer, Integer, Integer[]> pageFetcher) {
+        return new PagedSearch<>(PAGE_SIZE, item -> item, pageFetcher);
+    }
+
+    // A server holding count items that pages them as asked.
+    private static BiFunction<Integer, Integer, Integer[]> pagesOf(int count) {
+        return (index, size) -> page(index * size, Math.max(0, Math.min(size, count - index * size)));
+    }
+
+    private static Integer[] page(int first, int length) {
+        Integer[] items = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            items[i] = first + i;
+        }
+        return items;
+    }
+
+    private static List<Integer> items(PagedSearch<Integer> search) {
+        List<Integer> items = new ArrayList<>();
+        for (Integer item : search) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static List<Integer> range(int count) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+}
@@ -0,0 +1,120 @@
+package test.cases.frameworktests;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.testng.annotations.*;
+import restassuredapi.JsonCodec;
+import restassuredapi.RequestBodies;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.testng.Assert.*;
+
+public class RequestBodiesTest {
+
+    private static final TypeAdapter<JsonElement> TREE = JsonCodec.gson().getAdapter(JsonElement.class);
+
+    @DataProvider
+    public Object[][] adversarialStrings() {
+        StringBuilder controlCharacters = new StringBuilder();
+        for (char c = 0; c < 0x20; c++) {
+            controlCharacters.append(c);
+        }
+        return new Object[][]{
+                {""},
+                {"plain text"},
+                {"\"quoted\" and 'single'"},
+                {"back\\slash \\\" \\\\\" \\u0041"},
+                {controlCharacters.toString()},
+                {"line\nbreak\r\ttab\u007f"},
+                {"separators \u2028 and \u2029"},
+                {"</script><!-- \" , : { } [ ] -->"},
+                {"unicode \u00e9 \u4e2d \ud83d\ude00"},
+                {"ends with a backslash \\"},
+        };
+    }
+
+    @Test(dataProvider = "adversarialStrings")
+    public void postRoundTrips_When_ContentHasCharactersToEscape(String content) {
+
+        JsonObject body = parse(RequestBodies.post(content, content, true));
+
+        assertEquals(body.get("content").getAsString(), content, "The content did not survive the round trip.");
+        assertEquals(body.get("picture").getAsString(), content, "The picture did not survive the round trip.");
+        assertTrue(body.get("public").getAsBoolean(), "The visibility did not survive the round trip.");
+    }
+
+    @Test(dataProvider = "adversarialStrings")
+    public void userRoundTrips_When_FieldsHaveCharactersToEscape(String value) {
+
+        JsonObject body = parse(RequestBodies.user(new String[]{value, "ROLE_USER"}, 7, value, value, value, value));
+
+        assertEquals(body.getAsJsonArray("authorities").get(0).getAsString(), value, "Authority changed.");
+        assertEquals(body.getAsJsonArray("authorities").get(1).getAsString(), "ROLE_USER", "Authority changed.");
+        JsonObject category = body.getAsJsonObject("category");
+        assertEquals(category.get("id").getAsInt(), 7, "Category id changed.");
+        assertEquals(category.get("name").getAsString(), value, "Category name changed.");
+        for (String field : new String[]{"confirmPassword", "email", "password", "username"}) {
+            assertEquals(body.get(field).getAsString(), value, field + " changed.");
+        }
+    }
+
+    @Test(dataProvider = "adversarialStrings")
+    public void personalProfileRoundTrips_When_FieldsHaveCharactersToEscape(String value) {
+
+        JsonObject body = parse(RequestBodies.personalProfile(value, value, 3, value, value, value, value, false,
+                value));
+
+        for (String field : new String[]{"birthYear", "firstName", "lastName", "personalReview", "picture", "sex"}) {
+            assertEquals(body.get(field).getAsString(), value, field + " changed.");
+        }
+        assertEquals(body.get("id").getAsInt(), 3, "Profile id changed.");
+        assertFalse(body.get("picturePrivacy").getAsBoolean(), "Picture privacy changed.");
+        JsonObject city = body.getAsJsonObject("location").getAsJsonObject("city");
+        assertEquals(city.get("city").getAsString(), value, "City changed.");
+        assertEquals(city.getAsJsonObject("country").size(), 0, "Country is not empty.");
+    }
+
+    @Test
+    public void nullsAndNumbersRoundTrip_When_Written() {
+
+        JsonObject search = parse(RequestBodies.searchUsers(2, true, null, "", 50));
+        assertTrue(search.get("searchParam1").isJsonNull(), "A null string was not written as null.");
+        assertEquals(search.get("searchParam2").getAsString(), "", "An empty string changed.");
+        assertEquals(search.get("index").getAsInt(), 2, "Index changed.");
+        assertEquals(search.get("size").getAsInt(), 50, "Size changed.");
+
+        for (double availability : new double[]{0, 0.5, 1e-7, 12345678.9}) {
+            JsonObject expertise = parse(RequestBodies.expertiseProfile(availability, 1, "All", "a", null, "c",
+                    "d", "e"));
+            assertEquals(expertise.get("availability").getAsDouble(), availability, "Availability changed.");
+            assertTrue(expertise.get("skill2").isJsonNull(), "A null skill was not written as null.");
+        }
+    }
+
+    @Test
+    public void lineSeparatorsEscaped_When_Written() {
+
+        String body = RequestBodies.comment("a\u2028b\u2029c", false, 1, 2);
+
+        assertFalse(body.contains("\u2028") || body.contains("\u2029"), "A line separator was written raw.");
+        assertTrue(body.contains("\\u2028") && body.contains("\\u2029"), "A line separator was not escaped.");
+    }
+
+    // Read strictly, so anything a lenient parser would let through still fails the test.
+    private static JsonObject parse(String body) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader(body));
+            JsonObject parsed = TREE.read(reader).getAsJsonObject();
+            assertEquals(reader.peek(), JsonToken.END_DOCUMENT, "Text after the body.");
+            return parsed;
+        } catch (IOException exception) {
+            throw new AssertionError("Body is not valid JSON: " + body, exception);
+        }
+    }
+
+}
@@ -1,26 +1,27 @@
 package test.cases.wearerestassuredtests.base;
 
 import restassuredapi.models.models.UserModel;
+import org.testng.ITestContext;
 import org.testng.annotations.*;
-import restassuredapi.UserApi;
+import restassuredapi.UserPool;
 import test.cases.BaseTestSetup;
 
 import static com.telerikacademy.testframework.utils.UserRoles.*;
 
 public class BaseWeareRestAssuredTest extends BaseTestSetup {
 
-    protected UserModel globalRestApiAdminUser = new UserModel();
-    protected UserModel globalRestApiUser = new UserModel();
+    protected UserModel globalRestApiAdminUser;
+    protected UserModel globalRestApiUser;
 
     @BeforeClass
     public void setUpRestAssured() {
-        UserApi.register(globalRestApiAdminUser, ROLE_ADMIN.toString());
-        UserApi.register(globalRestApiUser, ROLE_USER.toString());
+        globalRestApiAdminUser = UserPool.lease(ROLE_ADMIN.toString());
+        globalRestApiUser = UserPool.lease(ROLE_USER.toString());
     }
 
     @AfterClass
-    public void disableGlobalUser() {
-        UserApi.disableUser(globalRestApiAdminUser, globalRestApiUser);
+    public void releaseGlobalUser(ITestContext ctx) {
+        returnToPool(ctx, globalRestApiAdminUser, globalRestApiUser);
     }
 
 }
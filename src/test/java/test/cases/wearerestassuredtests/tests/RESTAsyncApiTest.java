@@ -0,0 +1,131 @@
+package test.cases.wearerestassuredtests.tests;
+
+import org.testng.annotations.*;
+import restassuredapi.AsyncWeAreApi;
+import restassuredapi.CommentApi;
+import restassuredapi.PostApi;
+import restassuredapi.RequestApi;
+import restassuredapi.SessionStore;
+import restassuredapi.models.models.CommentModel;
+import restassuredapi.models.models.PostModel;
+import restassuredapi.models.models.RequestModel;
+import restassuredapi.models.models.SkillModel;
+import test.cases.wearerestassuredtests.base.BaseWeareRestAssuredTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+public class RESTAsyncApiTest extends BaseWeareRestAssuredTest {
+
+    private static final int CONCURRENT_CALLS = 10;
+
+    private AsyncWeAreApi api;
+
+    @BeforeClass
+    public void setUpAsyncApi() {
+        api = new AsyncWeAreApi();
+    }
+
+    @AfterClass
+    public void closeAsyncApi() throws IOException {
+        api.close();
+    }
+
+    @Test
+    public void oneSessionShared_When_UserLogsInConcurrently() {
+
+        SessionStore.invalidate(globalRestApiUser);
+
+        List<CompletableFuture<String>> logins = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            logins.add(api.authenticate(globalRestApiUser));
+        }
+        String blockingSessionId = SessionStore.getSessionId(globalRestApiUser);
+
+        for (CompletableFuture<String> login : logins) {
+            assertEquals(login.join(), blockingSessionId, "The user was logged in more than once.");
+        }
+        assertEquals(SessionStore.getCachedSessionId(globalRestApiUser), blockingSessionId, "Session not cached.");
+    }
+
+    @Test
+    public void postCommentedAndDeleted_By_User() {
+
+        PostModel post = api.createPost(globalRestApiUser, true).join();
+        assertTrue(PostApi.publicPostExists(post.getPostId()), "Post not created.");
+        assertTrue(Arrays.stream(api.findAllPosts().join()).anyMatch(found -> found.getPostId() == post.getPostId()),
+                "Post not listed.");
+
+        api.likePost(globalRestApiAdminUser, post).join();
+
+        CommentModel comment = api.createComment(globalRestApiAdminUser, post).join();
+        assertTrue(CommentApi.commentExists(comment.getCommentId()), "Comment not created.");
+        assertTrue(Arrays.stream(api.findCommentsOfAPost(post).join())
+                        .anyMatch(found -> found.getCommentId().equals(comment.getCommentId())),
+                "Comment not listed with its post.");
+        assertTrue(Arrays.stream(api.findAllComments().join())
+                        .anyMatch(found -> found.getCommentId().equals(comment.getCommentId())),
+                "Comment not listed.");
+
+        api.likeComment(globalRestApiUser, comment).join();
+
+        api.deleteComment(globalRestApiAdminUser, comment.getCommentId()).join();
+        assertFalse(CommentApi.commentExists(comment.getCommentId()), "Comment was not deleted.");
+
+        api.deletePost(globalRestApiUser, post.getPostId()).join();
+        assertFalse(PostApi.publicPostExists(post.getPostId()), "Post was not deleted.");
+    }
+
+    @Test
+    public void postsCreatedAndDeleted_When_RequestsRunConcurrently() {
+
+        List<CompletableFuture<PostModel>> creations = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            creations.add(api.createPost(globalRestApiUser, true));
+        }
+        List<PostModel> posts = creations.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        assertEquals(posts.stream().map(PostModel::getPostId).distinct().count(), CONCURRENT_CALLS,
+                "Posts were not created separately.");
+        for (PostModel post : posts) {
+            assertTrue(PostApi.publicPostExists(post.getPostId()), "Post not created.");
+        }
+
+        CompletableFuture.allOf(posts.stream()
+                .map(post -> api.deletePost(globalRestApiUser, post.getPostId()))
+                .toArray(CompletableFuture[]::new)).join();
+
+        for (PostModel post : posts) {
+            assertFalse(PostApi.publicPostExists(post.getPostId()), "Post was not deleted.");
+        }
+    }
+
+    @Test
+    public void usersConnected_When_RequestApproved() {
+
+        RequestModel request = api.connect(globalRestApiUser, globalRestApiAdminUser).join();
+
+        assertEquals(request.getSender().getId(), globalRestApiUser.getId(), "Sender doesn't match the request.");
+        assertEquals(request.getReceiver().getId(), globalRestApiAdminUser.getId(),
+                "Receiver doesn't match the request.");
+        assertEquals(api.getUserRequests(globalRestApiAdminUser).join().length, 0, "Request was not approved.");
+
+        RequestApi.disconnect(globalRestApiUser, globalRestApiAdminUser);
+    }
+
+    @Test
+    public void skillsAndUsersListed_When_Requested() {
+
+        SkillModel[] skills = api.getAllSkills().join();
+        assertNotNull(skills, "Skills were not listed.");
+
+        assertNotNull(api.searchUsersPage("", 0, 10).join(), "Users were not listed.");
+    }
+
+}
@@ -0,0 +1,49 @@
+package test.cases.wearerestassuredtests.tests;
+
+import io.restassured.response.Response;
+import org.testng.SkipException;
+import org.testng.annotations.*;
+import restassuredapi.standin.WeAreStandIn;
+import test.cases.BaseTestSetup;
+
+import static com.telerikacademy.testframework.utils.Constants.API;
+import static com.telerikacademy.testframework.utils.Endpoints.USER_REQUEST_WITH_ID;
+import static io.restassured.RestAssured.given;
+import static org.apache.http.HttpStatus.SC_MOVED_TEMPORARILY;
+import static org.testng.Assert.*;
+
+// A stress check of the HTTP transport rather than of a controller, so it leases no users and only runs
+// against the stand-in instead of sending its requests to the shared WEare server.
+public class RESTHttpTransportTest extends BaseTestSetup {
+
+    private static final int REQUESTS_PER_INVOCATION = 100;
+    private static final int ANY_USER_ID = 1;
+
+    @BeforeClass
+    public void requireStandIn() {
+        if (!WeAreStandIn.isEnabled()) {
+            throw new SkipException("The HTTP transport is only stress-tested against the stand-in.");
+        }
+    }
+
+    // Threads that follow redirects and threads that do not must not see each other's setting, or a login
+    // redirect goes unnoticed by SessionStore.isLoginRequired.
+    @Test(threadPoolSize = 16, invocationCount = 16)
+    public void redirectSettingKept_When_RequestsRunConcurrently() {
+
+        String authenticatedPath = API + String.format(USER_REQUEST_WITH_ID, ANY_USER_ID);
+
+        for (int i = 0; i < REQUESTS_PER_INVOCATION; i++) {
+            if (i % 2 == 0) {
+                Response response = given().redirects().follow(false).get(authenticatedPath);
+                assertEquals(response.getStatusCode(), SC_MOVED_TEMPORARILY,
+                        "A request that does not follow redirects was redirected.");
+            } else {
+                Response response = given().get(authenticatedPath);
+                assertNotEquals(response.getStatusCode(), SC_MOVED_TEMPORARILY,
+                        "A request that follows redirects returned the redirect.");
+            }
+        }
+    }
+
+}
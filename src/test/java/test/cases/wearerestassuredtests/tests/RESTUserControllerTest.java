@@ -9,6 +9,8 @@ import restassuredapi.UserApi;
 import restassuredapi.models.models.*;
 import test.cases.wearerestassuredtests.base.BaseWeareRestAssuredTest;
 
+import java.util.List;
+
 import static com.telerikacademy.testframework.utils.UserRoles.*;
 import static org.testng.Assert.*;
 import static restassuredapi.UserApi.getUserById;
@@ -48,6 +50,23 @@ public class RESTUserControllerTest extends BaseWeareRestAssuredTest {
 
     }
 
+    @Test
+    public void usersRegisteredInBatch_When_ValidRoleProvided() {
+
+        int count = 5;
+
+        List<UserModel> users = UserApi.registerBatch(count, ROLE_USER.toString());
+
+        assertEquals(users.size(), count, "Not all users were registered.");
+        assertEquals(users.stream().map(UserModel::getId).distinct().count(), count, "User ids are not unique.");
+        for (UserModel user : users) {
+            assertNotNull(user.getPersonalProfile().getFirstName(), "User has no first name.");
+            assertNotNull(user.getExpertiseProfile().getCategory(), "User has no professional category.");
+            UserApi.disableUser(globalRestApiAdminUser, user);
+        }
+
+    }
+
     @Test
     public void userPersonalProfileEdited_When_ValidDataProvided() {
 
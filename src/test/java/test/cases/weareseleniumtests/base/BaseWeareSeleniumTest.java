@@ -2,8 +2,10 @@ package test.cases.weareseleniumtests.base;
 
 import restassuredapi.models.models.UserModel;
 import com.telerikacademy.testframework.UserActions;
+import org.testng.ITestContext;
 import org.testng.annotations.*;
-import restassuredapi.UserApi;
+import restassuredapi.UserPool;
+import restassuredapi.standin.WeAreStandIn;
 import test.cases.BaseTestSetup;
 
 import static com.telerikacademy.testframework.utils.UserRoles.*;
@@ -12,8 +14,8 @@ import static com.telerikacademy.testframework.utils.UserRoles.*;
 public class BaseWeareSeleniumTest extends BaseTestSetup {
 
     protected UserActions actions = new UserActions();
-    protected UserModel globalSeleniumUser = new UserModel();
-    protected UserModel globalSeleniumAdminUser = new UserModel();
+    protected UserModel globalSeleniumUser;
+    protected UserModel globalSeleniumAdminUser;
     protected String globalUserUsername;
     protected String globalUserPassword;
     protected String adminUsername;
@@ -21,18 +23,26 @@ public class BaseWeareSeleniumTest extends BaseTestSetup {
 
     @BeforeClass
     public void setUpSelenium() {
-        UserApi.register(globalSeleniumAdminUser, ROLE_ADMIN.toString());
+        // The browser drives weare.baseUrl, so users and session cookies of the stand-in would reach the real site.
+        if (WeAreStandIn.isEnabled()) {
+            throw new IllegalStateException("The Selenium tests cannot run against the stand-in; "
+                    + "run them without config.standIn.enabled.");
+        }
+        // Browsers launch in the background while the users are leased, which may mean registering them.
+        UserActions.prewarmBrowsers();
+        globalSeleniumAdminUser = UserPool.lease(ROLE_ADMIN.toString());
         adminUsername = globalSeleniumAdminUser.getUsername();
         adminPassword = globalSeleniumAdminUser.getPassword();
-        UserApi.register(globalSeleniumUser, ROLE_USER.toString());
+        globalSeleniumUser = UserPool.lease(ROLE_USER.toString());
         globalUserUsername = globalSeleniumUser.getUsername();
         globalUserPassword = globalSeleniumUser.getPassword();
         UserActions.loadBrowser("weare.baseUrl");
     }
 
     @AfterClass
-    public void disableGlobalUser() {
-        UserApi.disableUser(globalSeleniumAdminUser, globalSeleniumUser);
+    public void releaseGlobalUser(ITestContext ctx) {
+        returnToPool(ctx, globalSeleniumAdminUser, globalSeleniumUser);
+        UserActions.releaseDriver();
     }
 
     @AfterSuite
@@ -2,7 +2,6 @@ package test.cases.weareseleniumtests.tests;
 
 import com.telerikacademy.testframework.utils.Helpers;
 import org.testng.annotations.*;
-import pages.weare.LoginPage;
 import pages.weare.PostPage;
 import restassuredapi.CommentApi;
 import restassuredapi.PostApi;
@@ -24,13 +23,10 @@ public class SeleniumCommentTest extends BaseWeareSeleniumTest {
         PostModel createdPost = PostApi.createPost(globalSeleniumUser, publicVisibility);
         postId = createdPost.getPostId();
 
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(globalUserUsername, globalUserPassword);
-
         String commentMessage = Helpers.generateCommentContent();
 
         PostPage postPage = new PostPage(actions.getDriver(), postId);
-        postPage.navigateToPage();
+        postPage.navigateToPageAs(globalSeleniumUser);
         postPage.createComment(commentMessage);
         postPage.assertPostCommentsCountUpdates("1 Comments");
         postPage.assertPostCommentsAuthorExists(globalUserUsername);
@@ -44,13 +40,11 @@ public class SeleniumCommentTest extends BaseWeareSeleniumTest {
         PostModel createdPost = PostApi.createPost(globalSeleniumUser, publicVisibility);
         postId = createdPost.getPostId();
         CommentModel createdComment = CommentApi.createComment(globalSeleniumUser, createdPost);
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(globalUserUsername, globalUserPassword);
 
         String editedCommentMessage = Helpers.generateCommentContent();
 
         PostPage postPage = new PostPage(actions.getDriver(), postId);
-        postPage.navigateToPage();
+        postPage.navigateToPageAs(globalSeleniumUser);
         postPage.showComment();
         postPage.editCommentNavigate();
         postPage.editComment(editedCommentMessage);
@@ -64,11 +58,9 @@ public class SeleniumCommentTest extends BaseWeareSeleniumTest {
         PostModel createdPost = PostApi.createPost(globalSeleniumUser, publicVisibility);
         postId = createdPost.getPostId();
         CommentModel createdComment = CommentApi.createComment(globalSeleniumUser, createdPost);
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(globalUserUsername, globalUserPassword);
 
         PostPage postPage = new PostPage(actions.getDriver(), postId);
-        postPage.navigateToPage();
+        postPage.navigateToPageAs(globalSeleniumUser);
         postPage.showComment();
         postPage.deleteComment();
         postPage.assertPostCommentDeleted();
@@ -84,11 +76,9 @@ public class SeleniumCommentTest extends BaseWeareSeleniumTest {
         PostModel createdPost = PostApi.createPost(globalSeleniumUser, publicVisibility);
         postId = createdPost.getPostId();
         CommentModel createdComment = CommentApi.createComment(globalSeleniumUser, createdPost);
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(globalUserUsername, globalUserPassword);
 
         PostPage postPage = new PostPage(actions.getDriver(), postId);
-        postPage.navigateToPage();
+        postPage.navigateToPageAs(globalSeleniumUser);
         postPage.showComment();
         postPage.likeComment();
 
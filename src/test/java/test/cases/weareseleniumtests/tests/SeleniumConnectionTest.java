@@ -1,10 +1,8 @@
 package test.cases.weareseleniumtests.tests;
 
 import org.testng.annotations.*;
-import pages.weare.LoginPage;
 import pages.weare.ProfilePage;
 import pages.weare.RequestsListPage;
-import com.telerikacademy.testframework.utils.Utils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import restassuredapi.RequestApi;
@@ -40,11 +38,8 @@ public class SeleniumConnectionTest extends BaseWeareSeleniumTest {
             initialRequestsCount = fields.length;
         }
 
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(globalSeleniumUser.getUsername(), globalSeleniumUser.getPassword());
-
         ProfilePage receiverProfilePage = new ProfilePage(actions.getDriver(), receiver.getId());
-        receiverProfilePage.navigateToPage();
+        receiverProfilePage.navigateToPageAs(globalSeleniumUser);
         receiverProfilePage.assertPageNavigated();
 
         receiverProfilePage.sendRequest();
@@ -72,12 +67,9 @@ public class SeleniumConnectionTest extends BaseWeareSeleniumTest {
         assertEquals(request.getReceiver().getId(), receiver.getId(), "Receiver doesn't match the one in the request.");
         assertEquals(afterRequestCount, initialRequestsCount + 1, "Request is not sent.");
 
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(receiver.getUsername(), receiver.getPassword());
-
         ProfilePage receiverProfilePage = new ProfilePage(actions.getDriver(), receiver.getId());
 
-        receiverProfilePage.navigateToPage();
+        receiverProfilePage.navigateToPageAs(receiver);
 
         receiverProfilePage.seeRequests();
 
@@ -103,11 +95,8 @@ public class SeleniumConnectionTest extends BaseWeareSeleniumTest {
 
         RequestApi.approveRequest(receiver, sendRequest);
 
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(globalSeleniumUser.getUsername(), globalSeleniumUser.getPassword());
-
         ProfilePage receiverProfilePage = new ProfilePage(actions.getDriver(), receiver.getId());
-        receiverProfilePage.navigateToPage();
+        receiverProfilePage.navigateToPageAs(globalSeleniumUser);
         receiverProfilePage.assertPageNavigated();
 
         receiverProfilePage.disconnect();
@@ -127,12 +116,9 @@ public class SeleniumConnectionTest extends BaseWeareSeleniumTest {
         assertEquals(request.getReceiver().getId(), receiver.getId(), "Receiver doesn't match the one in the request.");
         assertEquals(afterRequestCount, initialRequestsCount + 1, "Request is not sent.");
 
-        LoginPage loginPage = new LoginPage(actions.getDriver());
-        loginPage.loginUser(receiver.getUsername(), receiver.getPassword());
-
         ProfilePage receiverProfilePage = new ProfilePage(actions.getDriver(), receiver.getId());
 
-        receiverProfilePage.navigateToPage();
+        receiverProfilePage.navigateToPageAs(receiver);
 
         receiverProfilePage.seeRequests();
 
@@ -140,11 +126,11 @@ public class SeleniumConnectionTest extends BaseWeareSeleniumTest {
                 "weare.requestsListPagePage", receiver.getId());
 
         Assert.assertEquals(afterRequestCount, initialRequestsCount + 1, "Request not approved");
-        assertTrue(actions.isElementVisible(Utils.getUIMappingByKey("weare.requestsListPage.requestSenderInfo"),
+        assertTrue(actions.isElementVisible("weare.requestsListPage.requestSenderInfo",
                 globalSeleniumUser.getPersonalProfile().getFirstName()));
-        assertTrue(actions.isElementPresent(Utils.getUIMappingByKey("weare.requestsListPage.requestSenderInfo"),
+        assertTrue(actions.isElementPresent("weare.requestsListPage.requestSenderInfo",
                 globalSeleniumUser.getPersonalProfile().getFirstName()));
-        assertTrue(actions.isElementClickable(Utils.getUIMappingByKey("weare.requestsListPage.requestSenderInfo"),
+        assertTrue(actions.isElementClickable("weare.requestsListPage.requestSenderInfo",
                 globalSeleniumUser.getPersonalProfile().getFirstName()));
 
         requestsListPage.logout();
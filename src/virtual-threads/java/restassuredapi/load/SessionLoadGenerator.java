@@ -0,0 +1,82 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonObject;
+import restassuredapi.BaseWeAreApi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds how many concurrent WEare user sessions one load node sustains, by running each simulated user on a
+ * virtual thread through the same API helpers the tests use. Needs Java 21; run it with
+ * {@code mvn -P virtual-threads test-compile exec:exec -Dsessions.args="..."}, {@code --help} lists the options.
+ */
+public class SessionLoadGenerator extends BaseWeAreApi {
+
+    public static void main(String[] args) {
+        SessionOptions options;
+        try {
+            options = SessionOptions.parse(args);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(SessionOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.help) {
+            System.out.println(options.usage());
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            SessionRunResult result = run(options);
+            System.out.println(summary(result));
+        } catch (RuntimeException exception) {
+            LOGGER.error("The session run failed.", exception);
+            exitCode = 1;
+        } finally {
+            LoadGenerator.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    static SessionRunResult run(SessionOptions options) {
+        LoadFixture fixture = LoadGenerator.start(options);
+        VirtualSessionRun run = new VirtualSessionRun(fixture, options);
+
+        LOGGER.info(String.format("Ramping up to %d sessions of %d operations (%s) over %d s, think time %d ms, "
+                        + "then holding for %d s.", options.sessions, options.sessionLength, options.mix,
+                TimeUnit.NANOSECONDS.toSeconds(options.rampNanos), TimeUnit.NANOSECONDS.toMillis(options.thinkTimeNanos),
+                TimeUnit.NANOSECONDS.toSeconds(options.durationNanos)));
+
+        SessionRunResult result;
+        try (LoadGenerator.IntervalLog log = new LoadGenerator.IntervalLog(options.histogramLog)) {
+            result = run.run((elapsedNanos, intervals) -> {
+                VirtualSessionRun.IntervalSample sample = run.latestSample();
+                LOGGER.info(String.format("%d sessions, lag p99 %.1f ms, heap %d MB | %s", sample.sessions(),
+                        sample.wakeUpLagP99() / 1e6, sample.heapUsedBytes() / (1024 * 1024),
+                        LoadGenerator.progress(elapsedNanos, intervals)));
+                log.write(intervals);
+            });
+        }
+
+        JsonObject report = result.toJson();
+        report.addProperty("sessionLength", options.sessionLength);
+        report.addProperty("thinkTimeMs", TimeUnit.NANOSECONDS.toMillis(options.thinkTimeNanos));
+        report.addProperty("sloP99Ms", TimeUnit.NANOSECONDS.toMillis(options.sloP99Nanos));
+        report.addProperty("maxErrorRate", options.maxErrorRate);
+        report.addProperty("maxLagMs", TimeUnit.NANOSECONDS.toMillis(options.maxLagNanos));
+        LoadGenerator.writeReport(options.reportFile, report, options);
+        LOGGER.info(String.format("Session report written to %s, interval histograms to %s.",
+                options.reportFile, options.histogramLog));
+        return result;
+    }
+
+    static String summary(SessionRunResult result) {
+        return String.format("Sustained %d of %d concurrent sessions%s; %d sessions completed in %.0f s.",
+                result.sustainedSessions(), result.targetSessions(),
+                result.limitReached() ? ", other intervals broke the limits" : ", every interval within the limits",
+                result.sessionsCompleted(), result.elapsedSeconds());
+    }
+
+}
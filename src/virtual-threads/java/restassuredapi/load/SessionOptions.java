@@ -0,0 +1,68 @@
+package restassuredapi.load;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static com.telerikacademy.testframework.utils.Utils.getConfigPropertyByKey;
+
+/**
+ * Command line of the virtual-thread session generator: the options of {@link LoadOptions} that say what to
+ * load, plus the shape of the user sessions and the limits a load level has to meet to count as sustained.
+ */
+class SessionOptions extends LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: SessionLoadGenerator [options]   (runs on Java 21 or later)",
+            "  --sessions N              concurrent user sessions to ramp up to (default 10000)",
+            "  --ramp TIME               time over which the sessions start, e.g. 2m (default 60s)",
+            "  --duration TIME           time all sessions keep running after the ramp (default 60s)",
+            "  --session-length N        operations per session before the user starts a new one (default 20)",
+            "  --think-time TIME         mean pause before each operation, exponentially distributed (default 10s)",
+            "  --slo-p99 TIME            highest p99 response time of a sustained interval (default 1s)",
+            "  --max-error-rate R        highest error rate of a sustained interval (default 0.01)",
+            "  --max-lag TIME            highest p99 of how late sessions wake up from thinking (default 100ms)",
+            TARGET_USAGE);
+
+    int sessions = 10_000;
+    long rampNanos = TimeUnit.SECONDS.toNanos(60);
+    int sessionLength = 20;
+    long thinkTimeNanos = TimeUnit.SECONDS.toNanos(10);
+    long sloP99Nanos = TimeUnit.SECONDS.toNanos(1);
+    double maxErrorRate = 0.01;
+    long maxLagNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    SessionOptions() {
+        users = 200;
+        reportFile = Paths.get(getConfigPropertyByKey("config.load.sessionReport"));
+        histogramLog = Paths.get(getConfigPropertyByKey("config.load.sessionHistogramLog"));
+    }
+
+    static SessionOptions parse(String[] args) {
+        SessionOptions options = new SessionOptions();
+        options.read(args);
+        return options;
+    }
+
+    @Override
+    String usage() {
+        return USAGE;
+    }
+
+    @Override
+    void set(String name, String value) {
+        switch (name) {
+            case "--sessions" -> sessions = Integer.parseInt(value);
+            case "--ramp" -> rampNanos = parseDuration(value);
+            case "--session-length" -> sessionLength = Integer.parseInt(value);
+            case "--think-time" -> thinkTimeNanos = parseDuration(value);
+            case "--slo-p99" -> sloP99Nanos = parseDuration(value);
+            case "--max-error-rate" -> maxErrorRate = Double.parseDouble(value);
+            case "--max-lag" -> maxLagNanos = parseDuration(value);
+            // Sessions pace themselves by think time, so the open-loop settings have no meaning here.
+            case "--rate", "--arrivals", "--max-in-flight", "--warmup" ->
+                    throw new IllegalArgumentException("Option " + name + " does not apply to session runs.");
+            default -> super.set(name, value);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package restassuredapi.load;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import restassuredapi.HistogramCodec;
+import restassuredapi.load.VirtualSessionRun.IntervalSample;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a virtual-thread session run: the sessions it ramped up to, how many of them the node sustained
+ * within the limits, the per-interval samples and the per-operation latencies of the whole run.
+ */
+record SessionRunResult(int targetSessions, int sustainedSessions, boolean limitReached, long sessionsCompleted,
+                        double elapsedSeconds, List<IntervalSample> intervals,
+                        Map<LoadOperation, OperationStats> operations) {
+
+    JsonObject toJson() {
+        JsonArray intervalsJson = new JsonArray();
+        for (IntervalSample sample : intervals) {
+            JsonObject json = new JsonObject();
+            json.addProperty("elapsedSeconds", TimeUnit.NANOSECONDS.toSeconds(sample.elapsedNanos()));
+            json.addProperty("sessions", sample.sessions());
+            json.addProperty("operations", sample.operations());
+            json.addProperty("errors", sample.errors());
+            json.addProperty("responseTimeP99", HistogramCodec.millis(sample.responseTimeP99()));
+            json.addProperty("wakeUpLagP99", HistogramCodec.millis(sample.wakeUpLagP99()));
+            json.addProperty("heapUsedMb", sample.heapUsedBytes() / (1024 * 1024));
+            intervalsJson.add(json);
+        }
+
+        JsonArray operationsJson = new JsonArray();
+        operations.values().forEach(stats -> operationsJson.add(stats.toJson(elapsedSeconds)));
+
+        JsonObject json = new JsonObject();
+        json.addProperty("targetSessions", targetSessions);
+        json.addProperty("sustainedSessions", sustainedSessions);
+        json.addProperty("limitReached", limitReached);
+        json.addProperty("sessionsCompleted", sessionsCompleted);
+        json.add("intervals", intervalsJson);
+        json.add("operations", operationsJson);
+        return json;
+    }
+
+}
@@ -0,0 +1,196 @@
+package restassuredapi.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import restassuredapi.BaseWeAreApi;
+import restassuredapi.PooledHttpTransport;
+import restassuredapi.models.models.UserModel;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulated WEare users, one virtual thread each. A user runs sessions of operations drawn from the mix with
+ * exponentially distributed think time before each one, and starts a new session when one ends. Users start
+ * evenly over the ramp and all keep running for the duration after it.
+ *
+ * <p>Every interval is checked against the response time and error limits, and against how late sleeping users
+ * wake up, which grows once the load node itself runs out of CPU. The sustained session count is the most users
+ * that were running in an interval that met all limits.
+ *
+ * <p>Calls wait for one of as many permits as the connection pool has connections to the server: HttpClient waits
+ * for a pooled connection inside a {@code synchronized} block, which would pin the carrier thread.
+ */
+class VirtualSessionRun extends BaseWeAreApi {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadFixture fixture;
+    private final SessionOptions options;
+    private final Semaphore connections = new Semaphore(PooledHttpTransport.getMaxConnectionsPerRoute(), true);
+    private final Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    private final Recorder wakeUpLag = new Recorder(SIGNIFICANT_DIGITS);
+    private final AtomicInteger runningUsers = new AtomicInteger();
+    private final LongAdder sessionsCompleted = new LongAdder();
+    private final List<IntervalSample> samples = new ArrayList<>();
+
+    private Histogram intervalLag;
+    private boolean limitReached;
+    private int sustainedSessions;
+
+    VirtualSessionRun(LoadFixture fixture, SessionOptions options) {
+        this.fixture = fixture;
+        this.options = options;
+        for (LoadOperation operation : options.mix.getOperations()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    SessionRunResult run(OpenLoopRun.IntervalListener listener) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long end = start + options.rampNanos + options.durationNanos;
+        reporter.scheduleAtFixedRate(() -> report(start, listener), options.reportIntervalNanos,
+                options.reportIntervalNanos, TimeUnit.NANOSECONDS);
+
+        ThreadFactory users = Thread.ofVirtual().name("session-user-", 1).factory();
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(users)) {
+            List<UserModel> accounts = fixture.getUsers();
+            // Random instances with consecutive seeds start out correlated, so each user gets a drawn seed.
+            Random seeds = new Random(options.seed);
+            for (int i = 0; i < options.sessions; i++) {
+                parkUntil(start + options.rampNanos * i / options.sessions);
+                UserModel account = accounts.get(i % accounts.size());
+                Random random = new Random(seeds.nextLong());
+                runningUsers.incrementAndGet();
+                executor.execute(() -> simulate(account, random, end));
+            }
+        } finally {
+            reporter.shutdownNow();
+        }
+
+        report(start, listener);
+        return new SessionRunResult(options.sessions, sustainedSessions, limitReached, sessionsCompleted.sum(),
+                (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1), samples, stats);
+    }
+
+    private void simulate(UserModel account, Random random, long end) {
+        try {
+            while (true) {
+                for (int i = 0; i < options.sessionLength; i++) {
+                    if (!think(random, end)) {
+                        return;
+                    }
+                    execute(options.mix.next(random), account);
+                }
+                sessionsCompleted.increment();
+            }
+        } finally {
+            runningUsers.decrementAndGet();
+        }
+    }
+
+    private void execute(LoadOperation operation, UserModel account) {
+        OperationStats operationStats = stats.get(operation);
+        long intendedStart = System.nanoTime();
+        try {
+            connections.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long sentAt = System.nanoTime();
+        try {
+            operation.execute(fixture, account);
+            long completedAt = System.nanoTime();
+            operationStats.recordSuccess(completedAt - intendedStart, completedAt - sentAt);
+        } catch (Throwable error) {
+            operationStats.recordError(error);
+        } finally {
+            connections.release();
+        }
+    }
+
+    // Sleeps for a random think time and records how late the user woke up; false once the run is over. A user
+    // whose next operation would fall after the end keeps thinking until then, so it still counts as running.
+    private boolean think(Random random, long end) {
+        long pause = (long) (-Math.log(1 - random.nextDouble()) * options.thinkTimeNanos);
+        long now = System.nanoTime();
+        boolean last = now + pause >= end;
+        long wakeUp = last ? end : now + pause;
+        try {
+            TimeUnit.NANOSECONDS.sleep(wakeUp - now);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        wakeUpLag.recordValue(Math.max(0, System.nanoTime() - wakeUp));
+        return !last;
+    }
+
+    private synchronized void report(long start, OpenLoopRun.IntervalListener listener) {
+        long elapsedNanos = System.nanoTime() - start;
+        Map<LoadOperation, OperationStats.Interval> intervals = new EnumMap<>(LoadOperation.class);
+        stats.forEach((operation, operationStats) -> intervals.put(operation, operationStats.collectInterval()));
+        intervalLag = wakeUpLag.getIntervalHistogram(intervalLag);
+
+        Histogram responseTime = new Histogram(SIGNIFICANT_DIGITS);
+        intervals.values().forEach(interval -> responseTime.add(interval.responseTime));
+        long errors = stats.values().stream().mapToLong(OperationStats::getErrorCount).sum();
+        long previousErrors = samples.stream().mapToLong(IntervalSample::errors).sum();
+        Runtime runtime = Runtime.getRuntime();
+
+        IntervalSample sample = new IntervalSample(elapsedNanos, runningUsers.get(), responseTime.getTotalCount(),
+                errors - previousErrors, responseTime.getValueAtPercentile(99), intervalLag.getValueAtPercentile(99),
+                runtime.totalMemory() - runtime.freeMemory());
+        samples.add(sample);
+
+        if (sample.meets(options)) {
+            sustainedSessions = Math.max(sustainedSessions, sample.sessions());
+        } else {
+            limitReached = true;
+            LOGGER.info(String.format("Interval at %d s broke the limits with %d sessions running.",
+                    TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), sample.sessions()));
+        }
+        if (listener != null) {
+            listener.onInterval(elapsedNanos, intervals);
+        }
+    }
+
+    synchronized IntervalSample latestSample() {
+        return samples.get(samples.size() - 1);
+    }
+
+    private static void parkUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    record IntervalSample(long elapsedNanos, int sessions, long operations, long errors, long responseTimeP99,
+                          long wakeUpLagP99, long heapUsedBytes) {
+
+        double errorRate() {
+            long total = operations + errors;
+            return total == 0 ? 0 : errors / (double) total;
+        }
+
+        boolean meets(SessionOptions options) {
+            return responseTimeP99 <= options.sloP99Nanos && errorRate() <= options.maxErrorRate
+                    && wakeUpLagP99 <= options.maxLagNanos;
+        }
+    }
+
+}